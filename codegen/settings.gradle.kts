@@ -16,6 +16,7 @@
 rootProject.name = "smithy-go"
 include(":smithy-go-codegen")
 include(":smithy-go-codegen-test")
+include(":smithy-go-codegen-benchmarks")
 
 pluginManagement {
     repositories {
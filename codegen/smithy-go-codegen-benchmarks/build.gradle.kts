@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+plugins {
+    id("me.champeau.jmh") version "0.6.8"
+}
+
+description = "Benchmarks for the Smithy Go code generator"
+extra["displayName"] = "Smithy :: Go :: Codegen :: Benchmarks"
+extra["moduleName"] = "software.amazon.smithy.go.codegen.benchmarks"
+
+dependencies {
+    implementation(project(":smithy-go-codegen"))
+}
+
+jmh {
+    jmhVersion.set("1.36")
+    // Run a single benchmark class with -Pjmh.includes=<regex>, e.g. -Pjmh.includes=CodegenVisitorBenchmark.
+    if (project.hasProperty("jmh.includes")) {
+        includes.set(listOf(project.property("jmh.includes").toString()))
+    }
+    resultFormat.set("JSON")
+    resultsFile.set(file("$buildDir/reports/jmh/results.json"))
+}
+
+// Benchmarks aren't published.
+tasks.withType<AbstractPublishToMaven>().configureEach {
+    enabled = false
+}
+
+// The scale tests take minutes, so they only run with the scaleTest task.
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("scale")
+    }
+}
+
+tasks.register<Test>("scaleTest") {
+    description = "Runs the go-codegen plugin on large synthetic models within time and heap budgets."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("scale")
+    }
+    // Every scale test forks a JVM with its own heap budget as its maximum heap.
+    systemProperty("smithy.go.scaleBudgetFactor", project.findProperty("scaleBudgetFactor") ?: "1")
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.go.codegen.DocumentationConverter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DocumentationConverterBenchmark {
+
+    private static final String PARAGRAPH = "<p>Creates a <b>synthetic</b> resource in the <code>Region</code> of the "
+            + "client. See <a href=\"https://example.com/synthetic\">the synthetic guide</a> for more details, and "
+            + "use the <i>Token</i> member to make the request idempotent.</p>\n";
+
+    private static final String LIST = "<ul>\n<li><p>The first item of a list.</p></li>\n"
+            + "<li><p>The second item, which is long enough that it has to be wrapped when it is converted.</p></li>\n"
+            + "</ul>\n";
+
+    private static final String MARKDOWN = "Creates a **synthetic** resource in the `Region` of the client.\n\n"
+            + "* The first item of a list.\n* The second item of a list.\n\n"
+            + "```\nvar example = \"code\"\n```\n";
+
+    @Param({"html", "markdown"})
+    private String format;
+
+    @Param({"1", "20"})
+    private int paragraphs;
+
+    private String docs;
+
+    @Setup
+    public void setup() {
+        String block = format.equals("html") ? PARAGRAPH + LIST : MARKDOWN;
+        docs = block.repeat(paragraphs);
+    }
+
+    @Benchmark
+    public String convert() {
+        return DocumentationConverter.convert(docs, 80);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.go.codegen.SymbolUtils;
+import software.amazon.smithy.go.codegen.endpoints.EndpointResolutionGenerator;
+import software.amazon.smithy.go.codegen.endpoints.EndpointResolverGenerator;
+import software.amazon.smithy.go.codegen.endpoints.FnGenerator;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EndpointResolverBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int regions;
+
+    private EndpointRuleSet ruleSet;
+
+    @Setup
+    public void setup() {
+        ruleSet = EndpointRuleSet.fromNode(SyntheticModels.createEndpointRuleSet(regions));
+    }
+
+    @Benchmark
+    public String generateResolver() {
+        EndpointResolverGenerator generator = EndpointResolverGenerator.builder()
+                .parametersType(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.PARAMETERS_TYPE_NAME).build())
+                .resolverInterfaceType(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.RESOLVER_INTERFACE_NAME).build())
+                .resolverImplementationType(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.RESOLVER_IMPLEMENTATION_NAME).build())
+                .newResolverFn(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.NEW_RESOLVER_FUNC_NAME).build())
+                .endpointType(SymbolUtils.createValueSymbolBuilder("Endpoint",
+                        SmithyGoDependency.SMITHY_ENDPOINTS).build())
+                .resolveEndpointMethodName(EndpointResolutionGenerator.RESOLVER_ENDPOINT_METHOD_NAME)
+                .fnProvider(new FnGenerator.DefaultFnProvider())
+                .build();
+
+        GoWriter writer = new GoWriter("synthetic");
+        writer.write("$W", generator.generate(Optional.of(ruleSet)));
+        return writer.toString();
+    }
+}
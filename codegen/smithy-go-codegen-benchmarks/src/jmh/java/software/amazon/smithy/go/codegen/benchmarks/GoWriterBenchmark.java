@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import static software.amazon.smithy.go.codegen.GoWriter.goTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.go.codegen.SymbolUtils;
+import software.amazon.smithy.utils.MapUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GoWriterBenchmark {
+
+    private static final Symbol CONTEXT = SymbolUtils.createValueSymbolBuilder("Context",
+            SmithyGoDependency.CONTEXT).build();
+    private static final Symbol ERRORF = SymbolUtils.createValueSymbolBuilder("Errorf",
+            SmithyGoDependency.FMT).build();
+    private static final Symbol INPUT = SymbolUtils.createPointableSymbolBuilder("OperationInput").build();
+
+    @Param({"10", "1000"})
+    private int functions;
+
+    @Benchmark
+    public String goTemplateExpansion() {
+        GoWriter writer = new GoWriter("synthetic");
+        for (int i = 0; i < functions; i++) {
+            Map<String, Object> args = MapUtils.of(
+                    "name", "operation" + i,
+                    "context", CONTEXT,
+                    "input", INPUT,
+                    "errorf", ERRORF);
+            writer.write("$W", goTemplate("""
+                    // $name:L validates the input of an operation.
+                    func $name:L(ctx $context:T, input $input:P) error {
+                        if input == nil {
+                            return $errorf:T("nil input for $name:L")
+                        }
+                        return nil
+                    }
+                    """, args));
+        }
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String positionalFormatting() {
+        GoWriter writer = new GoWriter("synthetic");
+        for (int i = 0; i < functions; i++) {
+            String name = "operation" + i;
+            writer.writeDocs(name + " validates the input of an operation.");
+            writer.openBlock("func $L(ctx $T, input $P) error {", "}", name, CONTEXT, INPUT, () -> {
+                writer.openBlock("if input == nil {", "}", () -> {
+                    writer.write("return $T($S)", ERRORF, "nil input for " + name);
+                });
+                writer.write("return nil");
+            });
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.go.codegen.AddOperationShapes;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoDelegator;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator.GenerationContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.utils.ListUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HttpBindingSerializerBenchmark {
+
+    @Param({"1000", "10000"})
+    private int shapes;
+
+    private GoSettings settings;
+    private Model model;
+    private SymbolProvider symbolProvider;
+
+    @Setup
+    public void setup() {
+        settings = GoSettings.from(SyntheticModels.createSettings());
+        model = AddOperationShapes.execute(SyntheticModels.builder().shapeCount(shapes).build().assemble(),
+                settings.getService());
+        symbolProvider = GoCodegenPlugin.createSymbolProvider(model, settings);
+    }
+
+    @Benchmark
+    public GoDelegator generateRequestSerializers() {
+        // The protocol generator collects the document shapes to generate, so each run needs a new one.
+        SyntheticProtocolGenerator protocolGenerator = new SyntheticProtocolGenerator();
+        GoDelegator delegator = new GoDelegator(new MockManifest(), symbolProvider);
+        delegator.useFileWriter("serializers.go", settings.getModuleName(), writer -> {
+            GenerationContext context = GenerationContext.builder()
+                    .protocolName(protocolGenerator.getProtocolName())
+                    .integrations(ListUtils.of())
+                    .model(model)
+                    .service(settings.getService(model))
+                    .settings(settings)
+                    .symbolProvider(symbolProvider)
+                    .delegator(delegator)
+                    .writer(writer)
+                    .build();
+            protocolGenerator.generateRequestSerializers(context);
+            protocolGenerator.generateSharedSerializerComponents(context);
+        });
+        return delegator;
+    }
+}
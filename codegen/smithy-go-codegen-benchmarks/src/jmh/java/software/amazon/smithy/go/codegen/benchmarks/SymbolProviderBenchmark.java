@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.go.codegen.AddOperationShapes;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SymbolProviderBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    private int shapes;
+
+    private Model model;
+    private SymbolProvider symbolProvider;
+
+    @Setup
+    public void setup() {
+        GoSettings settings = GoSettings.from(SyntheticModels.createSettings());
+        model = AddOperationShapes.execute(SyntheticModels.builder().shapeCount(shapes).build().assemble(),
+                settings.getService());
+        symbolProvider = GoCodegenPlugin.createSymbolProvider(model, settings);
+    }
+
+    @Benchmark
+    public void toSymbol(Blackhole blackhole) {
+        for (Shape shape : model.toSet()) {
+            blackhole.consume(symbolProvider.toSymbol(shape));
+        }
+    }
+
+    @Benchmark
+    public void toMemberName(Blackhole blackhole) {
+        for (MemberShape member : model.getMemberShapes()) {
+            blackhole.consume(symbolProvider.toMemberName(member));
+        }
+    }
+}
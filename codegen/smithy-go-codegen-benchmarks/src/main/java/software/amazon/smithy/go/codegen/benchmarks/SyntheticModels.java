@@ -0,0 +1,380 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.SmithyBuilder;
+
+/**
+ * Builds synthetic Smithy models of a configurable size for benchmarking and scale testing the generator.
+ *
+ * <p>Every operation of the synthetic service is bound with the http trait and gets its own input and
+ * output structures. The operation input and output reference a chain of nested structures, and every
+ * nested structure references a union, an enum and a list that are shared by the whole service. The
+ * service has an endpoint ruleset with a pair of rules for each region, and uses the
+ * {@link SyntheticProtocolGenerator synthetic protocol}.
+ */
+public final class SyntheticModels {
+
+    /**
+     * Id of the generated service.
+     */
+    public static final ShapeId SERVICE = ShapeId.from("smithy.synthetic#Synthetic");
+
+    /**
+     * Id of the synthetic protocol trait applied to the generated service.
+     */
+    public static final ShapeId PROTOCOL = ShapeId.from("smithy.synthetic#syntheticProtocol");
+
+    private final int operations;
+    private final int nestingDepth;
+    private final int unionMembers;
+    private final int enumValues;
+    private final int endpointRegions;
+
+    private SyntheticModels(Builder builder) {
+        this.operations = builder.operations;
+        this.nestingDepth = builder.nestingDepth;
+        this.unionMembers = builder.unionMembers;
+        this.enumValues = builder.enumValues;
+        this.endpointRegions = builder.endpointRegions;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the number of shapes, including members, that a synthetic operation adds to the model.
+     *
+     * @param nestingDepth Depth of the nested structures of the operation.
+     * @return Returns the number of shapes per operation.
+     */
+    public static int getShapesPerOperation(int nestingDepth) {
+        // operation, input + 4 members, output + 2 members
+        int shapes = 1 + 5 + 3;
+        // structure + 5 members, one more member for the next structure, list + member
+        shapes += nestingDepth * 8 + Math.max(0, nestingDepth - 1);
+        return shapes;
+    }
+
+    /**
+     * Creates the go-codegen plugin settings that generate the synthetic service.
+     *
+     * @return Returns the settings.
+     */
+    public static ObjectNode createSettings() {
+        return Node.objectNodeBuilder()
+                .withMember("service", SERVICE.toString())
+                .withMember("module", "github.com/aws/smithy-go/synthetic")
+                .withMember("moduleVersion", "0.0.1")
+                .build();
+    }
+
+    /**
+     * Creates an endpoint ruleset that resolves endpoints for the given number of regions.
+     *
+     * <p>Every region has a FIPS and a non-FIPS rule, so the number of rules grows linearly with the number of
+     * regions.
+     *
+     * @param regions Number of regions to resolve.
+     * @return Returns the endpoint ruleset.
+     */
+    public static ObjectNode createEndpointRuleSet(int regions) {
+        List<Node> regionRules = new ArrayList<>();
+        for (int i = 0; i < regions; i++) {
+            String region = "region-" + i;
+            regionRules.add(endpointRule(region, true, "https://synthetic-fips." + region + ".example.com"));
+            regionRules.add(endpointRule(region, false, "https://synthetic." + region + ".example.com"));
+        }
+        regionRules.add(errorRule(ArrayNode.arrayNode(), "Unknown region"));
+
+        ObjectNode parameters = Node.objectNodeBuilder()
+                .withMember("Region", Node.objectNodeBuilder()
+                        .withMember("type", "String")
+                        .withMember("documentation", "The region to resolve the endpoint for.")
+                        .build())
+                .withMember("UseFIPS", Node.objectNodeBuilder()
+                        .withMember("type", "Boolean")
+                        .withMember("required", true)
+                        .withMember("default", false)
+                        .withMember("documentation", "Whether to resolve a FIPS endpoint.")
+                        .build())
+                .build();
+
+        return Node.objectNodeBuilder()
+                .withMember("version", "1.0")
+                .withMember("parameters", parameters)
+                .withMember("rules", ArrayNode.fromNodes(
+                        Node.objectNodeBuilder()
+                                .withMember("type", "tree")
+                                .withMember("conditions", ArrayNode.fromNodes(
+                                        function("isSet", reference("Region"))))
+                                .withMember("rules", ArrayNode.fromNodes(regionRules))
+                                .build(),
+                        errorRule(ArrayNode.arrayNode(), "A region must be set")))
+                .build();
+    }
+
+    private static Node endpointRule(String region, boolean fips, String url) {
+        return Node.objectNodeBuilder()
+                .withMember("type", "endpoint")
+                .withMember("conditions", ArrayNode.fromNodes(
+                        function("stringEquals", reference("Region"), Node.from(region)),
+                        function("booleanEquals", reference("UseFIPS"), Node.from(fips))))
+                .withMember("endpoint", Node.objectNodeBuilder()
+                        .withMember("url", url)
+                        .withMember("properties", Node.objectNode())
+                        .withMember("headers", Node.objectNode())
+                        .build())
+                .build();
+    }
+
+    private static Node errorRule(ArrayNode conditions, String message) {
+        return Node.objectNodeBuilder()
+                .withMember("type", "error")
+                .withMember("conditions", conditions)
+                .withMember("error", message)
+                .build();
+    }
+
+    private static Node function(String name, Node... arguments) {
+        return Node.objectNodeBuilder()
+                .withMember("fn", name)
+                .withMember("argv", ArrayNode.fromNodes(arguments))
+                .build();
+    }
+
+    private static Node reference(String name) {
+        return Node.objectNodeBuilder().withMember("ref", name).build();
+    }
+
+    /**
+     * Assembles the synthetic model.
+     *
+     * @return Returns the assembled model.
+     */
+    public Model assemble() {
+        return Model.assembler()
+                .discoverModels(SyntheticModels.class.getClassLoader())
+                .addUnparsedModel("synthetic.smithy", toIdl())
+                .assemble()
+                .unwrap();
+    }
+
+    /**
+     * Renders the synthetic model as Smithy IDL.
+     *
+     * @return Returns the IDL of the model.
+     */
+    public String toIdl() {
+        StringBuilder idl = new StringBuilder();
+        idl.append("$version: \"2.0\"\n\n")
+                .append("namespace ").append(SERVICE.getNamespace()).append("\n\n")
+                .append("use smithy.rules#endpointRuleSet\n\n");
+
+        idl.append("@protocolDefinition\n")
+                .append("@trait(selector: \"service\")\n")
+                .append("structure ").append(PROTOCOL.getName()).append(" {}\n\n");
+
+        idl.append("/// A synthetic service with ").append(operations).append(" operations.\n")
+                .append('@').append(PROTOCOL.getName()).append('\n')
+                .append("@endpointRuleSet(").append(Node.printJson(createEndpointRuleSet(endpointRegions)))
+                .append(")\n")
+                .append("service ").append(SERVICE.getName()).append(" {\n")
+                .append("    version: \"2023-01-01\"\n")
+                .append("    operations: [\n");
+        for (int i = 0; i < operations; i++) {
+            idl.append("        Operation").append(i).append('\n');
+        }
+        idl.append("    ]\n}\n\n");
+
+        for (int i = 0; i < operations; i++) {
+            appendOperation(idl, i);
+        }
+
+        idl.append("/// An error returned by every synthetic operation.\n")
+                .append("@error(\"client\")\n")
+                .append("structure SyntheticError {\n")
+                .append("    message: String\n")
+                .append("}\n\n");
+
+        idl.append("/// A union shared by every synthetic structure.\n")
+                .append("union SyntheticUnion {\n");
+        for (int i = 0; i < unionMembers; i++) {
+            idl.append("    Member").append(i).append(": ").append(i % 2 == 0 ? "String" : "Integer").append('\n');
+        }
+        idl.append("}\n\n");
+
+        idl.append("/// An enum shared by every synthetic structure.\n")
+                .append("enum SyntheticEnum {\n");
+        for (int i = 0; i < enumValues; i++) {
+            idl.append("    VALUE_").append(i).append(" = \"value-").append(i).append("\"\n");
+        }
+        idl.append("}\n\n");
+
+        idl.append("list SyntheticList {\n")
+                .append("    member: String\n")
+                .append("}\n");
+
+        return idl.toString();
+    }
+
+    private void appendOperation(StringBuilder idl, int index) {
+        String name = "Operation" + index;
+
+        idl.append("/// Runs synthetic <b>operation ").append(index).append("</b>.\n")
+                .append("@http(method: \"POST\", uri: \"/operation").append(index).append("/{Id}\")\n")
+                .append("operation ").append(name).append(" {\n")
+                .append("    input := {\n")
+                .append("        @required\n")
+                .append("        @httpLabel\n")
+                .append("        Id: String\n")
+                .append("        @httpHeader(\"X-Synthetic-Token\")\n")
+                .append("        Token: String\n")
+                .append("        @httpQuery(\"count\")\n")
+                .append("        Count: Integer\n")
+                .append("        Payload: ").append(nestedName(name, 0)).append('\n')
+                .append("    }\n")
+                .append("    output := {\n")
+                .append("        @httpHeader(\"X-Synthetic-Request-Id\")\n")
+                .append("        RequestId: String\n")
+                .append("        Result: ").append(nestedName(name, 0)).append('\n')
+                .append("    }\n")
+                .append("    errors: [SyntheticError]\n")
+                .append("}\n\n");
+
+        for (int depth = 0; depth < nestingDepth; depth++) {
+            idl.append("/// Nested structure ").append(depth).append(" of `").append(name).append("`.\n")
+                    .append("structure ").append(nestedName(name, depth)).append(" {\n")
+                    .append("    Name: String\n")
+                    .append("    Value: Long\n")
+                    .append("    Kind: SyntheticEnum\n")
+                    .append("    Choice: SyntheticUnion\n")
+                    .append("    Items: ").append(nestedName(name, depth)).append("List\n");
+            if (depth + 1 < nestingDepth) {
+                idl.append("    Next: ").append(nestedName(name, depth + 1)).append('\n');
+            }
+            idl.append("}\n\n")
+                    .append("list ").append(nestedName(name, depth)).append("List {\n")
+                    .append("    member: String\n")
+                    .append("}\n\n");
+        }
+    }
+
+    private static String nestedName(String operation, int depth) {
+        return operation + "Nested" + depth;
+    }
+
+    /**
+     * Builds {@link SyntheticModels}.
+     */
+    public static final class Builder implements SmithyBuilder<SyntheticModels> {
+        private int operations = 10;
+        private int nestingDepth = 3;
+        private int unionMembers = 4;
+        private int enumValues = 8;
+        private int endpointRegions = 10;
+        private int shapeCount;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of operations of the service.
+         *
+         * @param operations Number of operations.
+         * @return Returns the builder.
+         */
+        public Builder operations(int operations) {
+            this.operations = operations;
+            return this;
+        }
+
+        /**
+         * Sets the number of operations so that the model has about the given number of shapes,
+         * taking precedence over {@link #operations(int)}.
+         *
+         * @param shapeCount Number of shapes, including members.
+         * @return Returns the builder.
+         */
+        public Builder shapeCount(int shapeCount) {
+            this.shapeCount = shapeCount;
+            return this;
+        }
+
+        /**
+         * Sets the depth of the chain of nested structures each operation references.
+         *
+         * @param nestingDepth Depth of the nested structures, at least one.
+         * @return Returns the builder.
+         */
+        public Builder nestingDepth(int nestingDepth) {
+            this.nestingDepth = nestingDepth;
+            return this;
+        }
+
+        /**
+         * Sets the number of members of the shared union.
+         *
+         * @param unionMembers Number of union members.
+         * @return Returns the builder.
+         */
+        public Builder unionMembers(int unionMembers) {
+            this.unionMembers = unionMembers;
+            return this;
+        }
+
+        /**
+         * Sets the number of values of the shared enum.
+         *
+         * @param enumValues Number of enum values.
+         * @return Returns the builder.
+         */
+        public Builder enumValues(int enumValues) {
+            this.enumValues = enumValues;
+            return this;
+        }
+
+        /**
+         * Sets the number of regions of the endpoint ruleset.
+         *
+         * @param endpointRegions Number of regions.
+         * @return Returns the builder.
+         */
+        public Builder endpointRegions(int endpointRegions) {
+            this.endpointRegions = endpointRegions;
+            return this;
+        }
+
+        @Override
+        public SyntheticModels build() {
+            if (shapeCount > 0) {
+                operations = Math.max(1, shapeCount / getShapesPerOperation(nestingDepth));
+            }
+            if (operations < 1 || nestingDepth < 1 || unionMembers < 1 || enumValues < 1 || endpointRegions < 1) {
+                throw new IllegalStateException("Synthetic models need at least one of every kind of shape");
+            }
+            return new SyntheticModels(this);
+        }
+    }
+}
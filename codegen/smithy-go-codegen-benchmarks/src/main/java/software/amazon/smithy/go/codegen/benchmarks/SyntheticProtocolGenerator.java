@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import java.util.Set;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.go.codegen.GoStackStepMiddlewareGenerator;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.integration.HttpBindingProtocolGenerator;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator;
+import software.amazon.smithy.go.codegen.integration.ProtocolUtils;
+import software.amazon.smithy.model.knowledge.EventStreamInfo;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.shapes.UnionShape;
+import software.amazon.smithy.model.traits.TimestampFormatTrait.Format;
+
+/**
+ * An HTTP binding protocol for synthetic models.
+ *
+ * <p>The HTTP bindings are generated by {@link HttpBindingProtocolGenerator} itself, while documents
+ * get small stand-in functions so that the generated code has the shape of a real protocol
+ * without depending on a document format.
+ */
+public final class SyntheticProtocolGenerator extends HttpBindingProtocolGenerator {
+
+    public SyntheticProtocolGenerator() {
+        super(true);
+    }
+
+    @Override
+    public ShapeId getProtocol() {
+        return SyntheticModels.PROTOCOL;
+    }
+
+    @Override
+    protected void generateEventStreamSerializers(
+            GenerationContext context,
+            UnionShape eventUnion,
+            Set<EventStreamInfo> eventStreamInfos
+    ) {
+        // Synthetic models don't have event streams.
+    }
+
+    @Override
+    protected void generateEventStreamDeserializers(
+            GenerationContext context,
+            UnionShape eventUnion,
+            Set<EventStreamInfo> eventStreamInfos
+    ) {
+        // Synthetic models don't have event streams.
+    }
+
+    @Override
+    protected Format getDocumentTimestampFormat() {
+        return Format.EPOCH_SECONDS;
+    }
+
+    @Override
+    protected String getDocumentContentType() {
+        return "application/x-synthetic";
+    }
+
+    @Override
+    protected void generateOperationDocumentSerializer(GenerationContext context, OperationShape operation) {
+        Shape input = ProtocolUtils.expectInput(context.getModel(), operation);
+        writeDocumentFunction(context, input, ProtocolGenerator.getDocumentSerializerFunctionName(
+                input, context.getService(), getProtocolName()));
+    }
+
+    @Override
+    protected void writeOperationSerializerMiddlewareEventStreamSetup(
+            GenerationContext context,
+            EventStreamInfo eventStreamInfo
+    ) {
+        // Synthetic models don't have event streams.
+    }
+
+    @Override
+    protected void writeErrorMessageCodeDeserializer(GenerationContext context) {
+        GoWriter writer = context.getWriter().get();
+        writer.write("errorCode = response.Header.Get(\"X-Synthetic-Error\")");
+    }
+
+    @Override
+    protected void writeMiddlewareDocumentSerializerDelegator(
+            GenerationContext context,
+            OperationShape operation,
+            GoStackStepMiddlewareGenerator generator
+    ) {
+        Shape input = ProtocolUtils.expectInput(context.getModel(), operation);
+        writeDocumentCall(context, ProtocolGenerator.getDocumentSerializerFunctionName(
+                input, context.getService(), getProtocolName()), "input");
+    }
+
+    @Override
+    protected void writeMiddlewarePayloadAsDocumentSerializerDelegator(
+            GenerationContext context,
+            MemberShape memberShape,
+            String operand
+    ) {
+        Shape target = context.getModel().expectShape(memberShape.getTarget());
+        writeDocumentCall(context, ProtocolGenerator.getDocumentSerializerFunctionName(
+                target, context.getService(), getProtocolName()), operand);
+    }
+
+    @Override
+    protected void writeMiddlewareDocumentDeserializerDelegator(
+            GenerationContext context,
+            OperationShape operation,
+            GoStackStepMiddlewareGenerator generator
+    ) {
+        Shape output = ProtocolUtils.expectOutput(context.getModel(), operation);
+        writeDocumentCall(context, ProtocolGenerator.getDocumentDeserializerFunctionName(
+                output, context.getService(), getProtocolName()), "output");
+    }
+
+    @Override
+    protected void generateDocumentBodyShapeSerializers(GenerationContext context, Set<Shape> shapes) {
+        for (Shape shape : shapes) {
+            writeDocumentFunction(context, shape, ProtocolGenerator.getDocumentSerializerFunctionName(
+                    shape, context.getService(), getProtocolName()));
+        }
+    }
+
+    @Override
+    protected void generateOperationDocumentDeserializer(GenerationContext context, OperationShape operation) {
+        Shape output = ProtocolUtils.expectOutput(context.getModel(), operation);
+        writeDocumentFunction(context, output, ProtocolGenerator.getDocumentDeserializerFunctionName(
+                output, context.getService(), getProtocolName()));
+    }
+
+    @Override
+    protected void generateDocumentBodyShapeDeserializers(GenerationContext context, Set<Shape> shapes) {
+        for (Shape shape : shapes) {
+            writeDocumentFunction(context, shape, ProtocolGenerator.getDocumentDeserializerFunctionName(
+                    shape, context.getService(), getProtocolName()));
+        }
+    }
+
+    @Override
+    protected void deserializeError(GenerationContext context, StructureShape shape) {
+        GoWriter writer = context.getWriter().get();
+        Symbol symbol = context.getSymbolProvider().toSymbol(shape);
+        writer.write("output := &$T{}", symbol);
+        writer.write("return output");
+    }
+
+    private void writeDocumentFunction(GenerationContext context, Shape shape, String functionName) {
+        GoWriter writer = context.getWriter().get();
+        Symbol symbol = context.getSymbolProvider().toSymbol(shape);
+        writer.openBlock("func $L(v $P, body []byte) error {", "}", functionName, symbol, () -> {
+            writer.write("return nil");
+        });
+        writer.write("");
+    }
+
+    private void writeDocumentCall(GenerationContext context, String functionName, String operand) {
+        GoWriter writer = context.getWriter().get();
+        writer.openBlock("if err := $L($L, nil); err != nil {", "}", functionName, operand, () -> {
+            writer.write("return out, metadata, err");
+        });
+    }
+}
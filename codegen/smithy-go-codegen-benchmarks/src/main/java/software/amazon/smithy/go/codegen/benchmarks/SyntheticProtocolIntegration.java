@@ -0,0 +1,31 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import java.util.List;
+import software.amazon.smithy.go.codegen.integration.GoIntegration;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator;
+import software.amazon.smithy.utils.ListUtils;
+
+/**
+ * Registers the protocol generator of the {@link SyntheticModels synthetic models}.
+ */
+public final class SyntheticProtocolIntegration implements GoIntegration {
+    @Override
+    public List<ProtocolGenerator> getProtocolGenerators() {
+        return ListUtils.of(new SyntheticProtocolGenerator());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import java.nio.file.Paths;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.model.Model;
+
+/**
+ * Runs the go-codegen plugin once on a synthetic model, in the JVM forked by {@link CodegenScaleTest}.
+ *
+ * <p>Takes the path of the model's IDL as its only argument, and prints the wall time of the run
+ * and the number of generated files.
+ */
+final class CodegenScaleRun {
+    static final String WALL_TIME_PREFIX = "wallTimeMillis=";
+    static final String FILE_COUNT_PREFIX = "generatedFiles=";
+
+    private CodegenScaleRun() {
+    }
+
+    public static void main(String[] args) {
+        Model model = Model.assembler()
+                .discoverModels(CodegenScaleRun.class.getClassLoader())
+                .addImport(Paths.get(args[0]))
+                .assemble()
+                .unwrap();
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+                .model(model)
+                .fileManifest(manifest)
+                .settings(SyntheticModels.createSettings())
+                .build();
+
+        long start = System.nanoTime();
+        new GoCodegenPlugin().execute(context);
+        long wallTime = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(WALL_TIME_PREFIX + wallTime);
+        System.out.println(FILE_COUNT_PREFIX + manifest.getFiles().size());
+    }
+}
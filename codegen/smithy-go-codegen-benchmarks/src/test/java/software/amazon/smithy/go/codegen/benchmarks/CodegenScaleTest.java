@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.smithy.go.codegen.benchmarks;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the go-codegen plugin on large synthetic models and checks that each run stays within
+ * its wall time and heap budget.
+ *
+ * <p>Each run is forked into a JVM whose maximum heap is the run's heap budget, so a run fails when
+ * the heap the generator retains no longer fits in the budget, whatever the timing of garbage
+ * collections. The budgets are several times what the runs need, so they only fail when generation
+ * becomes dramatically slower or larger, such as when a knowledge index becomes quadratic. Set the
+ * {@code smithy.go.scaleBudgetFactor} system property to scale every budget on slower machines.
+ */
+@Tag("scale")
+public class CodegenScaleTest {
+
+    private static final long MIB = 1024 * 1024;
+    private static final Duration FORK_OVERHEAD = Duration.ofMinutes(1);
+
+    @Test
+    public void generatesThousandsOfOperations() throws Exception {
+        assertWithinBudget(SyntheticModels.builder().operations(5_000), Duration.ofMinutes(3), 3072 * MIB);
+    }
+
+    @Test
+    public void generatesDeeplyNestedStructures() throws Exception {
+        assertWithinBudget(SyntheticModels.builder().operations(200).nestingDepth(100),
+                Duration.ofMinutes(2), 2048 * MIB);
+    }
+
+    @Test
+    public void generatesLargeUnions() throws Exception {
+        assertWithinBudget(SyntheticModels.builder().operations(500).unionMembers(2_000),
+                Duration.ofMinutes(1), 1024 * MIB);
+    }
+
+    @Test
+    public void generatesBigEnums() throws Exception {
+        assertWithinBudget(SyntheticModels.builder().operations(500).enumValues(10_000),
+                Duration.ofMinutes(1), 1024 * MIB);
+    }
+
+    @Test
+    public void generatesBigEndpointRuleSets() throws Exception {
+        assertWithinBudget(SyntheticModels.builder().operations(100).endpointRegions(2_000),
+                Duration.ofMinutes(1), 1024 * MIB);
+    }
+
+    private static void assertWithinBudget(SyntheticModels.Builder builder, Duration timeBudget, long heapBudget)
+            throws IOException, InterruptedException {
+        double factor = Double.parseDouble(System.getProperty("smithy.go.scaleBudgetFactor", "1"));
+        long timeBudgetMillis = (long) (timeBudget.toMillis() * factor);
+        long heapBudgetMib = (long) (heapBudget / MIB * factor);
+
+        Path idl = Files.createTempFile("synthetic", ".smithy");
+        Path output = Files.createTempFile("synthetic", ".out");
+        try {
+            Files.writeString(idl, builder.build().toIdl());
+            Process process = new ProcessBuilder(
+                    Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-Xmx" + heapBudgetMib + "m",
+                    "-XX:+ExitOnOutOfMemoryError",
+                    "-cp", System.getProperty("java.class.path"),
+                    CodegenScaleRun.class.getName(),
+                    idl.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.toFile())
+                    .start();
+
+            // Leave time for the forked JVM to start and assemble the model, the wall time of the run itself
+            // is checked against the budget below.
+            if (!process.waitFor(timeBudgetMillis + FORK_OVERHEAD.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new AssertionError("code generation did not complete within " + timeBudget);
+            }
+            List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+            assertThat("exit code of run within " + heapBudgetMib + " MiB heap, output: " + lines,
+                    process.exitValue(), equalTo(0));
+            assertThat("generated files", Long.parseLong(getOutputValue(lines, CodegenScaleRun.FILE_COUNT_PREFIX)),
+                    greaterThan(0L));
+            assertThat("wall time in ms", Long.parseLong(getOutputValue(lines, CodegenScaleRun.WALL_TIME_PREFIX)),
+                    lessThanOrEqualTo(timeBudgetMillis));
+        } finally {
+            Files.deleteIfExists(idl);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private static String getOutputValue(List<String> lines, String prefix) {
+        return lines.stream()
+                .filter(line -> line.startsWith(prefix))
+                .map(line -> line.substring(prefix.length()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("missing " + prefix + " in output: " + lines));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.go.codegen.integration.GoIntegration;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+
+/**
+ * Records the wall time, allocated bytes, and generated output size of each phase of a codegen run,
+ * and writes them as a JSON report next to the generated.json manifest.
+ *
+ * <p>A disabled profiler runs phases without recording anything.
+ */
+final class CodegenProfiler {
+
+    private static final Logger LOGGER = Logger.getLogger(CodegenProfiler.class.getName());
+
+    private static final String REPORT_JSON = "codegen-report.json";
+
+    private final boolean enabled;
+    private final List<Phase> phases = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private LongSupplier outputSize = () -> 0;
+
+    private CodegenProfiler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Creates a profiler.
+     *
+     * @param enabled Whether phases are recorded.
+     * @return Returns the created profiler.
+     */
+    static CodegenProfiler create(boolean enabled) {
+        return new CodegenProfiler(enabled);
+    }
+
+    /**
+     * Sets how the size of the generated output is measured at the start and end of each phase.
+     *
+     * @param outputSize Supplies the number of bytes of generated output.
+     */
+    void setOutputSize(LongSupplier outputSize) {
+        this.outputSize = outputSize;
+    }
+
+    /**
+     * Runs and records a phase.
+     *
+     * @param name  Name of the phase.
+     * @param phase Phase to run.
+     */
+    void phase(String name, Runnable phase) {
+        phase(name, () -> {
+            phase.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs and records a phase that produces a value.
+     *
+     * @param name  Name of the phase.
+     * @param phase Phase to run.
+     * @param <T>   Type of the value the phase produces.
+     * @return Returns the value produced by the phase.
+     */
+    <T> T phase(String name, Supplier<T> phase) {
+        if (!enabled) {
+            return phase.get();
+        }
+
+        // Measuring the output allocates, so it's sampled outside of the measured phase.
+        long outputBefore = outputSize.getAsLong();
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        T result = phase.get();
+        long wallTime = System.nanoTime() - start;
+        long allocated = allocatedBefore < 0 ? -1 : getAllocatedBytes() - allocatedBefore;
+        long output = outputSize.getAsLong() - outputBefore;
+
+        LOGGER.fine(() -> String.format("Codegen phase %s took %d ms", name, wallTime / 1_000_000));
+        synchronized (phases) {
+            phases.add(new Phase(name, wallTime, allocated, output));
+        }
+        return result;
+    }
+
+    /**
+     * Runs and records a phase for a single integration.
+     *
+     * @param name        Name of the phase.
+     * @param integration Integration the phase runs.
+     * @param phase       Phase to run.
+     */
+    void phase(String name, GoIntegration integration, Runnable phase) {
+        phase(getIntegrationPhaseName(name, integration), phase);
+    }
+
+    /**
+     * Runs and records a phase for a single integration that produces a value.
+     *
+     * @param name        Name of the phase.
+     * @param integration Integration the phase runs.
+     * @param phase       Phase to run.
+     * @param <T>         Type of the value the phase produces.
+     * @return Returns the value produced by the phase.
+     */
+    <T> T phase(String name, GoIntegration integration, Supplier<T> phase) {
+        return phase(getIntegrationPhaseName(name, integration), phase);
+    }
+
+    private static String getIntegrationPhaseName(String name, GoIntegration integration) {
+        return name + ":" + integration.getClass().getName();
+    }
+
+    /**
+     * Writes the recorded phases to the report file of the file manifest.
+     *
+     * @param fileManifest Manifest to write the report to.
+     * @param service      Name of the generated service.
+     */
+    void writeReport(FileManifest fileManifest, String service) {
+        if (!enabled) {
+            return;
+        }
+
+        List<Node> phaseNodes = new ArrayList<>();
+        synchronized (phases) {
+            for (Phase phase : phases) {
+                phaseNodes.add(ObjectNode.objectNodeBuilder()
+                        .withMember("name", phase.name)
+                        .withMember("wallTimeNanos", phase.wallTimeNanos)
+                        .withMember("allocatedBytes", phase.allocatedBytes)
+                        .withMember("outputBytes", phase.outputBytes)
+                        .build());
+            }
+        }
+
+        Node report = ObjectNode.objectNodeBuilder()
+                .withMember("service", service)
+                .withMember("wallTimeNanos", System.nanoTime() - startNanos)
+                .withMember("phases", ArrayNode.fromNodes(phaseNodes))
+                .build();
+        fileManifest.writeFile(REPORT_JSON, Node.prettyPrintJson(report) + "\n");
+    }
+
+    /**
+     * Gets the bytes allocated by every live thread, including codegen worker threads.
+     *
+     * @return Returns the allocated bytes, or -1 if the JVM doesn't support measuring allocations.
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported() || !allocations.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+
+        long total = 0;
+        for (long allocated : allocations.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    private static final class Phase {
+        private final String name;
+        private final long wallTimeNanos;
+        private final long allocatedBytes;
+        private final long outputBytes;
+
+        Phase(String name, long wallTimeNanos, long allocatedBytes, long outputBytes) {
+            this.name = name;
+            this.wallTimeNanos = wallTimeNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.outputBytes = outputBytes;
+        }
+    }
+}
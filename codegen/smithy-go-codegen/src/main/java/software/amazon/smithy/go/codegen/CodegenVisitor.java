@@ -17,18 +17,24 @@ package software.amazon.smithy.go.codegen;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.ServiceLoader;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import software.amazon.smithy.build.FileManifest;
 import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.codegen.core.Symbol;
 import software.amazon.smithy.codegen.core.SymbolDependency;
 import software.amazon.smithy.codegen.core.SymbolProvider;
@@ -39,6 +45,7 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.ServiceIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.neighbor.Walker;
+import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.IntEnumShape;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
@@ -49,6 +56,7 @@ import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.traits.EnumTrait;
+import software.amazon.smithy.model.traits.ErrorTrait;
 import software.amazon.smithy.model.transform.ModelTransformer;
 import software.amazon.smithy.utils.OptionalUtils;
 
@@ -59,12 +67,15 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
 
     private static final Logger LOGGER = Logger.getLogger(CodegenVisitor.class.getName());
 
+    // Splitting shapes into more chunks than threads evens out chunks that take longer to generate.
+    private static final int SHAPE_CHUNKS_PER_THREAD = 4;
+
     private final GoSettings settings;
     private final Model model;
     private final Model modelWithoutTraitShapes;
     private final ServiceShape service;
     private final FileManifest fileManifest;
-    private final SymbolProvider symbolProvider;
+    private final MemoizingSymbolProvider symbolProvider;
     private final GoDelegator writers;
     private final List<GoIntegration> integrations = new ArrayList<>();
     private final ProtocolGenerator protocolGenerator;
@@ -72,52 +83,61 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
     private final List<RuntimeClientPlugin> runtimePlugins = new ArrayList<>();
     private final ProtocolDocumentGenerator protocolDocumentGenerator;
     private final EventStreamGenerator eventStreamGenerator;
+    private final IncrementalCache cache;
+    private final CodegenProfiler profiler;
 
     CodegenVisitor(PluginContext context) {
-        // Load all integrations.
-        ClassLoader loader = context.getPluginClassLoader().orElse(getClass().getClassLoader());
-        LOGGER.info("Attempting to discover GoIntegration from the classpath...");
-        ServiceLoader.load(GoIntegration.class, loader)
-                .forEach(integration -> {
-                    LOGGER.info(() -> "Adding GoIntegration: " + integration.getClass().getName());
-                    integrations.add(integration);
-                });
-        integrations.sort(Comparator.comparingInt(GoIntegration::getOrder));
+        this(context, null);
+    }
 
+    /**
+     * Creates a visitor that generates the service of a plugin context.
+     *
+     * @param context     Plugin context of the service to generate.
+     * @param sharedBatch State shared with other services generated from the same model, or null
+     *                    to generate the service on its own.
+     */
+    CodegenVisitor(PluginContext context, GoCodegenBatch sharedBatch) {
         settings = GoSettings.from(context.getSettings());
         fileManifest = context.getFileManifest();
+        profiler = CodegenProfiler.create(settings.getCodegenReport());
 
-        Model resolvedModel = context.getModel();
+        // Load all integrations.
+        GoCodegenBatch batch = profiler.phase("discoverIntegrations", () -> {
+            GoCodegenBatch resolvedBatch = sharedBatch != null ? sharedBatch : GoCodegenBatch.create(context);
+            integrations.addAll(resolvedBatch.createIntegrations());
+            return resolvedBatch;
+        });
 
         var modelTransformer = ModelTransformer.create();
 
-        /*
-         * smithy 1.23.0 added support for mixins. This transform flattens and applies
-         * the mixins
-         * and remove them from the model
-         */
-        resolvedModel = modelTransformer.flattenAndRemoveMixins(resolvedModel);
+        Model flattenedModel = profiler.phase("flattenMixins", batch::getFlattenedModel);
 
         // Add unique operation input/output shapes
-        resolvedModel = AddOperationShapes.execute(resolvedModel, settings.getService());
+        Model operationShapesModel = profiler.phase("addOperationShapes",
+                () -> AddOperationShapes.execute(flattenedModel, settings.getService()));
 
         /*
          * smithy 1.12.0 added support for binding common errors to the service shape
          * this transform copies these common errors to the operations
          */
-        resolvedModel = modelTransformer.copyServiceErrorsToOperations(resolvedModel,
-                settings.getService(resolvedModel));
+        Model resolvedModel = profiler.phase("copyServiceErrorsToOperations",
+                () -> modelTransformer.copyServiceErrorsToOperations(operationShapesModel,
+                        settings.getService(operationShapesModel)));
 
         LOGGER.info(() -> "Preprocessing smithy model");
         for (GoIntegration goIntegration : integrations) {
-            resolvedModel = goIntegration.preprocessModel(resolvedModel, settings);
+            Model integrationInput = resolvedModel;
+            resolvedModel = profiler.phase("preprocessModel", goIntegration,
+                    () -> goIntegration.preprocessModel(integrationInput, settings));
         }
 
         model = resolvedModel;
 
         // process final model
         integrations.forEach(integration -> {
-            integration.processFinalizedModel(settings, model);
+            profiler.phase("processFinalizedModel", integration,
+                    () -> integration.processFinalizedModel(settings, model));
         });
 
         // fetch runtime plugins
@@ -128,27 +148,67 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
             });
         });
 
-        modelWithoutTraitShapes = modelTransformer.getModelWithoutTraitShapes(model);
+        modelWithoutTraitShapes = profiler.phase("removeTraitShapes",
+                () -> modelTransformer.getModelWithoutTraitShapes(model));
 
         service = settings.getService(model);
         LOGGER.info(() -> "Generating Go client for service " + service.getId());
 
-        SymbolProvider resolvedProvider = GoCodegenPlugin.createSymbolProvider(model, settings);
+        SymbolProvider resolvedProvider = profiler.phase("createSymbolProvider",
+                () -> GoCodegenPlugin.createSymbolProvider(model, settings));
         for (GoIntegration integration : integrations) {
-            resolvedProvider = integration.decorateSymbolProvider(settings, model, resolvedProvider);
+            SymbolProvider integrationInput = resolvedProvider;
+            resolvedProvider = profiler.phase("decorateSymbolProvider", integration,
+                    () -> integration.decorateSymbolProvider(settings, model, integrationInput));
         }
-        symbolProvider = resolvedProvider;
+        symbolProvider = new MemoizingSymbolProvider(resolvedProvider);
 
-        protocolGenerator = resolveProtocolGenerator(integrations, model, service, settings);
+        protocolGenerator = profiler.phase("resolveProtocolGenerator",
+                () -> resolveProtocolGenerator(integrations, model, service, settings));
         applicationProtocol = protocolGenerator == null
                 ? ApplicationProtocol.createDefaultHttpApplicationProtocol()
                 : protocolGenerator.getApplicationProtocol();
 
         writers = new GoDelegator(fileManifest, symbolProvider);
+        if (settings.getStreamWriters()) {
+            writers.enableReleasingWriters();
+        }
+        profiler.setOutputSize(writers::getOutputSize);
 
         protocolDocumentGenerator = new ProtocolDocumentGenerator(settings, model, writers);
 
         this.eventStreamGenerator = new EventStreamGenerator(settings, model, writers, symbolProvider, service);
+
+        cache = settings.getIncrementalCacheDir()
+                .map(dir -> IncrementalCache.create(dir, context.getSettings(), integrations, model, service))
+                .orElse(null);
+    }
+
+    /**
+     * Creates a visitor that shares all the resolved state of another visitor but writes
+     * generated shapes to a different delegator. The visitor may only be used to visit shapes.
+     *
+     * @param parent  Visitor whose resolved state is shared.
+     * @param writers Delegator the generated shapes are written to.
+     */
+    private CodegenVisitor(CodegenVisitor parent, GoDelegator writers) {
+        this.settings = parent.settings;
+        this.model = parent.model;
+        this.modelWithoutTraitShapes = parent.modelWithoutTraitShapes;
+        this.service = parent.service;
+        this.fileManifest = parent.fileManifest;
+        this.symbolProvider = parent.symbolProvider;
+        this.writers = writers;
+        this.integrations.addAll(parent.integrations);
+        this.protocolGenerator = parent.protocolGenerator;
+        this.applicationProtocol = parent.applicationProtocol;
+        this.runtimePlugins.addAll(parent.runtimePlugins);
+        // Child visitors only generate shapes. Leaving out the generators bound to the parent's writers
+        // makes sure nothing is written through them to the parent from a worker thread.
+        this.protocolDocumentGenerator = null;
+        this.eventStreamGenerator = null;
+        this.cache = parent.cache;
+        this.profiler = parent.profiler;
     }
 
     private static ProtocolGenerator resolveProtocolGenerator(
@@ -181,14 +241,59 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
     void execute() {
         // Generate models that are connected to the service being generated.
         LOGGER.fine("Walking shapes from " + service.getId() + " to find shapes to generate");
-        Set<Shape> serviceShapes = new TreeSet<>(new Walker(modelWithoutTraitShapes).walkShapes(service));
+        Set<Shape> serviceShapes = profiler.phase("walkShapes",
+                () -> new TreeSet<Shape>(new Walker(modelWithoutTraitShapes).walkShapes(service)));
+
+        ExecutorService executor = settings.getCodegenThreads() > 1
+                ? Executors.newFixedThreadPool(settings.getCodegenThreads())
+                : null;
+        try {
+            generate(serviceShapes, executor);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
 
-        for (Shape shape : serviceShapes) {
-            shape.accept(this);
+        if (cache != null) {
+            LOGGER.info(() -> String.format("Incremental cache for %s: %d hits, %d misses",
+                    service.getId(), cache.getHits(), cache.getMisses()));
         }
+        LOGGER.fine(() -> String.format("Symbol provider for %s: %d hits, %d misses",
+                service.getId(), symbolProvider.getHits(), symbolProvider.getMisses()));
+
+        LOGGER.fine("Flushing go writers");
+        List<SymbolDependency> dependencies = writers.getDependencies();
+        profiler.phase("flushWriters", writers::flushWriters);
+
+        GoModuleInfo goModuleInfo = new GoModuleInfo.Builder()
+                .goDirective(settings.getGoDirective())
+                .dependencies(dependencies)
+                .build();
+
+        profiler.phase("writeGoMod", () -> GoModGenerator.writeGoMod(settings, fileManifest, goModuleInfo));
+
+        LOGGER.fine("Generating build manifest file");
+        profiler.phase("writeManifest",
+                () -> ManifestWriter.writeManifest(settings, model, fileManifest, goModuleInfo));
+
+        profiler.writeReport(fileManifest, service.getId().toString());
+    }
+
+    private void generate(Set<Shape> serviceShapes, ExecutorService executor) {
+        profiler.phase("generateShapes", () -> {
+            if (executor == null) {
+                for (Shape shape : serviceShapes) {
+                    generateShape(shape);
+                }
+            } else {
+                generateShapes(new ArrayList<>(serviceShapes), executor);
+            }
+        });
+        profiler.phase("releaseWriters", writers::releaseWriters);
 
         // Generate any required types and functions need to support protocol documents.
-        protocolDocumentGenerator.generateDocumentSupport();
+        profiler.phase("generateDocumentSupport", protocolDocumentGenerator::generateDocumentSupport);
 
         // Generate a struct to handle unknown tags in unions
         List<UnionShape> unions = serviceShapes.stream()
@@ -202,78 +307,234 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
         }
 
         for (GoIntegration integration : integrations) {
-            integration.writeAdditionalFiles(settings, model, symbolProvider, writers::useFileWriter);
-            integration.writeAdditionalFiles(settings, model, symbolProvider, writers);
+            profiler.phase("writeAdditionalFiles", integration, () -> {
+                integration.writeAdditionalFiles(settings, model, symbolProvider, writers::useFileWriter);
+                integration.writeAdditionalFiles(settings, model, symbolProvider, writers);
+            });
         }
+        profiler.phase("releaseWriters", writers::releaseWriters);
 
-        eventStreamGenerator.generateEventStreamInterfaces();
-        TopDownIndex.of(model).getContainedOperations(service)
-                .forEach(eventStreamGenerator::generateOperationEventStreamStructure);
+        profiler.phase("generateEventStreams", () -> {
+            eventStreamGenerator.generateEventStreamInterfaces();
+            TopDownIndex.of(model).getContainedOperations(service)
+                    .forEach(eventStreamGenerator::generateOperationEventStreamStructure);
+        });
 
         if (protocolGenerator != null) {
             LOGGER.info("Generating serde for protocol " + protocolGenerator.getProtocol() + " on " + service.getId());
-            ProtocolGenerator.GenerationContext.Builder contextBuilder = ProtocolGenerator.GenerationContext.builder()
-                    .protocolName(protocolGenerator.getProtocolName())
-                    .integrations(integrations)
-                    .model(model)
-                    .service(service)
-                    .settings(settings)
-                    .symbolProvider(symbolProvider)
-                    .delegator(writers);
-
-            LOGGER.info("Generating serde for protocol " + protocolGenerator.getProtocol()
-                    + " on " + service.getId());
-            writers.useFileWriter("serializers.go", settings.getModuleName(), writer -> {
-                ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
-                protocolGenerator.generateRequestSerializers(context);
-                protocolGenerator.generateSharedSerializerComponents(context);
-            });
+            // Protocol generators are integration hooks, which aren't required to be thread-safe.
+            profiler.phase("generateProtocol", () -> runTasks(null, List.of(
+                    delegator -> generateUnit(delegator, "serde", () -> serviceShapes, this::generateSerde),
+                    delegator -> generateUnit(delegator, "endpoints", () -> serviceShapes, this::generateEndpoints),
+                    delegator -> generateUnit(delegator, "protocolTests", () -> serviceShapes,
+                            this::generateProtocolTests))));
+            profiler.phase("releaseWriters", writers::releaseWriters);
+
+            profiler.phase("generateInternalDocumentTypes", () -> protocolDocumentGenerator
+                    .generateInternalDocumentTypes(protocolGenerator, generationContextBuilder(writers).build()));
+        }
+    }
 
-            writers.useFileWriter("deserializers.go", settings.getModuleName(), writer -> {
-                ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
-                protocolGenerator.generateResponseDeserializers(context);
-                protocolGenerator.generateSharedDeserializerComponents(context);
+    /**
+     * Generates shapes on the worker pool, except shapes whose generation calls integration hooks,
+     * which are generated on the calling thread since integrations aren't required to be thread-safe.
+     *
+     * <p>The shapes generated on the worker pool only use the model, whose knowledge index cache is
+     * concurrent, the memoized symbol provider and the task's own writers. Runs of them are split into
+     * contiguous chunks of the sorted shape list, and the chunks and the shapes generated on the calling
+     * thread are merged in order, which reproduces the serial generation order.
+     */
+    private void generateShapes(List<Shape> shapes, ExecutorService executor) {
+        List<Shape> concurrentShapes = new ArrayList<>();
+        for (Shape shape : shapes) {
+            if (callsIntegrationHooks(shape)) {
+                generateShapesConcurrently(concurrentShapes, executor);
+                concurrentShapes = new ArrayList<>();
+                generateShape(shape);
+            } else {
+                concurrentShapes.add(shape);
+            }
+        }
+        generateShapesConcurrently(concurrentShapes, executor);
+    }
+
+    /**
+     * Returns whether generating a shape calls integration hooks: the service generates the client and
+     * operations with the runtime plugins and protocol generator, and errors get their error code from
+     * the protocol generator.
+     */
+    private static boolean callsIntegrationHooks(Shape shape) {
+        return shape.isServiceShape() || (shape.isStructureShape() && shape.hasTrait(ErrorTrait.class));
+    }
+
+    private void generateShapesConcurrently(List<Shape> shapes, ExecutorService executor) {
+        if (shapes.isEmpty()) {
+            return;
+        }
+        int chunkCount = Math.min(shapes.size(), settings.getCodegenThreads() * SHAPE_CHUNKS_PER_THREAD);
+        List<Consumer<GoDelegator>> tasks = new ArrayList<>();
+        for (int i = 0; i < chunkCount; i++) {
+            List<Shape> chunk = shapes.subList(
+                    i * shapes.size() / chunkCount, (i + 1) * shapes.size() / chunkCount);
+            tasks.add(taskWriters -> {
+                CodegenVisitor visitor = new CodegenVisitor(this, taskWriters);
+                for (Shape shape : chunk) {
+                    visitor.generateShape(shape);
+                }
             });
+        }
+        runTasks(executor, tasks);
+    }
 
-            if (eventStreamGenerator.hasEventStreamOperations()) {
-                eventStreamGenerator.writeEventStreamImplementation(writer -> {
-                    ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
-                    protocolGenerator.generateEventStreamComponents(context);
-                });
+    /**
+     * Runs generation tasks and merges what they write in the order the tasks are given.
+     *
+     * <p>Without an executor the tasks run one after another directly against the visitor's writers.
+     * Otherwise each task writes to its own delegator on the worker pool, and the delegators are
+     * merged once all tasks have completed.
+     */
+    private void runTasks(ExecutorService executor, List<Consumer<GoDelegator>> tasks) {
+        if (executor == null) {
+            tasks.forEach(task -> task.accept(writers));
+            return;
+        }
+
+        List<Future<GoDelegator>> results = new ArrayList<>();
+        for (Consumer<GoDelegator> task : tasks) {
+            results.add(executor.submit(() -> {
+                GoDelegator taskWriters = new GoDelegator(fileManifest, symbolProvider);
+                task.accept(taskWriters);
+                return taskWriters;
+            }));
+        }
+
+        for (Future<GoDelegator> result : results) {
+            try {
+                writers.mergeWriters(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CodegenException("Interrupted while generating " + service.getId(), e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new CodegenException("Failed to generate " + service.getId(), e.getCause());
             }
+        }
+    }
 
-            writers.useFileWriter("endpoints.go", settings.getModuleName(), writer -> {
-                ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
-                protocolGenerator.generateEndpointResolution(context);
-            });
+    private void generateShape(Shape shape) {
+        if (!isGeneratedShape(shape)) {
+            return;
+        }
+        generateUnit(writers, shape.getId().toString(), () -> walkShapes(shape),
+                delegator -> shape.accept(delegator == writers ? this : new CodegenVisitor(this, delegator)));
+    }
 
-            writers.useFileWriter("endpoints_test.go", settings.getModuleName(), writer -> {
-                ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
-                protocolGenerator.generateEndpointResolutionTests(context);
-            });
+    private static boolean isGeneratedShape(Shape shape) {
+        return shape.isStructureShape()
+                || shape.isUnionShape()
+                || shape.isIntEnumShape()
+                || shape.isServiceShape()
+                || (shape instanceof StringShape && shape.hasTrait(EnumTrait.class));
+    }
 
-            LOGGER.info("Generating protocol " + protocolGenerator.getProtocol()
-                    + " unit tests for " + service.getId());
-            writers.useFileWriter("protocol_test.go", settings.getModuleName(), writer -> {
-                protocolGenerator.generateProtocolTests(contextBuilder.writer(writer).build());
-            });
+    private Set<Shape> walkShapes(Shape shape) {
+        return new Walker(modelWithoutTraitShapes).walkShapes(shape);
+    }
 
-            protocolDocumentGenerator.generateInternalDocumentTypes(protocolGenerator, contextBuilder.build());
+    /**
+     * Runs a unit of generation, taking its output from the incremental cache when it is enabled
+     * and none of the shapes the unit is generated from have changed since it was cached.
+     *
+     * @param delegator Delegator the unit's output is written to.
+     * @param unit      Name of the unit, unique within the service.
+     * @param closure   Supplies every shape the unit is generated from.
+     * @param generator Generates the unit's output to the given delegator.
+     */
+    private void generateUnit(
+            GoDelegator delegator,
+            String unit,
+            Supplier<Collection<Shape>> closure,
+            Consumer<GoDelegator> generator
+    ) {
+        if (cache == null) {
+            generator.accept(delegator);
+            return;
         }
 
-        LOGGER.fine("Flushing go writers");
-        List<SymbolDependency> dependencies = writers.getDependencies();
-        writers.flushWriters();
+        String key = cache.key(unit, closure.get());
+        Optional<ObjectNode> cached = cache.load(key);
+        if (cached.isPresent()) {
+            delegator.mergeWriters(cached.get());
+            return;
+        }
 
-        GoModuleInfo goModuleInfo = new GoModuleInfo.Builder()
-                .goDirective(settings.getGoDirective())
-                .dependencies(dependencies)
-                .build();
+        GoDelegator unitWriters = new GoDelegator(fileManifest, symbolProvider);
+        generator.accept(unitWriters);
+        cache.store(key, unitWriters.writersToNode());
+        delegator.mergeWriters(unitWriters);
+    }
 
-        GoModGenerator.writeGoMod(settings, fileManifest, goModuleInfo);
+    private ProtocolGenerator.GenerationContext.Builder generationContextBuilder(GoDelegator delegator) {
+        return ProtocolGenerator.GenerationContext.builder()
+                .protocolName(protocolGenerator.getProtocolName())
+                .integrations(integrations)
+                .model(model)
+                .service(service)
+                .settings(settings)
+                .symbolProvider(symbolProvider)
+                .delegator(delegator);
+    }
 
-        LOGGER.fine("Generating build manifest file");
-        ManifestWriter.writeManifest(settings, model, fileManifest, goModuleInfo);
+    private void generateSerde(GoDelegator delegator) {
+        ProtocolGenerator.GenerationContext.Builder contextBuilder = generationContextBuilder(delegator);
+
+        delegator.useFileWriter("serializers.go", settings.getModuleName(), writer -> {
+            ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
+            protocolGenerator.generateRequestSerializers(context);
+            protocolGenerator.generateSharedSerializerComponents(context);
+        });
+
+        delegator.useFileWriter("deserializers.go", settings.getModuleName(), writer -> {
+            ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
+            protocolGenerator.generateResponseDeserializers(context);
+            protocolGenerator.generateSharedDeserializerComponents(context);
+        });
+
+        EventStreamGenerator eventStreams = delegator == writers
+                ? eventStreamGenerator
+                : new EventStreamGenerator(settings, model, delegator, symbolProvider, service);
+        if (eventStreams.hasEventStreamOperations()) {
+            eventStreams.writeEventStreamImplementation(writer -> {
+                ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
+                protocolGenerator.generateEventStreamComponents(context);
+            });
+        }
+    }
+
+    private void generateEndpoints(GoDelegator delegator) {
+        ProtocolGenerator.GenerationContext.Builder contextBuilder = generationContextBuilder(delegator);
+
+        delegator.useFileWriter("endpoints.go", settings.getModuleName(), writer -> {
+            ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
+            protocolGenerator.generateEndpointResolution(context);
+        });
+
+        delegator.useFileWriter("endpoints_test.go", settings.getModuleName(), writer -> {
+            ProtocolGenerator.GenerationContext context = contextBuilder.writer(writer).build();
+            protocolGenerator.generateEndpointResolutionTests(context);
+        });
+    }
+
+    private void generateProtocolTests(GoDelegator delegator) {
+        ProtocolGenerator.GenerationContext.Builder contextBuilder = generationContextBuilder(delegator);
+
+        LOGGER.info("Generating protocol " + protocolGenerator.getProtocol()
+                + " unit tests for " + service.getId());
+        delegator.useFileWriter("protocol_test.go", settings.getModuleName(), writer -> {
+            protocolGenerator.generateProtocolTests(contextBuilder.writer(writer).build());
+        });
     }
 
     @Override
@@ -329,21 +590,22 @@ final class CodegenVisitor extends ShapeVisitor.Default<Void> {
         writers.useShapeWriter(shape, serviceWriter -> {
             new ServiceGenerator(settings, model, symbolProvider, serviceWriter, shape, integrations,
                     runtimePlugins, applicationProtocol).run();
-
-            // Generate each operation for the service. We do this here instead of via the
-            // operation visitor method to
-            // limit it to the operations bound to the service.
-            TopDownIndex topDownIndex = model.getKnowledge(TopDownIndex.class);
-            Set<OperationShape> containedOperations = new TreeSet<>(topDownIndex.getContainedOperations(service));
-            for (OperationShape operation : containedOperations) {
-                Symbol operationSymbol = symbolProvider.toSymbol(operation);
-
-                writers.useShapeWriter(
-                        operation, operationWriter -> new OperationGenerator(settings, model, symbolProvider,
-                                operationWriter, service, operation, operationSymbol, applicationProtocol,
-                                protocolGenerator, runtimePlugins).run());
-            }
         });
+
+        // Generate each operation for the service. We do this here instead of via the
+        // operation visitor method to
+        // limit it to the operations bound to the service.
+        TopDownIndex topDownIndex = model.getKnowledge(TopDownIndex.class);
+        Set<OperationShape> containedOperations = new TreeSet<>(topDownIndex.getContainedOperations(service));
+        for (OperationShape operation : containedOperations) {
+            Symbol operationSymbol = symbolProvider.toSymbol(operation);
+
+            generateUnit(writers, operation.getId().toString(), () -> walkShapes(operation),
+                    delegator -> delegator.useShapeWriter(
+                            operation, operationWriter -> new OperationGenerator(settings, model, symbolProvider,
+                                    operationWriter, service, operation, operationSymbol, applicationProtocol,
+                                    protocolGenerator, runtimePlugins).run()));
+        }
         return null;
     }
 
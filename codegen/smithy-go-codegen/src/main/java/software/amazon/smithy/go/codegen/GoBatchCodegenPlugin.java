@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Logger;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.build.SmithyBuildPlugin;
+import software.amazon.smithy.codegen.core.CodegenException;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Plugin to trigger Go code generation for many services of the same model in one run.
+ *
+ * <p>The plugin's settings contain a {@code services} list, where each entry holds the
+ * {@link GoSettings} of one service along with an optional {@code outputDirectory} the service
+ * is generated into, relative to the plugin's output. The output directory defaults to the
+ * service's name, and must be within the plugin's output. Work that doesn't depend on the service, such as discovering integrations
+ * and flattening mixins, is only done once for all the services.
+ */
+public final class GoBatchCodegenPlugin implements SmithyBuildPlugin {
+    private static final Logger LOGGER = Logger.getLogger(GoBatchCodegenPlugin.class.getName());
+
+    private static final String SERVICES = "services";
+    private static final String OUTPUT_DIRECTORY = "outputDirectory";
+
+    @Override
+    public String getName() {
+        return "go-codegen-batch";
+    }
+
+    @Override
+    public void execute(PluginContext context) {
+        context.getSettings().warnIfAdditionalProperties(List.of(SERVICES));
+
+        GoCodegenBatch batch = GoCodegenBatch.create(context);
+        for (Node serviceNode : context.getSettings().expectArrayMember(SERVICES)) {
+            ObjectNode serviceSettings = serviceNode.expectObjectNode();
+            ObjectNode goSettings = serviceSettings.withoutMember(OUTPUT_DIRECTORY);
+            ShapeId serviceId = GoSettings.from(goSettings).getService();
+            if (!GoCodegenPlugin.isServiceIncluded(serviceId.toString())) {
+                LOGGER.info("skipping " + serviceId);
+                continue;
+            }
+
+            String outputDirectory = serviceSettings.getStringMemberOrDefault(OUTPUT_DIRECTORY, serviceId.getName());
+            FileManifest fileManifest = FileManifest.create(
+                    resolveOutputDirectory(context.getFileManifest().getBaseDir(), outputDirectory, serviceId));
+
+            PluginContext serviceContext = context.toBuilder()
+                    .settings(goSettings)
+                    .fileManifest(fileManifest)
+                    .build();
+            new CodegenVisitor(serviceContext, batch).execute();
+        }
+    }
+
+    private static Path resolveOutputDirectory(Path baseDir, String outputDirectory, ShapeId serviceId) {
+        Path normalizedBaseDir = baseDir.toAbsolutePath().normalize();
+        Path resolved = normalizedBaseDir.resolve(outputDirectory).normalize();
+        if (!resolved.startsWith(normalizedBaseDir)) {
+            throw new CodegenException(String.format(
+                    "%s of %s must be a directory within the plugin output, found `%s`",
+                    OUTPUT_DIRECTORY, serviceId, outputDirectory));
+        }
+        return resolved;
+    }
+}
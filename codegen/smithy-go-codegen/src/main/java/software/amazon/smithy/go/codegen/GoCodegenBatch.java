@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.go.codegen.integration.GoIntegration;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.transform.ModelTransformer;
+
+/**
+ * Service-independent codegen state shared by every service generated from the same model.
+ *
+ * <p>Integrations are discovered from the classpath once, but each service gets its own
+ * integration instances since integrations may keep state about the service they generate.
+ */
+final class GoCodegenBatch {
+
+    private static final Logger LOGGER = Logger.getLogger(GoCodegenBatch.class.getName());
+
+    private final Model model;
+    private final List<ServiceLoader.Provider<GoIntegration>> integrationProviders;
+    private Model flattenedModel;
+
+    private GoCodegenBatch(Model model, List<ServiceLoader.Provider<GoIntegration>> integrationProviders) {
+        this.model = model;
+        this.integrationProviders = integrationProviders;
+    }
+
+    /**
+     * Discovers the integrations to use for every service generated from a plugin context's model.
+     *
+     * @param context Plugin context to generate services from.
+     * @return Returns the created batch.
+     */
+    static GoCodegenBatch create(PluginContext context) {
+        ClassLoader loader = context.getPluginClassLoader().orElse(GoCodegenBatch.class.getClassLoader());
+        LOGGER.info("Attempting to discover GoIntegration from the classpath...");
+        List<ServiceLoader.Provider<GoIntegration>> providers = ServiceLoader.load(GoIntegration.class, loader)
+                .stream()
+                .collect(Collectors.toList());
+        return new GoCodegenBatch(context.getModel(), providers);
+    }
+
+    /**
+     * Creates new instances of the discovered integrations, sorted by their order.
+     *
+     * @return Returns the integrations.
+     */
+    List<GoIntegration> createIntegrations() {
+        List<GoIntegration> integrations = new ArrayList<>();
+        for (ServiceLoader.Provider<GoIntegration> provider : integrationProviders) {
+            GoIntegration integration = provider.get();
+            LOGGER.info(() -> "Adding GoIntegration: " + integration.getClass().getName());
+            integrations.add(integration);
+        }
+        integrations.sort(Comparator.comparingInt(GoIntegration::getOrder));
+        return integrations;
+    }
+
+    /**
+     * Gets the model with mixins flattened and removed, computing it the first time it is requested.
+     *
+     * @return Returns the flattened model.
+     */
+    synchronized Model getFlattenedModel() {
+        if (flattenedModel == null) {
+            /*
+             * smithy 1.23.0 added support for mixins. This transform flattens and applies
+             * the mixins and remove them from the model
+             */
+            flattenedModel = ModelTransformer.create().flattenAndRemoveMixins(model);
+        }
+        return flattenedModel;
+    }
+}
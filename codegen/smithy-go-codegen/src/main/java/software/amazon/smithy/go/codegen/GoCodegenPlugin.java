@@ -34,24 +34,34 @@ public final class GoCodegenPlugin implements SmithyBuildPlugin {
 
     @Override
     public void execute(PluginContext context) {
+        String targetServiceId = GoSettings.from(context.getSettings()).getService().toString();
+        if (!isServiceIncluded(targetServiceId)) {
+            LOGGER.info("skipping " + targetServiceId);
+            return;
+        }
+
+        new CodegenVisitor(context).execute();
+    }
+
+    /**
+     * Checks if a service should be generated, according to the optional comma separated
+     * list of service id prefixes in the SMITHY_GO_BUILD_API environment variable.
+     *
+     * @param serviceId Id of the service to check.
+     * @return Returns true if the service should be generated.
+     */
+    static boolean isServiceIncluded(String serviceId) {
         String onlyBuild = System.getenv("SMITHY_GO_BUILD_API");
-        if (onlyBuild != null && !onlyBuild.isEmpty()) {
-            String targetServiceId = GoSettings.from(context.getSettings()).getService().toString();
+        if (onlyBuild == null || onlyBuild.isEmpty()) {
+            return true;
+        }
 
-            boolean found = false;
-            for (String includeServiceId : onlyBuild.split(",")) {
-                if (targetServiceId.startsWith(includeServiceId)) {
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
-                LOGGER.info("skipping " + targetServiceId);
-                return;
+        for (String includeServiceId : onlyBuild.split(",")) {
+            if (serviceId.startsWith(includeServiceId)) {
+                return true;
             }
         }
-
-        new CodegenVisitor(context).execute();
+        return false;
     }
 
     /**
@@ -29,7 +29,7 @@ import software.amazon.smithy.model.shapes.Shape;
 public final class GoDelegator extends GoWriterDelegator {
     private final SymbolProvider symbolProvider;
 
-    GoDelegator(FileManifest fileManifest, SymbolProvider symbolProvider) {
+    public GoDelegator(FileManifest fileManifest, SymbolProvider symbolProvider) {
         super(fileManifest);
 
         this.symbolProvider = symbolProvider;
@@ -15,10 +15,15 @@
 
 package software.amazon.smithy.go.codegen;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.ServiceIndex;
@@ -37,6 +42,17 @@ public final class GoSettings {
     private static final String MODULE_VERSION = "moduleVersion";
     private static final String GENERATE_GO_MOD = "generateGoMod";
     private static final String GO_DIRECTIVE = "goDirective";
+    private static final String CODEGEN_THREADS = "codegenThreads";
+    private static final String INCREMENTAL_CACHE_DIR = "incrementalCacheDir";
+    private static final String CODEGEN_REPORT = "codegenReport";
+    private static final String STREAM_WRITERS = "streamWriters";
+    private static final String CACHE_OPERATION_STACKS = "cacheOperationStacks";
+    private static final String COMPOSE_OPERATION_STACKS = "composeOperationStacks";
+    private static final String ENDPOINT_RESOLVER_CACHE_SIZE = "endpointResolverCacheSize";
+    private static final String SPECIALIZE_ENDPOINT_RESOLVER = "specializeEndpointResolver";
+    private static final String PROTOCOL_TEST_ALLOCATION_BUDGETS = "protocolTestAllocationBudgets";
+    private static final String POOL_REQUEST_BODIES = "poolRequestBodies";
+    private static final String STREAM_REQUEST_BODIES = "streamRequestBodies";
 
     private ShapeId service;
     private String moduleName;
@@ -45,6 +61,17 @@ public final class GoSettings {
     private Boolean generateGoMod = false;
     private String goDirective = GoModuleInfo.DEFAULT_GO_DIRECTIVE;
     private ShapeId protocol;
+    private int codegenThreads = 1;
+    private Path incrementalCacheDir;
+    private boolean codegenReport = false;
+    private boolean streamWriters = false;
+    private boolean cacheOperationStacks = false;
+    private boolean composeOperationStacks = false;
+    private int endpointResolverCacheSize = 0;
+    private boolean specializeEndpointResolver = false;
+    private final Map<String, Integer> protocolTestAllocationBudgets = new TreeMap<>();
+    private boolean poolRequestBodies = false;
+    private boolean streamRequestBodies = false;
 
     /**
      * Create a settings object from a configuration object node.
@@ -55,7 +82,11 @@ public final class GoSettings {
     public static GoSettings from(ObjectNode config) {
         GoSettings settings = new GoSettings();
         config.warnIfAdditionalProperties(
-            Arrays.asList(SERVICE, MODULE_NAME, MODULE_DESCRIPTION, MODULE_VERSION, GENERATE_GO_MOD, GO_DIRECTIVE));
+            Arrays.asList(SERVICE, MODULE_NAME, MODULE_DESCRIPTION, MODULE_VERSION, GENERATE_GO_MOD, GO_DIRECTIVE,
+                    CODEGEN_THREADS, INCREMENTAL_CACHE_DIR, CODEGEN_REPORT, STREAM_WRITERS,
+                    CACHE_OPERATION_STACKS, COMPOSE_OPERATION_STACKS, ENDPOINT_RESOLVER_CACHE_SIZE,
+                    SPECIALIZE_ENDPOINT_RESOLVER, PROTOCOL_TEST_ALLOCATION_BUDGETS, POOL_REQUEST_BODIES,
+                    STREAM_REQUEST_BODIES));
 
         settings.setService(config.expectStringMember(SERVICE).expectShapeId());
         settings.setModuleName(config.expectStringMember(MODULE_NAME).getValue());
@@ -64,6 +95,26 @@ public final class GoSettings {
         settings.setModuleVersion(config.getStringMemberOrDefault(MODULE_VERSION, null));
         settings.setGenerateGoMod(config.getBooleanMemberOrDefault(GENERATE_GO_MOD, false));
         settings.setGoDirective(config.getStringMemberOrDefault(GO_DIRECTIVE, GoModuleInfo.DEFAULT_GO_DIRECTIVE));
+        settings.setCodegenThreads(config.getNumberMemberOrDefault(CODEGEN_THREADS, 1).intValue());
+        config.getStringMember(INCREMENTAL_CACHE_DIR)
+                .map(dir -> Paths.get(dir.getValue()).toAbsolutePath())
+                .ifPresent(settings::setIncrementalCacheDir);
+        settings.setCodegenReport(config.getBooleanMemberOrDefault(CODEGEN_REPORT, false));
+        settings.setStreamWriters(config.getBooleanMemberOrDefault(STREAM_WRITERS, false));
+        settings.setCacheOperationStacks(config.getBooleanMemberOrDefault(CACHE_OPERATION_STACKS, false));
+        settings.setComposeOperationStacks(config.getBooleanMemberOrDefault(COMPOSE_OPERATION_STACKS, false));
+        settings.setEndpointResolverCacheSize(
+                config.getNumberMemberOrDefault(ENDPOINT_RESOLVER_CACHE_SIZE, 0).intValue());
+        settings.setSpecializeEndpointResolver(config.getBooleanMemberOrDefault(SPECIALIZE_ENDPOINT_RESOLVER, false));
+        config.getObjectMember(PROTOCOL_TEST_ALLOCATION_BUDGETS).ifPresent(budgets -> {
+            Map<String, Integer> values = new TreeMap<>();
+            budgets.getMembers().forEach((testCaseId, budget) -> {
+                values.put(testCaseId.getValue(), budget.expectNumberNode().getValue().intValue());
+            });
+            settings.setProtocolTestAllocationBudgets(values);
+        });
+        settings.setPoolRequestBodies(config.getBooleanMemberOrDefault(POOL_REQUEST_BODIES, false));
+        settings.setStreamRequestBodies(config.getBooleanMemberOrDefault(STREAM_REQUEST_BODIES, false));
         return settings;
     }
 
@@ -195,6 +246,261 @@ public final class GoSettings {
         this.goDirective = Objects.requireNonNull(goDirective);
     }
 
+    /**
+     * Gets the number of threads used to generate shapes.
+     *
+     * <p>A value of 1 generates everything on the calling thread. Larger values generate
+     * shapes on a worker pool and merge the results in a fixed order, so the generated code
+     * is the same regardless of the number of threads.
+     *
+     * <p>Integration hooks, including protocol generators, are only called from the calling
+     * thread, except for the symbol provider decorated by integrations, which is shared by
+     * all threads and must be thread-safe.
+     *
+     * @return Returns the number of codegen threads.
+     */
+    public int getCodegenThreads() {
+        return codegenThreads;
+    }
+
+    /**
+     * Sets the number of threads used to generate shapes.
+     *
+     * @param codegenThreads The number of codegen threads, must be at least 1.
+     */
+    public void setCodegenThreads(int codegenThreads) {
+        if (codegenThreads < 1) {
+            throw new CodegenException(CODEGEN_THREADS + " must be at least 1, got " + codegenThreads);
+        }
+        this.codegenThreads = codegenThreads;
+    }
+
+    /**
+     * Gets the optional directory used to cache generated code between runs.
+     *
+     * <p>When set, generated code for shapes whose inputs have not changed since a previous
+     * run is taken from the cache instead of being generated again.
+     *
+     * @return Returns the incremental cache directory.
+     */
+    public Optional<Path> getIncrementalCacheDir() {
+        return Optional.ofNullable(incrementalCacheDir);
+    }
+
+    /**
+     * Sets the directory used to cache generated code between runs.
+     *
+     * @param incrementalCacheDir The incremental cache directory.
+     */
+    public void setIncrementalCacheDir(Path incrementalCacheDir) {
+        this.incrementalCacheDir = Objects.requireNonNull(incrementalCacheDir);
+    }
+
+    /**
+     * Gets whether a report of the time, allocations, and output size of each codegen phase
+     * and integration is written next to the generated.json manifest.
+     *
+     * @return Returns if the codegen report will be written (true) or not (false).
+     */
+    public boolean getCodegenReport() {
+        return codegenReport;
+    }
+
+    /**
+     * Sets whether the codegen report is written.
+     *
+     * @param codegenReport If the codegen report will be written (true) or not (false).
+     */
+    public void setCodegenReport(boolean codegenReport) {
+        this.codegenReport = codegenReport;
+    }
+
+    /**
+     * Gets whether generated files are written out after each codegen phase instead of all at
+     * the end, which bounds the amount of generated code held in memory for large services.
+     *
+     * @return Returns if generated files are streamed (true) or not (false).
+     */
+    public boolean getStreamWriters() {
+        return streamWriters;
+    }
+
+    /**
+     * Sets whether generated files are written out after each codegen phase.
+     *
+     * @param streamWriters If generated files are streamed (true) or not (false).
+     */
+    public void setStreamWriters(boolean streamWriters) {
+        this.streamWriters = streamWriters;
+    }
+
+    /**
+     * Gets whether generated clients build the middleware stack of each operation once and reuse
+     * it for every invocation that doesn't pass per-call options.
+     *
+     * <p>Cached stacks are shared by concurrent invocations, so this requires that the middleware
+     * added to operation stacks keep no per-invocation state.
+     *
+     * @return Returns if operation stacks are cached (true) or not (false).
+     */
+    public boolean getCacheOperationStacks() {
+        return cacheOperationStacks;
+    }
+
+    /**
+     * Sets whether generated clients cache the middleware stack of each operation.
+     *
+     * @param cacheOperationStacks If operation stacks are cached (true) or not (false).
+     */
+    public void setCacheOperationStacks(boolean cacheOperationStacks) {
+        this.cacheOperationStacks = cacheOperationStacks;
+    }
+
+    /**
+     * Gets whether generated clients compose the middleware of each operation stack into a fixed
+     * handler chain once, instead of chaining the middleware of every step again on each invocation.
+     *
+     * <p>Stacks modified by {@code APIOptions} are still invoked dynamically. Composing pays off the
+     * most together with {@link #getCacheOperationStacks()}, since cached stacks are then composed
+     * only once per client.
+     *
+     * @return Returns if operation stacks are composed (true) or not (false).
+     */
+    public boolean getComposeOperationStacks() {
+        return composeOperationStacks;
+    }
+
+    /**
+     * Sets whether generated clients compose the middleware of each operation stack.
+     *
+     * @param composeOperationStacks If operation stacks are composed (true) or not (false).
+     */
+    public void setComposeOperationStacks(boolean composeOperationStacks) {
+        this.composeOperationStacks = composeOperationStacks;
+    }
+
+    /**
+     * Gets the number of endpoints the generated default endpoint resolver caches by their endpoint
+     * parameters, so that resolving the same parameters again skips evaluating the rules.
+     *
+     * <p>A value of 0 generates a resolver without a cache.
+     *
+     * @return Returns the endpoint resolver cache size.
+     */
+    public int getEndpointResolverCacheSize() {
+        return endpointResolverCacheSize;
+    }
+
+    /**
+     * Sets the number of endpoints the generated default endpoint resolver caches.
+     *
+     * @param endpointResolverCacheSize The endpoint resolver cache size, must not be negative.
+     */
+    public void setEndpointResolverCacheSize(int endpointResolverCacheSize) {
+        if (endpointResolverCacheSize < 0) {
+            throw new CodegenException(ENDPOINT_RESOLVER_CACHE_SIZE + " must not be negative, got "
+                    + endpointResolverCacheSize);
+        }
+        this.endpointResolverCacheSize = endpointResolverCacheSize;
+    }
+
+    /**
+     * Gets whether the generated default endpoint resolver is specialized on its client-constant
+     * boolean parameters, such as built-ins like FIPS and dual-stack.
+     *
+     * <p>The rules are generated once for each combination of values of those parameters, with the
+     * conditions on them folded away, so that resolving an endpoint only evaluates the conditions
+     * that depend on the rest of the parameters.
+     *
+     * @return Returns if the endpoint resolver is specialized (true) or not (false).
+     */
+    public boolean getSpecializeEndpointResolver() {
+        return specializeEndpointResolver;
+    }
+
+    /**
+     * Sets whether the generated default endpoint resolver is specialized on its client-constant parameters.
+     *
+     * @param specializeEndpointResolver If the endpoint resolver is specialized (true) or not (false).
+     */
+    public void setSpecializeEndpointResolver(boolean specializeEndpointResolver) {
+        this.specializeEndpointResolver = specializeEndpointResolver;
+    }
+
+    /**
+     * Gets the allocation budgets of protocol test cases, keyed by test case id.
+     *
+     * <p>Each test case with a budget gets a generated test that fails if serializing its request,
+     * or deserializing its response, allocates more times than the budget.
+     *
+     * @return Returns the allocation budgets.
+     */
+    public Map<String, Integer> getProtocolTestAllocationBudgets() {
+        return Collections.unmodifiableMap(protocolTestAllocationBudgets);
+    }
+
+    /**
+     * Sets the allocation budgets of protocol test cases, keyed by test case id.
+     *
+     * @param protocolTestAllocationBudgets The allocation budgets, which must not be negative.
+     */
+    public void setProtocolTestAllocationBudgets(Map<String, Integer> protocolTestAllocationBudgets) {
+        protocolTestAllocationBudgets.forEach((testCaseId, budget) -> {
+            if (budget < 0) {
+                throw new CodegenException(PROTOCOL_TEST_ALLOCATION_BUDGETS + " must not be negative, got "
+                        + budget + " for " + testCaseId);
+            }
+        });
+        this.protocolTestAllocationBudgets.clear();
+        this.protocolTestAllocationBudgets.putAll(protocolTestAllocationBudgets);
+    }
+
+    /**
+     * Gets whether generated serializers encode request documents into pooled buffers, sized up
+     * front by a generated estimate of the encoded size of the input.
+     *
+     * <p>A buffer is returned to the pool once the serializer middleware's next handler returns,
+     * by which time the HTTP client handler has closed the request body it was read through.
+     *
+     * @return Returns if request bodies are pooled (true) or not (false).
+     */
+    public boolean getPoolRequestBodies() {
+        return poolRequestBodies;
+    }
+
+    /**
+     * Sets whether generated serializers encode request documents into pooled buffers.
+     *
+     * @param poolRequestBodies If request bodies are pooled (true) or not (false).
+     */
+    public void setPoolRequestBodies(boolean poolRequestBodies) {
+        this.poolRequestBodies = poolRequestBodies;
+    }
+
+    /**
+     * Gets whether generated serializers write request documents straight to the HTTP request
+     * body while it is sent, instead of encoding the whole document in memory first.
+     *
+     * <p>Streamed bodies are sent with chunked transfer encoding and can't be rewound, so requests
+     * with a streamed body aren't retried once the body has been read. Operations requiring a
+     * request checksum keep encoding their document in memory. Takes precedence over
+     * {@link #getPoolRequestBodies()}.
+     *
+     * @return Returns if request bodies are streamed (true) or not (false).
+     */
+    public boolean getStreamRequestBodies() {
+        return streamRequestBodies;
+    }
+
+    /**
+     * Sets whether generated serializers write request documents straight to the HTTP request body.
+     *
+     * @param streamRequestBodies If request bodies are streamed (true) or not (false).
+     */
+    public void setStreamRequestBodies(boolean streamRequestBodies) {
+        this.streamRequestBodies = streamRequestBodies;
+    }
+
     /**
      * Gets the configured protocol to generate.
      *
@@ -37,6 +37,9 @@ import software.amazon.smithy.codegen.core.SymbolReference;
 import software.amazon.smithy.go.codegen.knowledge.GoUsageIndex;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.DeprecatedTrait;
@@ -663,6 +666,83 @@ public final class GoWriter extends AbstractCodeWriter<GoWriter> {
         return dependencies;
     }
 
+    /**
+     * Appends the contents, package docs, imports, and dependencies of another writer for the same
+     * package to this writer, as if the other writer's content had been written directly to this one.
+     *
+     * @param other writer whose contents will be appended.
+     */
+    void append(GoWriter other) {
+        addImports(other);
+        addDependencies(other);
+        appendContents(this, other.getContents());
+        if (!innerWriter && !other.innerWriter) {
+            appendContents(packageDocs, other.packageDocs.toString());
+        }
+    }
+
+    private static void appendContents(AbstractCodeWriter<GoWriter> writer, String contents) {
+        if (contents.isEmpty()) {
+            return;
+        }
+        // The code writer appends its own newline to written content.
+        writer.writeWithNoFormatting(StringUtils.removeEnd(contents, "\n"));
+    }
+
+    private String getContents() {
+        return super.toString();
+    }
+
+    /**
+     * Captures the state of the writer so that it can be restored with {@link #fromNode(ObjectNode)}.
+     *
+     * @return Returns the node representation of the writer.
+     */
+    ObjectNode toNode() {
+        ObjectNode.Builder importsNode = ObjectNode.objectNodeBuilder();
+        imports.getImports().forEach(importsNode::withMember);
+
+        List<Node> dependencyNodes = new ArrayList<>();
+        for (SymbolDependency dependency : dependencies) {
+            dependencyNodes.add(ObjectNode.objectNodeBuilder()
+                    .withMember("type", dependency.getDependencyType())
+                    .withMember("packageName", dependency.getPackageName())
+                    .withMember("version", dependency.getVersion())
+                    .build());
+        }
+
+        return ObjectNode.objectNodeBuilder()
+                .withMember("package", fullPackageName)
+                .withMember("contents", getContents())
+                .withMember("packageDocs", packageDocs.toString())
+                .withMember("imports", importsNode.build())
+                .withMember("dependencies", ArrayNode.fromNodes(dependencyNodes))
+                .build();
+    }
+
+    /**
+     * Restores a writer captured with {@link #toNode()}.
+     *
+     * @param node Node representation of the writer.
+     * @return Returns the restored writer.
+     */
+    static GoWriter fromNode(ObjectNode node) {
+        GoWriter writer = new GoWriter(node.expectStringMember("package").getValue());
+        node.expectObjectMember("imports").getStringMap().forEach((alias, packageName) ->
+                writer.addImport(packageName.expectStringNode().getValue(), alias));
+        for (Node dependency : node.expectArrayMember("dependencies")) {
+            ObjectNode dependencyNode = dependency.expectObjectNode();
+            writer.dependencies.add(SymbolDependency.builder()
+                    .dependencyType(dependencyNode.expectStringMember("type").getValue())
+                    .packageName(dependencyNode.expectStringMember("packageName").getValue())
+                    .version(dependencyNode.expectStringMember("version").getValue())
+                    .build());
+        }
+        appendContents(writer, node.expectStringMember("contents").getValue());
+        appendContents(writer.packageDocs, node.expectStringMember("packageDocs").getValue());
+        return writer;
+    }
+
     /**
      * Writes documentation comments.
      *
@@ -15,18 +15,36 @@
 
 package software.amazon.smithy.go.codegen;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.codegen.core.SymbolDependency;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
 
 public class GoWriterDelegator {
     private final FileManifest fileManifest;
     private final Map<String, GoWriter> writers = new HashMap<>();
+    private final Map<String, Path> releasedWriters = new HashMap<>();
+    private final Map<String, Collection<SymbolDependency>> releasedDependencies = new HashMap<>();
+    private Path releaseDirectory;
+    private int releaseCount;
+    private long flushedBytes;
+    private final Map<String, Long> pendingSizes = new HashMap<>();
+    private final Set<String> modifiedWriters = new HashSet<>();
 
     public GoWriterDelegator(FileManifest fileManifest) {
         this.fileManifest = fileManifest;
@@ -36,8 +54,123 @@ public class GoWriterDelegator {
      * Writes all pending writers to disk and then clears them out.
      */
     public void flushWriters() {
-        writers.forEach((filename, writer) -> fileManifest.writeFile(filename, writer.toString()));
+        writers.forEach(this::writeFile);
+        clearWriters();
+
+        releasedWriters.values().forEach(GoWriterDelegator::deleteReleasedWriter);
+        releasedWriters.clear();
+        releasedDependencies.clear();
+        if (releaseDirectory != null) {
+            deleteReleasedWriter(releaseDirectory);
+            releaseDirectory = null;
+        }
+    }
+
+    /**
+     * Enables releasing writers with {@link #releaseWriters()}.
+     *
+     * <p>The state of released writers is kept in a temporary directory, in case they are used again,
+     * until the writers are flushed.
+     */
+    void enableReleasingWriters() {
+        try {
+            releaseDirectory = Files.createTempDirectory("smithy-go-writers");
+        } catch (IOException e) {
+            throw new CodegenException("Failed to create directory for released writers", e);
+        }
+    }
+
+    /**
+     * Writes all pending writers to disk and releases them, if releasing writers is enabled.
+     *
+     * <p>This bounds the amount of generated code held in memory to what is written between releases. Released
+     * writers are written to the file manifest right away, and their state is kept on disk so that a released
+     * writer used again is restored and later written again with the additional content.
+     */
+    void releaseWriters() {
+        if (releaseDirectory == null) {
+            return;
+        }
+
+        writers.forEach((filename, writer) -> {
+            writeFile(filename, writer);
+
+            Path state = releaseDirectory.resolve(releaseCount++ + ".json");
+            try {
+                Files.writeString(state, Node.printJson(writer.toNode()), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new CodegenException("Failed to release writer for " + filename, e);
+            }
+            releasedWriters.put(filename, state);
+            releasedDependencies.put(filename, new ArrayList<>(writer.getDependencies()));
+        });
+        clearWriters();
+    }
+
+    private void clearWriters() {
         writers.clear();
+        pendingSizes.clear();
+        modifiedWriters.clear();
+    }
+
+    private void writeFile(String filename, GoWriter writer) {
+        String contents = writer.toString();
+        flushedBytes += contents.getBytes(StandardCharsets.UTF_8).length;
+        fileManifest.writeFile(filename, contents);
+    }
+
+    /**
+     * Gets the pending writer of a file, restoring it first if it was released.
+     *
+     * @param filename Name of the file.
+     * @return Returns the pending writer, or null if there is no pending or released writer for the file.
+     */
+    private GoWriter getWriter(String filename) {
+        Path state = releasedWriters.remove(filename);
+        if (state != null) {
+            try {
+                GoWriter writer = GoWriter.fromNode(
+                        Node.parse(Files.readString(state, StandardCharsets.UTF_8)).expectObjectNode());
+                writers.put(filename, writer);
+            } catch (IOException e) {
+                throw new CodegenException("Failed to restore released writer for " + filename, e);
+            }
+            releasedDependencies.remove(filename);
+            deleteReleasedWriter(state);
+        }
+        return writers.get(filename);
+    }
+
+    private static void deleteReleasedWriter(Path state) {
+        try {
+            Files.deleteIfExists(state);
+        } catch (IOException e) {
+            throw new CodegenException("Failed to delete released writer " + state, e);
+        }
+    }
+
+    /**
+     * Gets the size of all the code written through the delegator, both flushed and pending.
+     *
+     * <p>Pending writers are measured by rendering their contents, only for the writers checked out or merged
+     * into since the last measurement, so this is intended for diagnostics only.
+     *
+     * @return Returns the number of bytes written.
+     */
+    long getOutputSize() {
+        for (String filename : modifiedWriters) {
+            GoWriter writer = writers.get(filename);
+            if (writer != null) {
+                pendingSizes.put(filename, (long) writer.toString().getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+        modifiedWriters.clear();
+
+        long pending = 0;
+        for (long size : pendingSizes.values()) {
+            pending += size;
+        }
+        return flushedBytes + pending;
     }
 
     /**
@@ -49,6 +182,7 @@ public class GoWriterDelegator {
     public List<SymbolDependency> getDependencies() {
         List<SymbolDependency> resolved = new ArrayList<>();
         writers.values().forEach(s -> resolved.addAll(s.getDependencies()));
+        releasedDependencies.values().forEach(resolved::addAll);
         return resolved;
     }
 
@@ -64,13 +198,68 @@ public class GoWriterDelegator {
         writerConsumer.accept(checkoutWriter(filename, namespace));
     }
 
+    /**
+     * Appends the pending writers of another delegator to this delegator's writers.
+     *
+     * <p>Files the other delegator wrote to are appended to this delegator's writers for the same files,
+     * separated in the same way as if the other delegator's writes had been made through this delegator.
+     * Merging the delegators of independent generation tasks in a fixed order therefore produces the same
+     * output as running the tasks one after another on a single delegator.
+     *
+     * @param other Delegator whose writers are merged into this one.
+     */
+    void mergeWriters(GoWriterDelegator other) {
+        mergeWriters(other.writers);
+        other.clearWriters();
+    }
+
+    /**
+     * Appends writers captured with {@link #writersToNode()} to this delegator's writers.
+     *
+     * @param node Node representation of the writers to merge.
+     * @see #mergeWriters(GoWriterDelegator)
+     */
+    void mergeWriters(ObjectNode node) {
+        Map<String, GoWriter> restored = new TreeMap<>();
+        node.getStringMap().forEach((filename, writer) ->
+                restored.put(filename, GoWriter.fromNode(writer.expectObjectNode())));
+        mergeWriters(restored);
+    }
+
+    /**
+     * Captures the pending writers of the delegator so they can later be merged into
+     * another delegator with {@link #mergeWriters(ObjectNode)}.
+     *
+     * @return Returns the node representation of the pending writers.
+     */
+    ObjectNode writersToNode() {
+        ObjectNode.Builder builder = ObjectNode.objectNodeBuilder();
+        new TreeMap<>(writers).forEach((filename, writer) -> builder.withMember(filename, writer.toNode()));
+        return builder.build();
+    }
+
+    private void mergeWriters(Map<String, GoWriter> others) {
+        others.forEach((filename, writer) -> {
+            modifiedWriters.add(filename);
+            GoWriter existing = getWriter(filename);
+            if (existing == null) {
+                writers.put(filename, writer);
+            } else {
+                existing.write("\n");
+                existing.append(writer);
+            }
+        });
+    }
+
     GoWriter checkoutWriter(String filename, String namespace) {
         String formattedFilename = Paths.get(filename).normalize().toString();
-        boolean needsNewline = writers.containsKey(formattedFilename);
-
-        GoWriter writer = writers.computeIfAbsent(formattedFilename, f -> new GoWriter(namespace));
+        GoWriter writer = getWriter(formattedFilename);
+        modifiedWriters.add(formattedFilename);
 
-        if (needsNewline) {
+        if (writer == null) {
+            writer = new GoWriter(namespace);
+            writers.put(formattedFilename, writer);
+        } else {
             writer.write("\n");
         }
 
@@ -15,6 +15,7 @@
 
 package software.amazon.smithy.go.codegen;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
 import software.amazon.smithy.codegen.core.CodegenException;
@@ -52,6 +53,15 @@ final class ImportDeclarations {
         return this;
     }
 
+    /**
+     * Gets the declared imports.
+     *
+     * @return Returns the imported package paths keyed by their import alias.
+     */
+    Map<String, String> getImports() {
+        return Collections.unmodifiableMap(imports);
+    }
+
     @Override
     public String toString() {
         if (imports.isEmpty()) {
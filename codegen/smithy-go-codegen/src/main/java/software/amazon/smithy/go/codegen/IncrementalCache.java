@@ -0,0 +1,261 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import software.amazon.smithy.codegen.core.CodegenException;
+import software.amazon.smithy.go.codegen.integration.GoIntegration;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.UnionShape;
+import software.amazon.smithy.model.traits.ErrorTrait;
+import software.amazon.smithy.model.traits.Trait;
+
+/**
+ * On-disk cache of generated code, keyed by the hash of everything the code was generated from.
+ *
+ * <p>A cache key combines the hash of a unit of generation's shape closure with a context hash
+ * covering the codegen settings, the integrations and their versions, and the parts of the
+ * model that affect how every shape is generated, such as the names reserved by unions and
+ * errors and the operations that use each shape as input or output. Each cache entry holds the
+ * writers the unit wrote to, captured with {@link GoWriterDelegator#writersToNode()}.
+ */
+final class IncrementalCache {
+
+    private static final Logger LOGGER = Logger.getLogger(IncrementalCache.class.getName());
+
+    // Bump when the format of cache entries or the hashed inputs change.
+    private static final String FORMAT_VERSION = "1";
+
+    private final Path directory;
+    private final String contextHash;
+    private final Map<ShapeId, String> shapeHashes = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private IncrementalCache(Path directory, String contextHash) {
+        this.directory = directory;
+        this.contextHash = contextHash;
+    }
+
+    /**
+     * Creates a cache for generating a service.
+     *
+     * @param directory    Directory the cache entries are stored in.
+     * @param config       The raw codegen settings.
+     * @param integrations The integrations used to generate the service.
+     * @param model        The fully processed model.
+     * @param service      The service being generated.
+     * @return Returns the created cache.
+     */
+    static IncrementalCache create(
+            Path directory,
+            ObjectNode config,
+            Collection<GoIntegration> integrations,
+            Model model,
+            ServiceShape service
+    ) {
+        Hasher hasher = new Hasher();
+        hasher.add(FORMAT_VERSION);
+        hasher.add(getCodeVersion(GoCodegenPlugin.class));
+
+        // Settings that only affect how codegen runs don't affect its output.
+        hasher.add(Node.printJson(config
+                .withoutMember("codegenThreads")
+                .withoutMember("incrementalCacheDir")
+                .withoutMember("streamWriters")
+                .withDeepSortedKeys()));
+
+        for (GoIntegration integration : integrations) {
+            hasher.add(integration.getClass().getName());
+            hasher.add(getCodeVersion(integration.getClass()));
+        }
+
+        hasher.add(service.getId().toString());
+        service.getAllTraits().values().forEach(trait -> addTrait(hasher, trait));
+
+        // Union member and error member names are reserved across the whole model by the symbol provider.
+        for (Shape shape : new TreeSet<>(model.getShapesWithTrait(ErrorTrait.class))) {
+            hasher.add(shape.getId().toString());
+            hasher.add(shape.getMemberNames().toString());
+        }
+        for (UnionShape shape : new TreeSet<>(model.getUnionShapes())) {
+            hasher.add(shape.getId().toString());
+            hasher.add(shape.getMemberNames().toString());
+        }
+
+        // How a shape is used by operations affects the generated code of the shape.
+        for (OperationShape operation : new TreeSet<>(model.getOperationShapes())) {
+            hasher.add(operation.getId().toString());
+            hasher.add(operation.getInputShape().toString());
+            hasher.add(operation.getOutputShape().toString());
+            hasher.add(operation.getErrors().toString());
+        }
+
+        return new IncrementalCache(directory, hasher.hash());
+    }
+
+    /**
+     * Computes the cache key of a unit of generation.
+     *
+     * @param unit    Name of the unit of generation, unique within the service.
+     * @param closure Every shape the unit is generated from.
+     * @return Returns the cache key.
+     */
+    String key(String unit, Collection<? extends Shape> closure) {
+        Map<ShapeId, String> hashes = new TreeMap<>();
+        for (Shape shape : closure) {
+            hashes.put(shape.getId(), shapeHashes.computeIfAbsent(shape.getId(), id -> hashShape(shape)));
+        }
+
+        Hasher hasher = new Hasher();
+        hasher.add(contextHash);
+        hasher.add(unit);
+        hashes.values().forEach(hasher::add);
+        return hasher.hash();
+    }
+
+    /**
+     * Loads the writers cached for a key.
+     *
+     * @param key Key to load the writers of.
+     * @return Returns the cached writers, or an empty optional if the key is not cached.
+     */
+    Optional<ObjectNode> load(String key) {
+        Path entry = getEntryPath(key);
+        if (Files.exists(entry)) {
+            try {
+                ObjectNode writers = Node.parse(Files.readString(entry, StandardCharsets.UTF_8)).expectObjectNode();
+                hits.incrementAndGet();
+                return Optional.of(writers);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warning("Ignoring unreadable incremental cache entry " + entry + ": " + e.getMessage());
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Stores the writers generated for a key.
+     *
+     * @param key     Key to store the writers under.
+     * @param writers Writers captured with {@link GoWriterDelegator#writersToNode()}.
+     */
+    void store(String key, ObjectNode writers) {
+        Path entry = getEntryPath(key);
+        try {
+            Files.createDirectories(entry.getParent());
+            // Write to a temporary file first so concurrent readers never see a partial entry.
+            Path temp = Files.createTempFile(entry.getParent(), key, ".tmp");
+            Files.writeString(temp, Node.printJson(writers), StandardCharsets.UTF_8);
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new CodegenException("Failed to write incremental cache entry " + entry, e);
+        }
+    }
+
+    int getHits() {
+        return hits.get();
+    }
+
+    int getMisses() {
+        return misses.get();
+    }
+
+    private Path getEntryPath(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+    private static String hashShape(Shape shape) {
+        Hasher hasher = new Hasher();
+        hasher.add(shape.getId().toString());
+        hasher.add(shape.getType().toString());
+        hasher.add(shape.getMemberNames().toString());
+        shape.asMemberShape().ifPresent(member -> hasher.add(member.getTarget().toString()));
+        for (Trait trait : new TreeMap<>(shape.getAllTraits()).values()) {
+            addTrait(hasher, trait);
+        }
+        return hasher.hash();
+    }
+
+    private static void addTrait(Hasher hasher, Trait trait) {
+        hasher.add(trait.toShapeId().toString());
+        Node value = trait.toNode();
+        hasher.add(Node.printJson(value.isObjectNode() ? value.expectObjectNode().withDeepSortedKeys() : value));
+    }
+
+    private static String getCodeVersion(Class<?> type) {
+        String version = type.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+
+        // Development builds don't carry a version, so fall back to when their code last changed.
+        CodeSource source = type.getProtectionDomain().getCodeSource();
+        if (source != null) {
+            try {
+                return Files.getLastModifiedTime(Path.of(source.getLocation().toURI())).toString();
+            } catch (Exception e) {
+                LOGGER.fine(() -> "Unable to resolve code version of " + type.getName() + ": " + e.getMessage());
+            }
+        }
+        return "unknown";
+    }
+
+    private static final class Hasher {
+        private final MessageDigest digest;
+
+        Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new CodegenException(e);
+            }
+        }
+
+        void add(String value) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            // Separate values so that adjacent values can't be combined into the same input.
+            digest.update((byte) 0);
+        }
+
+        String hash() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+}
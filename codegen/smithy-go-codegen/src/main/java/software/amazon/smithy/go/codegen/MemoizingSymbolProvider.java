@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Thread-safe symbol provider that memoizes the symbols and member names resolved by another provider.
+ *
+ * <p>Symbols are resolved once per shape id, so a provider must only be used with a single model. This
+ * holds for the provider used by {@link CodegenVisitor}, which decorates the fully processed model's
+ * symbol provider after every integration has decorated it.
+ */
+final class MemoizingSymbolProvider implements SymbolProvider {
+
+    private final SymbolProvider delegate;
+    private final Map<ShapeId, Symbol> symbols = new ConcurrentHashMap<>();
+    private final Map<ShapeId, String> memberNames = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    MemoizingSymbolProvider(SymbolProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Symbol toSymbol(Shape shape) {
+        Symbol symbol = symbols.get(shape.getId());
+        if (symbol != null) {
+            hits.increment();
+            return symbol;
+        }
+        misses.increment();
+        // Resolving outside of the map keeps providers that resolve other shapes from updating the map reentrantly.
+        symbol = delegate.toSymbol(shape);
+        Symbol existing = symbols.putIfAbsent(shape.getId(), symbol);
+        return existing == null ? symbol : existing;
+    }
+
+    @Override
+    public String toMemberName(MemberShape shape) {
+        String memberName = memberNames.get(shape.getId());
+        if (memberName != null) {
+            hits.increment();
+            return memberName;
+        }
+        misses.increment();
+        memberName = delegate.toMemberName(shape);
+        String existing = memberNames.putIfAbsent(shape.getId(), memberName);
+        return existing == null ? memberName : existing;
+    }
+
+    /**
+     * Gets the number of symbols and member names that were resolved from memory.
+     *
+     * @return Returns the number of hits.
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of symbols and member names that were resolved by the decorated provider.
+     *
+     * @return Returns the number of misses.
+     */
+    long getMisses() {
+        return misses.sum();
+    }
+}
@@ -85,6 +85,14 @@ final class ServiceGenerator implements Runnable {
         writer.openBlock("type $T struct {", "}", serviceSymbol, () -> {
             writer.write("options $L", CONFIG_NAME);
 
+            if (settings.getCacheOperationStacks()) {
+                writer.addUseImports(SmithyGoDependency.SMITHY_MIDDLEWARE);
+                writer.write("");
+                writer.writeDocs("Handlers built from the middleware stacks of operations invoked without "
+                        + "per-call options, keyed by operation name.");
+                writer.write("handlers *middleware.HandlerCache");
+            }
+
             // Add client members resolved from runtime plugins to the client struct.
             for (ClientMember clientMember : getAllClientMembers()) {
                 writer.write("");
@@ -159,6 +167,9 @@ final class ServiceGenerator implements Runnable {
 
                     writer.openBlock("client := &$T{", "}", serviceSymbol, () -> {
                         writer.write("options: options,");
+                        if (settings.getCacheOperationStacks()) {
+                            writer.write("handlers: middleware.NewHandlerCache(),");
+                        }
                     }).write("");
 
                     // Run any config finalization functions registered by runtime plugins.
@@ -312,39 +323,25 @@ final class ServiceGenerator implements Runnable {
             // Ensure operation stack invocations start with clean set of stack values.
             writer.write("ctx = middleware.ClearStackValues(ctx)");
 
-            generateConstructStack();
-            writer.write("options := c.options.Copy()");
-
-            List<RuntimeClientPlugin> plugins = runtimePlugins.stream().filter(plugin ->
-                    plugin.matchesService(model, service))
-                    .collect(Collectors.toList());
-
-            for (RuntimeClientPlugin plugin : plugins) {
-                writeConfigFieldResolvers(writer, plugin, resolver ->
-                        resolver.getLocation() == ConfigFieldResolver.Location.OPERATION
-                                && resolver.getTarget() == ConfigFieldResolver.Target.INITIALIZATION);
-            }
-
-            writer.write("for _, fn := range optFns { fn(&options) }");
-            writer.write("");
-
-            for (RuntimeClientPlugin plugin : plugins) {
-                writeConfigFieldResolvers(writer, plugin, resolver ->
-                        resolver.getLocation() == ConfigFieldResolver.Location.OPERATION
-                                && resolver.getTarget() == ConfigFieldResolver.Target.FINALIZATION);
+            if (settings.getCacheOperationStacks()) {
+                // Operation invocations without per-call options always build the same stack from the
+                // client's options, so it is only built once. Per-call options, or stack functions beyond
+                // the operation's own, such as presigning ones, may change the stack in any way.
+                writer.write("var handler middleware.Handler");
+                writer.openBlock("if len(optFns) == 0 && len(stackFns) == 1 {", "} else {", () -> {
+                    writer.openBlock("handler, err = c.handlers.GetOrBuild(opID, "
+                            + "func() (middleware.Handler, error) {", "})", () -> {
+                        writer.write("return c.buildOperationHandler(opID, optFns, stackFns)");
+                    });
+                });
+                writer.indent().write("handler, err = c.buildOperationHandler(opID, optFns, stackFns)").dedent();
+                writer.write("}");
+                writer.write("if err != nil { return nil, metadata, err }");
+                writer.write("");
+            } else {
+                generateBuildOperationHandler("return nil, metadata, err");
             }
 
-            writer.openBlock("for _, fn := range stackFns {", "}", () -> {
-                writer.write("if err := fn(stack, options); err != nil { return nil, metadata, err }");
-            });
-            writer.write("");
-
-            writer.openBlock("for _, fn := range options.APIOptions {", "}", () -> {
-                writer.write("if err := fn(stack); err != nil { return nil, metadata, err }");
-            });
-            writer.write("");
-
-            generateConstructStackHandler();
             writer.write("result, metadata, err = handler.Handle(ctx, params)");
             writer.openBlock("if err != nil {", "}", () -> {
                 writer.openBlock("err = &smithy.OperationError{", "}", () -> {
@@ -355,6 +352,65 @@ final class ServiceGenerator implements Runnable {
             });
             writer.write("return result, metadata, err");
         });
+
+        if (settings.getCacheOperationStacks()) {
+            writer.write("");
+            writer.openBlock("func (c *Client) buildOperationHandler("
+                    + "opID string, "
+                    + "optFns []func(*Options), "
+                    + "stackFns []func(*middleware.Stack, Options) error"
+                    + ") "
+                    + "(middleware.Handler, error) {", "}", () -> {
+                generateBuildOperationHandler("return nil, err");
+                writer.write("return handler, nil");
+            });
+        }
+    }
+
+    private void generateBuildOperationHandler(String errorReturn) {
+        generateConstructStack();
+
+        // Per-call options are arbitrary functions that may modify the options in place, so they get a
+        // deep copy of the client's options. Otherwise only the runtime plugins' resolvers see the options,
+        // and the client's API options are shared with their capacity capped, so that appending to them
+        // copies them instead of writing to the client's slice.
+        writer.write("options := c.options");
+        writer.openBlock("if len(optFns) == 0 {", "} else {", () -> {
+            writer.write("options.APIOptions = options.APIOptions[:len(options.APIOptions):len(options.APIOptions)]");
+        });
+        writer.indent().write("options = c.options.Copy()").dedent();
+        writer.write("}");
+
+        List<RuntimeClientPlugin> plugins = runtimePlugins.stream().filter(plugin ->
+                plugin.matchesService(model, service))
+                .collect(Collectors.toList());
+
+        for (RuntimeClientPlugin plugin : plugins) {
+            writeConfigFieldResolvers(writer, plugin, resolver ->
+                    resolver.getLocation() == ConfigFieldResolver.Location.OPERATION
+                            && resolver.getTarget() == ConfigFieldResolver.Target.INITIALIZATION);
+        }
+
+        writer.write("for _, fn := range optFns { fn(&options) }");
+        writer.write("");
+
+        for (RuntimeClientPlugin plugin : plugins) {
+            writeConfigFieldResolvers(writer, plugin, resolver ->
+                    resolver.getLocation() == ConfigFieldResolver.Location.OPERATION
+                            && resolver.getTarget() == ConfigFieldResolver.Target.FINALIZATION);
+        }
+
+        writer.openBlock("for _, fn := range stackFns {", "}", () -> {
+            writer.write("if err := fn(stack, options); err != nil { $L }", errorReturn);
+        });
+        writer.write("");
+
+        writer.openBlock("for _, fn := range options.APIOptions {", "}", () -> {
+            writer.write("if err := fn(stack); err != nil { $L }", errorReturn);
+        });
+        writer.write("");
+
+        generateConstructStackHandler();
     }
 
     private void generateConstructStack() {
@@ -376,7 +432,25 @@ final class ServiceGenerator implements Runnable {
         Symbol newClientHandler = SymbolUtils.createValueSymbolBuilder(
                 "NewClientHandler", SmithyGoDependency.SMITHY_HTTP_TRANSPORT).build();
 
-        writer.write("handler := $T($T(options.HTTPClient), stack)", decorateHandler, newClientHandler);
+        if (!settings.getComposeOperationStacks()) {
+            writer.write("handler := $T($T(options.HTTPClient), stack)", decorateHandler, newClientHandler);
+            return;
+        }
+
+        // Stacks that API options have modified are still invoked dynamically, so that the middleware
+        // they add behave exactly as before.
+        Symbol composeStack = SymbolUtils.createValueSymbolBuilder(
+                "ComposeStack", SmithyGoDependency.SMITHY_MIDDLEWARE).build();
+        Symbol handlerSymbol = SymbolUtils.createValueSymbolBuilder(
+                "Handler", SmithyGoDependency.SMITHY_MIDDLEWARE).build();
+        writer.write("var handler $T", handlerSymbol);
+        writer.openBlock("if len(options.APIOptions) == 0 {", "} else {", () -> {
+            writer.write("handler = $T(stack, $T(options.HTTPClient))", composeStack, newClientHandler);
+        });
+        writer.indent();
+        writer.write("handler = $T($T(options.HTTPClient), stack)", decorateHandler, newClientHandler);
+        writer.dedent();
+        writer.write("}");
     }
 
     private void ensureSupportedProtocol() {
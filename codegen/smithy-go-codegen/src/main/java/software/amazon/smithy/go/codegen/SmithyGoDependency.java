@@ -42,6 +42,7 @@ public final class SmithyGoDependency {
     public static final GoDependency ERRORS = stdlib("errors");
     public static final GoDependency XML = stdlib("encoding/xml");
     public static final GoDependency SYNC = stdlib("sync");
+    public static final GoDependency SYNC_ATOMIC = stdlib("sync/atomic");
     public static final GoDependency PATH = stdlib("path");
     public static final GoDependency LOG = stdlib("log");
 
@@ -66,6 +67,8 @@ public final class SmithyGoDependency {
     public static final GoDependency SMITHY_AUTH_BEARER = smithy("auth/bearer");
     public static final GoDependency SMITHY_ENDPOINTS = smithy("endpoints", "smithyendpoints");
     public static final GoDependency SMITHY_ENDPOINT_RULESFN = smithy("endpoints/private/rulesfn");
+    public static final GoDependency SMITHY_PRIVATE_CACHE = smithy("container/private/cache");
+    public static final GoDependency SMITHY_PRIVATE_CACHE_CLOCK = smithy("container/private/cache/clock");
 
     public static final GoDependency GO_CMP = goCmp("cmp");
     public static final GoDependency GO_CMP_OPTIONS = goCmp("cmp/cmpopts");
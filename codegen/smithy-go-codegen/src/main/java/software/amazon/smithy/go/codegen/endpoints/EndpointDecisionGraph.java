@@ -0,0 +1,428 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.smithy.go.codegen.endpoints;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.rulesengine.language.Endpoint;
+import software.amazon.smithy.rulesengine.language.syntax.expr.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.language.visit.RuleValueVisitor;
+
+/**
+ * Compiles the rules of an endpoint rule set into a decision graph for the resolver generator.
+ *
+ * <p>Each rule becomes a chain of branches, one per condition, that ends in the rule's endpoint or error, and
+ * tree rules nest their own rules under their branches. The graph is then simplified:
+ * <ul>
+ *     <li>consecutive sibling branches on the same condition are merged, so that a condition shared by
+ *     neighbouring rules is evaluated once instead of once per rule;</li>
+ *     <li>a node identical to an earlier sibling is dropped, since conditions have no side effects and the
+ *     earlier node would have matched already;</li>
+ *     <li>nodes following an unconditional endpoint or error are dropped, since they can never be reached.</li>
+ * </ul>
+ */
+final class EndpointDecisionGraph {
+    private static final ObjectNode FALLBACK_KEY = Node.objectNode().withMember("type", "fallback");
+
+    private EndpointDecisionGraph() {
+    }
+
+    /**
+     * Builds the decision graph of a list of rules.
+     *
+     * @param rules the rules, in evaluation order
+     * @return the nodes to evaluate in order
+     */
+    static List<DecisionNode> build(List<Rule> rules) {
+        return optimize(fromRules(rules));
+    }
+
+    /**
+     * Specializes a decision graph for fixed values of boolean parameters.
+     *
+     * <p>Conditions that only depend on the fixed parameters are folded: branches on conditions that hold become
+     * blocks, so that the bindings of their children stay scoped, and branches on conditions that don't hold are
+     * dropped along with their children.
+     *
+     * @param nodes  the nodes of the graph to specialize
+     * @param values the values of the boolean parameters, by parameter name
+     * @return the nodes of the specialized graph
+     */
+    static List<DecisionNode> specialize(List<DecisionNode> nodes, Map<String, Boolean> values) {
+        List<DecisionNode> result = new ArrayList<>();
+        for (DecisionNode node : nodes) {
+            if (node instanceof Branch) {
+                Branch branch = (Branch) node;
+                List<DecisionNode> children = specialize(branch.children, values);
+                Optional<Boolean> folded = branch.condition.getResult().isPresent()
+                        ? Optional.empty()
+                        : fold(branch.key, values);
+                if (folded.isEmpty()) {
+                    result.add(new Branch(branch.condition, children, branch.getDocumentation()));
+                } else if (folded.get()) {
+                    result.add(new Block(children, branch.getDocumentation()));
+                }
+            } else if (node instanceof Block) {
+                result.add(new Block(specialize(((Block) node).children, values), node.getDocumentation()));
+            } else {
+                result.add(node);
+            }
+        }
+        return optimize(result);
+    }
+
+    private static Optional<Boolean> fold(Node expression, Map<String, Boolean> values) {
+        if (expression.isBooleanNode()) {
+            return Optional.of(expression.expectBooleanNode().getValue());
+        }
+        if (!expression.isObjectNode()) {
+            return Optional.empty();
+        }
+
+        ObjectNode object = expression.expectObjectNode();
+        Optional<String> ref = object.getStringMember("ref").map(StringNode::getValue);
+        if (ref.isPresent()) {
+            return Optional.ofNullable(values.get(ref.get()));
+        }
+
+        String fn = object.getStringMemberOrDefault("fn", "");
+        List<Node> argv = object.getArrayMember("argv").map(ArrayNode::getElements).orElse(List.of());
+        if (fn.equals("isSet") && argv.size() == 1) {
+            // Specialized parameters always have a value.
+            return argv.get(0).asObjectNode()
+                    .flatMap(arg -> arg.getStringMember("ref"))
+                    .filter(arg -> values.containsKey(arg.getValue()))
+                    .map(arg -> true);
+        }
+        if (fn.equals("not") && argv.size() == 1) {
+            return fold(argv.get(0), values).map(value -> !value);
+        }
+        if (fn.equals("booleanEquals") && argv.size() == 2) {
+            Optional<Boolean> left = fold(argv.get(0), values);
+            Optional<Boolean> right = fold(argv.get(1), values);
+            if (left.isPresent() && right.isPresent()) {
+                return Optional.of(left.get().equals(right.get()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<DecisionNode> fromRules(List<Rule> rules) {
+        List<DecisionNode> nodes = new ArrayList<>();
+        for (Rule rule : rules) {
+            nodes.addAll(fromRule(rule));
+        }
+
+        // Trees are terminal, so a list whose last rule may not be selected must end with a fallback error.
+        if (!rules.isEmpty() && needsFallback(rules.get(rules.size() - 1))) {
+            nodes.add(new Leaf(null, Optional.empty()));
+        }
+        return nodes;
+    }
+
+    private static List<DecisionNode> fromRule(Rule rule) {
+        List<DecisionNode> nodes = rule.accept(new RuleValueVisitor<List<DecisionNode>>() {
+            @Override
+            public List<DecisionNode> visitTreeRule(List<Rule> rules) {
+                return fromRules(rules);
+            }
+
+            @Override
+            public List<DecisionNode> visitErrorRule(Expression errorExpr) {
+                return List.of(new Leaf(rule, Optional.empty()));
+            }
+
+            @Override
+            public List<DecisionNode> visitEndpointRule(Endpoint endpoint) {
+                return List.of(new Leaf(rule, Optional.empty()));
+            }
+        });
+
+        List<Condition> conditions = rule.getConditions();
+        for (int i = conditions.size() - 1; i >= 0; i--) {
+            nodes = List.of(new Branch(conditions.get(i), nodes, Optional.empty()));
+        }
+
+        if (rule.getDocumentation().isPresent() && !nodes.isEmpty()) {
+            List<DecisionNode> documented = new ArrayList<>(nodes);
+            documented.set(0, nodes.get(0).withDocumentation(rule.getDocumentation()));
+            nodes = documented;
+        }
+        return nodes;
+    }
+
+    private static boolean needsFallback(Rule rule) {
+        // Assignment statements are conflated with conditions in the rules language, and while most assignments
+        // check that their result is not nil, some never fail. Remove those from consideration.
+        return rule.getConditions().stream().anyMatch(condition -> {
+            // You can't assert into a FunctionDefinition from an Expression - we have to inspect the fn
+            // member of the node directly.
+            String fn = condition.toNode().expectObjectNode().expectStringMember("fn").getValue();
+            // the only static assignment condition, as of this writing...
+            return !fn.equals("uriEncode");
+        });
+    }
+
+    private static List<DecisionNode> optimize(List<DecisionNode> nodes) {
+        List<DecisionNode> merged = new ArrayList<>();
+        for (DecisionNode node : nodes) {
+            int last = merged.size() - 1;
+            if (last >= 0 && merged.get(last) instanceof Branch && node instanceof Branch
+                    && ((Branch) merged.get(last)).key.equals(((Branch) node).key)) {
+                merged.set(last, ((Branch) merged.get(last)).merge((Branch) node));
+            } else {
+                merged.add(node);
+            }
+        }
+
+        List<DecisionNode> result = new ArrayList<>();
+        Set<DecisionNode> seen = new HashSet<>();
+        for (DecisionNode node : merged) {
+            if (node instanceof Branch) {
+                Branch branch = (Branch) node;
+                node = new Branch(branch.condition, optimize(branch.children), branch.getDocumentation());
+            } else if (node instanceof Block) {
+                node = new Block(optimize(((Block) node).children), node.getDocumentation());
+            }
+            // Conditions have no side effects, so a node with nothing to select can be left out entirely.
+            if (node.isEmpty() || !seen.add(node)) {
+                continue;
+            }
+            result.add(node);
+            if (node.isTerminal()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A node of the decision graph. Nodes are equal when they select the same endpoint or error under the same
+     * conditions, regardless of their documentation.
+     */
+    abstract static class DecisionNode {
+        private final Optional<String> documentation;
+
+        DecisionNode(Optional<String> documentation) {
+            this.documentation = documentation;
+        }
+
+        Optional<String> getDocumentation() {
+            return documentation;
+        }
+
+        abstract DecisionNode withDocumentation(Optional<String> documentation);
+
+        /**
+         * Gets whether evaluating the node always selects an endpoint or error.
+         *
+         * @return whether the node is terminal
+         */
+        abstract boolean isTerminal();
+
+        /**
+         * Gets whether the node has nothing to select.
+         *
+         * @return whether the node is empty
+         */
+        abstract boolean isEmpty();
+    }
+
+    /**
+     * A condition, and the nodes to evaluate in order when it holds.
+     */
+    static final class Branch extends DecisionNode {
+        private final Condition condition;
+        private final Node key;
+        private final List<DecisionNode> children;
+
+        Branch(Condition condition, List<DecisionNode> children, Optional<String> documentation) {
+            super(documentation);
+            this.condition = condition;
+            this.key = condition.toNode();
+            this.children = children;
+        }
+
+        Condition getCondition() {
+            return condition;
+        }
+
+        List<DecisionNode> getChildren() {
+            return children;
+        }
+
+        @Override
+        DecisionNode withDocumentation(Optional<String> documentation) {
+            return new Branch(condition, children, documentation);
+        }
+
+        @Override
+        boolean isTerminal() {
+            return false;
+        }
+
+        @Override
+        boolean isEmpty() {
+            return children.isEmpty();
+        }
+
+        private Branch merge(Branch other) {
+            List<DecisionNode> mergedChildren = new ArrayList<>(children);
+            List<DecisionNode> otherChildren = other.children;
+            if (other.getDocumentation().isPresent() && !otherChildren.isEmpty()
+                    && otherChildren.get(0).getDocumentation().isEmpty()) {
+                mergedChildren.add(otherChildren.get(0).withDocumentation(other.getDocumentation()));
+                mergedChildren.addAll(otherChildren.subList(1, otherChildren.size()));
+            } else {
+                mergedChildren.addAll(otherChildren);
+            }
+            return new Branch(condition, mergedChildren, getDocumentation());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Branch)) {
+                return false;
+            }
+            Branch branch = (Branch) o;
+            return key.equals(branch.key) && children.equals(branch.children);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, children);
+        }
+    }
+
+    /**
+     * Nodes to evaluate in order in their own scope, left behind by a branch whose condition always holds.
+     */
+    static final class Block extends DecisionNode {
+        private final List<DecisionNode> children;
+
+        Block(List<DecisionNode> children, Optional<String> documentation) {
+            super(documentation);
+            this.children = children;
+        }
+
+        List<DecisionNode> getChildren() {
+            return children;
+        }
+
+        @Override
+        DecisionNode withDocumentation(Optional<String> documentation) {
+            return new Block(children, documentation);
+        }
+
+        @Override
+        boolean isTerminal() {
+            return !children.isEmpty() && children.get(children.size() - 1).isTerminal();
+        }
+
+        @Override
+        boolean isEmpty() {
+            return children.isEmpty();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Block)) {
+                return false;
+            }
+            return children.equals(((Block) o).children);
+        }
+
+        @Override
+        public int hashCode() {
+            return children.hashCode();
+        }
+    }
+
+    /**
+     * An endpoint or error rule whose conditions have all been evaluated, or the fallback error returned when no
+     * rule of a tree matched.
+     */
+    static final class Leaf extends DecisionNode {
+        private final Rule rule;
+        private final Node key;
+
+        Leaf(Rule rule, Optional<String> documentation) {
+            super(documentation);
+            this.rule = rule;
+            this.key = rule == null
+                    ? FALLBACK_KEY
+                    : rule.toNode().expectObjectNode().withoutMember("conditions").withoutMember("documentation");
+        }
+
+        /**
+         * Gets the rule to select, or an empty optional for the fallback error.
+         *
+         * @return the rule
+         */
+        Optional<Rule> getRule() {
+            return Optional.ofNullable(rule);
+        }
+
+        @Override
+        DecisionNode withDocumentation(Optional<String> documentation) {
+            return new Leaf(rule, documentation);
+        }
+
+        @Override
+        boolean isTerminal() {
+            return true;
+        }
+
+        @Override
+        boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Leaf)) {
+                return false;
+            }
+            return key.equals(((Leaf) o).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+    }
+}
@@ -17,13 +17,16 @@
 package software.amazon.smithy.go.codegen.endpoints;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import software.amazon.smithy.codegen.core.Symbol;
 import software.amazon.smithy.go.codegen.SmithyGoDependency;
 import software.amazon.smithy.go.codegen.SymbolUtils;
 import software.amazon.smithy.go.codegen.integration.ProtocolGenerator;
 import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.traits.ClientContextParamsTrait;
 import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
 import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
 import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
@@ -71,6 +74,12 @@ public class EndpointResolutionGenerator {
                 .parametersType(parametersType)
                 .build();
 
+        Optional<EndpointRuleSet> ruleset = serviceShape.getTrait(EndpointRuleSetTrait.class)
+                                                    .map(
+                                                        (trait)
+                                                        -> EndpointRuleSet.fromNode(trait.getRuleSet())
+                                                    );
+
         var resolverGenerator = EndpointResolverGenerator.builder()
                 .parametersType(parametersType)
                 .resolverInterfaceType(resolverInterfaceType)
@@ -79,19 +88,14 @@ public class EndpointResolutionGenerator {
                 .endpointType(endpointType)
                 .resolveEndpointMethodName(RESOLVER_ENDPOINT_METHOD_NAME)
                 .fnProvider(this.fnProvider)
+                .cacheSize(context.getSettings().getEndpointResolverCacheSize())
+                .clientConstantParameters(getClientConstantParameters(context, ruleset))
                 .build();
 
         var middlewareGenerator = EndpointMiddlewareGenerator.builder()
                 .integrations(context.getIntegrations())
                 .build();
 
-        Optional<EndpointRuleSet> ruleset = serviceShape.getTrait(EndpointRuleSetTrait.class)
-                                                    .map(
-                                                        (trait)
-                                                        -> EndpointRuleSet.fromNode(trait.getRuleSet())
-                                                    );
-
-
         context.getWriter()
                 .map(
                     (writer)
@@ -111,6 +115,22 @@ public class EndpointResolutionGenerator {
             context.getDelegator());
     }
 
+    private static Set<String> getClientConstantParameters(
+            ProtocolGenerator.GenerationContext context,
+            Optional<EndpointRuleSet> ruleset
+    ) {
+        Set<String> parameters = new HashSet<>();
+        if (!context.getSettings().getSpecializeEndpointResolver()) {
+            return parameters;
+        }
+        ruleset.ifPresent(rules -> rules.getParameters().toList().stream()
+                .filter(p -> p.getBuiltIn().isPresent())
+                .forEach(p -> parameters.add(p.getName().asString())));
+        context.getService().getTrait(ClientContextParamsTrait.class)
+                .ifPresent(trait -> parameters.addAll(trait.getParameters().keySet()));
+        return parameters;
+    }
+
     public void generateTests(ProtocolGenerator.GenerationContext context) {
 
         var serviceShape = context.getService();
@@ -26,9 +26,12 @@ import static software.amazon.smithy.go.codegen.endpoints.EndpointParametersGene
 import static software.amazon.smithy.go.codegen.endpoints.FnGenerator.isFnResultOptional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.logging.Logger;
 import software.amazon.smithy.codegen.core.Symbol;
@@ -36,6 +39,8 @@ import software.amazon.smithy.go.codegen.GoWriter;
 import software.amazon.smithy.go.codegen.SmithyGoDependency;
 import software.amazon.smithy.go.codegen.SymbolUtils;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.rulesengine.language.Endpoint;
 import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
 import software.amazon.smithy.rulesengine.language.eval.Type;
@@ -46,6 +51,7 @@ import software.amazon.smithy.rulesengine.language.syntax.expr.Reference;
 import software.amazon.smithy.rulesengine.language.syntax.fn.FunctionDefinition;
 import software.amazon.smithy.rulesengine.language.syntax.fn.IsSet;
 import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.ParameterType;
 import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameters;
 import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
 import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
@@ -59,11 +65,23 @@ public final class EndpointResolverGenerator {
     private static final String REALIZED_URL_VARIABLE_NAME = "uri";
     private static final String ERROR_MESSAGE_ENDOFTREE =
         "Endpoint resolution failed. Invalid operation or environment input.";
+    private static final String CACHE_KEY_TYPE_NAME = "endpointParametersCacheKey";
+    private static final String NEW_CACHE_KEY_FUNC_NAME = "newEndpointParametersCacheKey";
+    private static final String RESOLVE_VARIANT_METHOD_PREFIX = "resolveEndpointVariant";
+    private static final String STATIC_ENDPOINT_TYPE_NAME = "staticEndpoint";
+    private static final String STATIC_ENDPOINT_VAR_PREFIX = "staticEndpoint";
+    private static final String NEW_STATIC_ENDPOINT_FUNC_NAME = "newStaticEndpoint";
+    private static final String CLONE_ENDPOINT_FUNC_NAME = "cloneCachedEndpoint";
+    private static final int MAX_SPECIALIZED_PARAMETERS = 3;
     private static final Logger LOGGER = Logger.getLogger(EndpointResolverGenerator.class.getName());
 
     private final Map<String, Object> commonCodegenArgs;
     private final FnProvider fnProvider;
+    private final int cacheSize;
+    private final Set<String> clientConstantParameters;
 
+    private final Map<Node, String> staticEndpointNames = new HashMap<>();
+    private final List<Endpoint> staticEndpoints = new ArrayList<>();
     private int conditionIdentCounter = 0;
 
     private EndpointResolverGenerator(Builder builder) {
@@ -77,6 +95,8 @@ public final class EndpointResolverGenerator {
                 builder.resolveEndpointMethodName);
 
         this.fnProvider = SmithyBuilder.requiredState("fnProvider", builder.fnProvider);
+        this.cacheSize = builder.cacheSize;
+        this.clientConstantParameters = builder.clientConstantParameters;
         this.commonCodegenArgs = MapUtils.of(
                 "paramArgName", PARAMS_ARG_NAME,
                 "parametersType", parametersType,
@@ -89,12 +109,30 @@ public final class EndpointResolverGenerator {
     }
 
     public GoWriter.Writable generate(Optional<EndpointRuleSet> ruleset) {
-        if (ruleset.isPresent()) {
-            return generateResolverType(generateResolveMethodBody(ruleset.get()));
-        } else {
+        if (ruleset.isEmpty()) {
             LOGGER.warning("service does not have modeled endpoint rules");
             return generateEmptyRules();
         }
+
+        collectStaticEndpoints(ruleset.get().getRules());
+
+        GoWriter.Writable resolverType;
+        if (cacheSize > 0) {
+            // The cached resolver sets the parameter defaults before computing the cache key.
+            resolverType = generateCachedResolverType(
+                    generateResolveMethodBody(ruleset.get(), false), ruleset.get().getParameters());
+        } else {
+            resolverType = generateResolverType(generateResolveMethodBody(ruleset.get(), true));
+        }
+
+        List<GoWriter.Writable> writables = new ArrayList<>();
+        writables.add(resolverType);
+        List<Parameter> specialized = getSpecializedParameters(ruleset.get().getParameters());
+        if (!specialized.isEmpty()) {
+            writables.add(generateResolveVariantMethods(ruleset.get(), specialized));
+        }
+        writables.add(generateStaticEndpoints());
+        return joinWritables(writables, "\n");
     }
 
     public GoWriter.Writable generateEmptyRules() {
@@ -135,6 +173,135 @@ public final class EndpointResolverGenerator {
                         "resolveMethodBody", resolveMethodBody));
     }
 
+    private GoWriter.Writable generateCachedResolverType(
+            GoWriter.Writable resolveMethodBody,
+            Parameters parameters
+    ) {
+        return goTemplate("""
+                // $resolverInterfaceType:T provides the interface for resolving service endpoints.
+                type $resolverInterfaceType:T interface {
+                    $resolveEndpointMethodDocs:W
+                    $resolveEndpointMethodName:L(ctx $context:T, $paramArgName:L $parametersType:T) (
+                        $endpointType:T, error,
+                    )
+                }
+
+                $resolverTypeDocs:W
+                //
+                // Resolved endpoints are cached by their endpoint parameters. The headers
+                // and properties of endpoints are copied into and out of the cache, so
+                // callers may modify the endpoints they are returned.
+                type $resolverImplementationType:T struct {
+                    cacheHits   uint64
+                    cacheMisses uint64
+                    cache       $cacheType:T
+                }
+
+                func $newResolverFn:T() $resolverInterfaceType:T {
+                    return &$resolverImplementationType:T{
+                        cache: $newCache:T($cacheSize:L),
+                    }
+                }
+
+                $resolveEndpointMethodDocs:W
+                func (r *$resolverImplementationType:T) $resolveEndpointMethodName:L(
+                    ctx $context:T, $paramArgName:L $parametersType:T,
+                ) (
+                    endpoint $endpointType:T, err error,
+                ) {
+                    $paramArgName:L = $paramArgName:L.$withDefaults:L()
+                    key := $newCacheKey:L($paramArgName:L)
+                    if v, ok := r.cache.Get(key); ok {
+                        $atomicAdd:T(&r.cacheHits, 1)
+                        return $cloneEndpoint:L(v.($endpointType:T)), nil
+                    }
+                    $atomicAdd:T(&r.cacheMisses, 1)
+
+                    endpoint, err = r.resolveEndpoint(ctx, $paramArgName:L)
+                    if err != nil {
+                        return endpoint, err
+                    }
+                    r.cache.Put(key, $cloneEndpoint:L(endpoint))
+                    return endpoint, nil
+                }
+
+                // CacheStats returns the number of endpoint resolutions served from the
+                // cache, and the number that evaluated the endpoint rules.
+                func (r *$resolverImplementationType:T) CacheStats() (hits, misses uint64) {
+                    return $atomicLoad:T(&r.cacheHits), $atomicLoad:T(&r.cacheMisses)
+                }
+
+                // resolveEndpoint evaluates the endpoint rules for the parameters, which
+                // must have their defaults set.
+                func (r *$resolverImplementationType:T) resolveEndpoint(
+                    ctx $context:T, $paramArgName:L $parametersType:T,
+                ) (
+                    endpoint $endpointType:T, err error,
+                ) {
+                    $resolveMethodBody:W
+                }
+
+                // $cloneEndpoint:L returns a copy of the endpoint with its own headers and
+                // properties.
+                func $cloneEndpoint:L(endpoint $endpointType:T) $endpointType:T {
+                    endpoint.Headers = endpoint.Headers.Clone()
+                    var properties $propertiesType:T
+                    properties.SetAll(&endpoint.Properties)
+                    endpoint.Properties = properties
+                    return endpoint
+                }
+
+                $cacheKey:W
+                """,
+                commonCodegenArgs,
+                MapUtils.of(
+                        "context", SymbolUtils.createValueSymbolBuilder("Context", SmithyGoDependency.CONTEXT).build(),
+                        "resolverTypeDocs", generateResolverTypeDocs(),
+                        "resolveEndpointMethodDocs", generateResolveEndpointMethodDocs(),
+                        "resolveMethodBody", resolveMethodBody,
+                        "withDefaults", EndpointParametersGenerator.DEFAULT_VALUE_FUNC_NAME,
+                        "newCacheKey", NEW_CACHE_KEY_FUNC_NAME,
+                        "cloneEndpoint", CLONE_ENDPOINT_FUNC_NAME,
+                        "cacheKey", generateCacheKey(parameters),
+                        "cacheSize", cacheSize),
+                MapUtils.of(
+                        "cacheType", SymbolUtils.createValueSymbolBuilder("Cache",
+                                SmithyGoDependency.SMITHY_PRIVATE_CACHE).build(),
+                        "newCache", SymbolUtils.createValueSymbolBuilder("New",
+                                SmithyGoDependency.SMITHY_PRIVATE_CACHE_CLOCK).build(),
+                        "atomicAdd", SymbolUtils.createValueSymbolBuilder("AddUint64",
+                                SmithyGoDependency.SYNC_ATOMIC).build(),
+                        "atomicLoad", SymbolUtils.createValueSymbolBuilder("LoadUint64",
+                                SmithyGoDependency.SYNC_ATOMIC).build(),
+                        "propertiesType", SymbolUtils.createValueSymbolBuilder("Properties",
+                                SmithyGoDependency.SMITHY).build()));
+    }
+
+    private GoWriter.Writable generateCacheKey(Parameters parameters) {
+        return (GoWriter w) -> {
+            // Parameters are pointers, so the key holds each value along with whether it was set.
+            w.openBlock("type $L struct {", "}", CACHE_KEY_TYPE_NAME, () -> {
+                parameters.toList().forEach(p -> {
+                    w.write("$L $T", getExportedParameterName(p),
+                            EndpointParametersGenerator.parameterAsSymbol(p));
+                    w.write("$LIsSet bool", getExportedParameterName(p));
+                });
+            });
+            w.write("");
+            w.openBlock("func $L(p $T) (k $L) {", "}", NEW_CACHE_KEY_FUNC_NAME,
+                    commonCodegenArgs.get("parametersType"), CACHE_KEY_TYPE_NAME, () -> {
+                parameters.toList().forEach(p -> {
+                    String name = getExportedParameterName(p);
+                    w.openBlock("if p.$L != nil {", "}", name, () -> {
+                        w.write("k.$L = *p.$L", name, name);
+                        w.write("k.$LIsSet = true", name);
+                    });
+                });
+                w.write("return k");
+            });
+        };
+    }
+
     private static String getLocalVarParameterName(Parameter p) {
         return "_" + p.getName().toString();
     }
@@ -143,7 +310,51 @@ public final class EndpointResolverGenerator {
         return PARAMS_ARG_NAME + "." + getExportedParameterName(p);
     }
 
-    private GoWriter.Writable generateResolveMethodBody(EndpointRuleSet ruleset) {
+    /**
+     * Gets the client-constant boolean parameters to specialize the resolver on. They must be required, so that
+     * they always have a value once the parameters are validated.
+     */
+    private List<Parameter> getSpecializedParameters(Parameters parameters) {
+        List<Parameter> specialized = new ArrayList<>();
+        for (Parameter p : parameters.toList()) {
+            if (specialized.size() < MAX_SPECIALIZED_PARAMETERS
+                    && clientConstantParameters.contains(p.getName().asString())
+                    && p.getType() == ParameterType.BOOLEAN
+                    && p.isRequired()) {
+                specialized.add(p);
+            }
+        }
+        return specialized;
+    }
+
+    private GoWriter.Writable generateResolveMethodBody(EndpointRuleSet ruleset, boolean setParamsDefaults) {
+        ruleset.typecheck();
+
+        List<Parameter> specialized = getSpecializedParameters(ruleset.getParameters());
+        GoWriter.Writable resolution;
+        if (specialized.isEmpty()) {
+            resolution = generateRules(ruleset, EndpointDecisionGraph.build(ruleset.getRules()), specialized);
+        } else {
+            resolution = generateResolveVariantDispatch(specialized);
+        }
+
+        return goTemplate("""
+                    $paramsWithDefaults:W
+                    $validateParams:W
+                    $resolution:W
+                """,
+                commonCodegenArgs,
+                MapUtils.of(
+                        "validateParams", generateValidateParams(ruleset.getParameters()),
+                        "paramsWithDefaults", setParamsDefaults ? generateParamsWithDefaults() : emptyGoTemplate(),
+                        "resolution", resolution));
+    }
+
+    private GoWriter.Writable generateRules(
+            EndpointRuleSet ruleset,
+            List<EndpointDecisionGraph.DecisionNode> nodes,
+            List<Parameter> specialized
+    ) {
         var scope = Scope.empty();
         for (Parameter p : ruleset.getParameters().toList()) {
             // Required parameters can be dereferenced directly so that read access are
@@ -158,25 +369,86 @@ public final class EndpointResolverGenerator {
             scope = scope.withIdent(p.toExpression(), identName);
         }
 
-        ruleset.typecheck();
         return goTemplate("""
-                    $paramsWithDefaults:W
-                    $validateParams:W
                     $paramVars:W
 
                     $rules:W
                 """,
                 commonCodegenArgs,
                 MapUtils.of(
-                        "logPrintln", SymbolUtils.createValueSymbolBuilder("Println", SmithyGoDependency.LOG).build(),
-                        "validateParams", generateValidateParams(ruleset.getParameters()),
-                        "paramsWithDefaults", generateParamsWithDefaults(),
                         "paramVars", (GoWriter.Writable) (GoWriter w) -> {
                             ruleset.getParameters().toList().stream().filter(Parameter::isRequired).forEach((p) -> {
                                 w.write("$L := *$L", getLocalVarParameterName(p), getMemberParameterName(p));
+                                // Specializing may fold away or drop every rule that reads a parameter.
+                                if (!specialized.isEmpty()) {
+                                    w.write("_ = $L", getLocalVarParameterName(p));
+                                }
                             });
                         },
-                        "rules", generateRulesList(ruleset.getRules(), scope)));
+                        "rules", generateDecisionNodes(nodes, scope)));
+    }
+
+    private GoWriter.Writable generateResolveVariantDispatch(List<Parameter> specialized) {
+        return (GoWriter w) -> {
+            w.write("variant := 0");
+            for (int i = 0; i < specialized.size(); i++) {
+                int bit = 1 << i;
+                w.openBlock("if *$L {", "}", getMemberParameterName(specialized.get(i)), () -> {
+                    w.write("variant |= $L", bit);
+                });
+            }
+            // Every combination of the specialized parameters has a variant, so the last one is the default
+            // case and the switch always returns.
+            int lastVariant = (1 << specialized.size()) - 1;
+            w.openBlock("switch variant {", "}", () -> {
+                for (int variant = 0; variant <= lastVariant; variant++) {
+                    if (variant == lastVariant) {
+                        w.write("default:");
+                    } else {
+                        w.write("case $L:", variant);
+                    }
+                    w.indent();
+                    w.write("return r.$L$L(ctx, $L)", RESOLVE_VARIANT_METHOD_PREFIX, variant, PARAMS_ARG_NAME);
+                    w.dedent();
+                }
+            });
+        };
+    }
+
+    private GoWriter.Writable generateResolveVariantMethods(EndpointRuleSet ruleset, List<Parameter> specialized) {
+        List<EndpointDecisionGraph.DecisionNode> graph = EndpointDecisionGraph.build(ruleset.getRules());
+        List<GoWriter.Writable> methods = new ArrayList<>();
+        for (int variant = 0; variant < 1 << specialized.size(); variant++) {
+            Map<String, Boolean> values = new LinkedHashMap<>();
+            List<String> description = new ArrayList<>();
+            for (int i = 0; i < specialized.size(); i++) {
+                String name = specialized.get(i).getName().asString();
+                boolean value = (variant & (1 << i)) != 0;
+                values.put(name, value);
+                description.add(name + "=" + value);
+            }
+
+            methods.add(goTemplate("""
+                    // $methodName:L resolves the endpoint with the rules specialized for
+                    // $description:L.
+                    func (r *$resolverImplementationType:T) $methodName:L(
+                        ctx $context:T, $paramArgName:L $parametersType:T,
+                    ) (
+                        endpoint $endpointType:T, err error,
+                    ) {
+                        $rules:W
+                    }
+                    """,
+                    commonCodegenArgs,
+                    MapUtils.of(
+                            "context", SymbolUtils.createValueSymbolBuilder("Context",
+                                    SmithyGoDependency.CONTEXT).build(),
+                            "methodName", RESOLVE_VARIANT_METHOD_PREFIX + variant,
+                            "description", String.join(", ", description),
+                            "rules", generateRules(ruleset, EndpointDecisionGraph.specialize(graph, values),
+                                    specialized))));
+        }
+        return joinWritables(methods, "\n");
     }
 
     private GoWriter.Writable generateParamsWithDefaults() {
@@ -217,50 +489,36 @@ public final class EndpointResolverGenerator {
 
     }
 
-    private GoWriter.Writable generateRulesList(List<Rule> rules, Scope scope) {
+    private GoWriter.Writable generateDecisionNodes(List<EndpointDecisionGraph.DecisionNode> nodes, Scope scope) {
         return (w) -> {
-            rules.forEach(rule -> {
-                rule.getDocumentation().ifPresent(w::writeDocs);
-                w.write("$W", generateRule(rule, rule.getConditions(), scope));
+            nodes.forEach(node -> {
+                node.getDocumentation().ifPresent(w::writeDocs);
+                w.write("$W", generateDecisionNode(node, scope));
             });
-
-            if (!rules.isEmpty()) {
-                Rule lastRule = rules.get(rules.size() - 1);
-                // Trees are terminal, so we must ensure there's a final fallback condition at the end of each one.
-                // Generally we know we need to insert one when the final rule in a tree is not "static" i.e. it has
-                // conditions that might mean it is not selected. Since it may not be chosen (its set of conditions may
-                // evaluate to false) we MUST put a fallback error return after which we know will get executed.
-                //
-                // However, assignment statements are conflated with conditions in the rules language, and while certain
-                // assignments DO have a condition associated with them (basically, checking that the result of the
-                // assignment is not nil), some do not. Therefore, remove "static" condition/assignments from
-                // consideration.
-                boolean needsFallback = !lastRule.getConditions().stream().filter(
-                        condition -> {
-                            // You can't assert into a FunctionDefinition from an Expression - we have to inspect the fn
-                            // member of the node directly.
-                            String fn = condition.toNode().expectObjectNode().expectStringMember("fn").getValue();
-                            // the only static assignment condition, as of this writing...
-                            return !fn.equals("uriEncode");
-                        }
-                ).toList().isEmpty();
-                if (needsFallback) {
-                    w.writeGoTemplate(
-                            "return endpoint, $fmtErrorf:T(\"" + ERROR_MESSAGE_ENDOFTREE + "\")",
-                            commonCodegenArgs
-                    );
-                }
-            }
         };
     }
 
-    private GoWriter.Writable generateRule(Rule rule, List<Condition> conditions, Scope scope) {
-        if (conditions.isEmpty()) {
-            return rule.accept(new RuleVisitor(scope, this.fnProvider));
+    private GoWriter.Writable generateDecisionNode(EndpointDecisionGraph.DecisionNode node, Scope scope) {
+        if (node instanceof EndpointDecisionGraph.Leaf) {
+            return ((EndpointDecisionGraph.Leaf) node).getRule()
+                    .map(rule -> rule.accept(new RuleVisitor(scope, this.fnProvider)))
+                    .orElseGet(() -> goTemplate(
+                            "return endpoint, $fmtErrorf:T(\"" + ERROR_MESSAGE_ENDOFTREE + "\")",
+                            commonCodegenArgs));
+        }
+
+        if (node instanceof EndpointDecisionGraph.Block) {
+            return goTemplate("""
+                    {
+                        $next:W
+                    }
+                    """,
+                    MapUtils.of(
+                            "next", generateDecisionNodes(((EndpointDecisionGraph.Block) node).getChildren(), scope)));
         }
 
-        var condition = conditions.get(0);
-        var remainingConditions = conditions.subList(1, conditions.size());
+        var branch = (EndpointDecisionGraph.Branch) node;
+        var condition = branch.getCondition();
 
         var generator = new ExpressionGenerator(scope, this.fnProvider);
         var fn = conditionalFunc(condition);
@@ -288,9 +546,8 @@ public final class EndpointResolverGenerator {
                     MapUtils.of(
                             "conditionIdent", conditionIdentifier,
                             "target", generator.generate(fn),
-                            "next", generateRule(
-                                    rule,
-                                    remainingConditions,
+                            "next", generateDecisionNodes(
+                                    branch.getChildren(),
                                     scope.withMember(fn, conditionIdentifier))));
         }
 
@@ -303,9 +560,8 @@ public final class EndpointResolverGenerator {
                     MapUtils.of(
                             "conditionIdent", conditionIdentifier,
                             "target", generator.generate(fn),
-                            "next", generateRule(
-                                    rule,
-                                    remainingConditions,
+                            "next", generateDecisionNodes(
+                                    branch.getChildren(),
                                     scope.withMember(fn, conditionIdentifier))));
         }
 
@@ -316,7 +572,7 @@ public final class EndpointResolverGenerator {
                 """,
                 MapUtils.of(
                         "target", generator.generate(fn),
-                        "next", generateRule(rule, remainingConditions, scope)));
+                        "next", generateDecisionNodes(branch.getChildren(), scope)));
     }
 
     private static Expression conditionalFunc(Condition condition) {
@@ -345,17 +601,120 @@ public final class EndpointResolverGenerator {
         return "_" + ref.getName();
     }
 
-    private GoWriter.Writable generateEndpoint(Endpoint endpoint, Scope scope) {
+    /**
+     * Gets whether an endpoint has no templates or references, so that its URI can be parsed once and shared.
+     */
+    private static boolean isStaticEndpoint(Endpoint endpoint) {
+        return isStaticNode(endpoint.toNode());
+    }
+
+    private static boolean isStaticNode(Node node) {
+        if (node.isStringNode()) {
+            return !node.expectStringNode().getValue().contains("{");
+        }
+        if (node.isArrayNode()) {
+            return node.expectArrayNode().getElements().stream().allMatch(EndpointResolverGenerator::isStaticNode);
+        }
+        if (node.isObjectNode()) {
+            ObjectNode object = node.expectObjectNode();
+            return !object.containsMember("ref") && !object.containsMember("fn")
+                    && object.getMembers().values().stream().allMatch(EndpointResolverGenerator::isStaticNode);
+        }
+        return true;
+    }
+
+    /**
+     * Collects the static endpoints of a ruleset before any of it is written, so that their names don't depend on
+     * the order the rules are written in.
+     */
+    private void collectStaticEndpoints(List<Rule> rules) {
+        staticEndpointNames.clear();
+        staticEndpoints.clear();
+        RuleValueVisitor<Void> visitor = new RuleValueVisitor<>() {
+            @Override
+            public Void visitTreeRule(List<Rule> children) {
+                children.forEach(child -> child.accept(this));
+                return null;
+            }
+
+            @Override
+            public Void visitErrorRule(Expression errorExpr) {
+                return null;
+            }
+
+            @Override
+            public Void visitEndpointRule(Endpoint endpoint) {
+                if (isStaticEndpoint(endpoint)) {
+                    staticEndpointNames.computeIfAbsent(endpoint.toNode(), node -> {
+                        staticEndpoints.add(endpoint);
+                        return STATIC_ENDPOINT_VAR_PREFIX + (staticEndpoints.size() - 1);
+                    });
+                }
+                return null;
+            }
+        };
+        rules.forEach(rule -> rule.accept(visitor));
+    }
+
+    private String getStaticEndpointName(Endpoint endpoint) {
+        String name = staticEndpointNames.get(endpoint.toNode());
+        if (name == null) {
+            throw new IllegalStateException("static endpoint was not collected: " + endpoint);
+        }
+        return name;
+    }
+
+    private GoWriter.Writable generateStaticEndpoints() {
+        return (GoWriter w) -> {
+            if (staticEndpoints.isEmpty()) {
+                return;
+            }
+            // Only the parsed URI is shared, it is copied by value into every endpoint. Headers and properties
+            // are maps, so each resolution builds its own.
+            w.writeGoTemplate("""
+                    // $staticEndpointType:L is the URI of an endpoint selected by a rule without templates. It is
+                    // parsed once and copied into every endpoint resolved from it.
+                    type $staticEndpointType:L struct {
+                        uri $urlType:T
+                        err error
+                    }
+
+                    func $newStaticEndpoint:L(uri string) $staticEndpointType:L {
+                        parsed, err := $urlParse:T(uri)
+                        if err != nil {
+                            return $staticEndpointType:L{err: $fmtErrorf:T("Failed to parse uri: %s", uri)}
+                        }
+                        return $staticEndpointType:L{uri: *parsed}
+                    }
+                    """,
+                    commonCodegenArgs,
+                    MapUtils.of(
+                            "staticEndpointType", STATIC_ENDPOINT_TYPE_NAME,
+                            "newStaticEndpoint", NEW_STATIC_ENDPOINT_FUNC_NAME,
+                            "urlType", SymbolUtils.createValueSymbolBuilder("URL",
+                                    SmithyGoDependency.NET_URL).build(),
+                            "urlParse", SymbolUtils.createValueSymbolBuilder("Parse",
+                                    SmithyGoDependency.NET_URL).build()));
+            for (int i = 0; i < staticEndpoints.size(); i++) {
+                Endpoint endpoint = staticEndpoints.get(i);
+                w.write("");
+                w.write("var $L = $L($S)", STATIC_ENDPOINT_VAR_PREFIX + i, NEW_STATIC_ENDPOINT_FUNC_NAME,
+                        endpoint.toNode().expectObjectNode().expectStringMember("url").getValue());
+            }
+        };
+    }
+
+    private GoWriter.Writable generateEndpoint(Endpoint endpoint, Scope scope, String uri) {
         return goTemplate("""
                 $endpointType:T{
-                    URI: *$uriVariableName:L,
+                    URI: $uri:L,
                     $headers:W
                     $properties:W
                 }
                 """,
                 commonCodegenArgs,
                 MapUtils.of(
-                        "uriVariableName", REALIZED_URL_VARIABLE_NAME,
+                        "uri", uri,
                         "headers", generateEndpointHeaders(endpoint.getHeaders(), scope),
                         "properties", generateEndpointProperties(endpoint.getProperties(), scope)));
     }
@@ -384,7 +743,8 @@ public final class EndpointResolverGenerator {
         });
 
         return goBlockTemplate("$memberName:L: func() $headerType:T {", "}(),", args, (w) -> {
-            w.writeGoTemplate("headers := $newHeaders:T", args);
+            w.writeGoTemplate("headers := make($headerType:T, $size:L)", args,
+                    MapUtils.of("size", writableHeaders.size()));
             writableHeaders.forEach((k, vs) -> {
                 w.write("headers.Set($W)", generateNewHeaderValue(k, vs));
             });
@@ -449,7 +809,7 @@ public final class EndpointResolverGenerator {
 
         @Override
         public GoWriter.Writable visitTreeRule(List<Rule> rules) {
-            return generateRulesList(rules, scope);
+            return generateDecisionNodes(EndpointDecisionGraph.build(rules), scope);
         }
 
         @Override
@@ -464,6 +824,19 @@ public final class EndpointResolverGenerator {
 
         @Override
         public GoWriter.Writable visitEndpointRule(Endpoint endpoint) {
+            if (isStaticEndpoint(endpoint)) {
+                String name = getStaticEndpointName(endpoint);
+                return goTemplate("""
+                        if $name:L.err != nil {
+                            return endpoint, $name:L.err
+                        }
+                        return $endpoint:W, nil
+                        """,
+                        MapUtils.of(
+                                "name", name,
+                                "endpoint", generateEndpoint(endpoint, Scope.empty(), name + ".uri")));
+            }
+
             return goTemplate("""
                     uriString := $url:W
 
@@ -479,7 +852,7 @@ public final class EndpointResolverGenerator {
                             // look into strings.Join
                             "uriVariableName", REALIZED_URL_VARIABLE_NAME,
                             "url", new ExpressionGenerator(scope, this.fnProvider).generate(endpoint.getUrl()),
-                            "endpoint", generateEndpoint(endpoint, scope)));
+                            "endpoint", generateEndpoint(endpoint, scope, "*" + REALIZED_URL_VARIABLE_NAME)));
         }
 
     }
@@ -518,6 +891,8 @@ public final class EndpointResolverGenerator {
         private Symbol endpointType;
         private String resolveEndpointMethodName;
         private FnProvider fnProvider;
+        private int cacheSize;
+        private Set<String> clientConstantParameters = Set.of();
 
         private Builder() {
         }
@@ -557,6 +932,29 @@ public final class EndpointResolverGenerator {
             return this;
         }
 
+        /**
+         * Sets the number of resolved endpoints the generated resolver caches, or 0 to not cache them.
+         *
+         * @param cacheSize the cache size
+         * @return the builder
+         */
+        public Builder cacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the names of the parameters fixed for the life of a client, such as built-ins. The generated
+         * resolver is specialized on the required boolean ones among them.
+         *
+         * @param clientConstantParameters the parameter names, or an empty set to not specialize the resolver
+         * @return the builder
+         */
+        public Builder clientConstantParameters(Set<String> clientConstantParameters) {
+            this.clientConstantParameters = clientConstantParameters;
+            return this;
+        }
+
         @Override
         public EndpointResolverGenerator build() {
             return new EndpointResolverGenerator(this);
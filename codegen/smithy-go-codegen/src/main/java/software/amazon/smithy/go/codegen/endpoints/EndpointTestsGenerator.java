@@ -93,9 +93,67 @@ public final class EndpointTestsGenerator {
                             "testBody", generateTestCase(parameters, testCase))));
         }
 
+        if (!testCases.isEmpty()) {
+            writables.add(generateBenchmark(parameters, testCases));
+        }
+
         return joinWritables(writables, "\n\n");
     }
 
+    /**
+     * Generates a benchmark that replays the parameters of every test case through the resolver, one at a time
+     * and all together, so that resolver changes can be compared by their cost.
+     */
+    private GoWriter.Writable generateBenchmark(List<Parameter> parameters, List<EndpointTestCase> testCases) {
+        List<GoWriter.Writable> cases = new ArrayList<>();
+        for (int i = 0; i < testCases.size(); i++) {
+            var testCase = testCases.get(i);
+            cases.add(goTemplate("""
+                    // case $caseIdx:L
+                    {
+                        $parameterValues:W
+                    },""",
+                    MapUtils.of(
+                            "caseIdx", i,
+                            "parameterValues", generateParameterValues(parameters, testCase))));
+        }
+
+        return goTemplate("""
+                func BenchmarkEndpointResolution(b *$testingB:T) {
+                    cases := []$parametersType:T{
+                        $cases:W
+                    }
+
+                    ctx := $contextBG:T()
+                    for i, params := range cases {
+                        params := params
+                        b.Run($sprintf:T("Case%d", i), func(b *$testingB:T) {
+                            resolver := $newResolverFn:T()
+                            b.ReportAllocs()
+                            for n := 0; n < b.N; n++ {
+                                resolver.$resolveEndpointMethodName:L(ctx, params)
+                            }
+                        })
+                    }
+
+                    b.Run("AllCases", func(b *$testingB:T) {
+                        resolver := $newResolverFn:T()
+                        b.ReportAllocs()
+                        for n := 0; n < b.N; n++ {
+                            resolver.$resolveEndpointMethodName:L(ctx, cases[n%len(cases)])
+                        }
+                    })
+                }
+                """,
+                commonCodegenArgs,
+                MapUtils.of(
+                        "testingB", SymbolUtils.createValueSymbolBuilder("B", SmithyGoDependency.TESTING).build(),
+                        "contextBG",
+                        SymbolUtils.createValueSymbolBuilder("Background", SmithyGoDependency.CONTEXT).build(),
+                        "sprintf", SymbolUtils.createValueSymbolBuilder("Sprintf", SmithyGoDependency.FMT).build(),
+                        "cases", joinWritables(cases, "\n")));
+    }
+
     private GoWriter.Writable generateTestCaseDocs(EndpointTestCase testCase) {
         if (testCase.getDocumentation().isPresent()) {
             return goDocTemplate(testCase.getDocumentation().get());
@@ -131,8 +131,9 @@ final class ExpressionGenerator {
 
         @Override
         public GoWriter.Writable visitString(Template value) {
-            Stream<GoWriter.Writable> parts = value.accept(
-                    new TemplateGeneratorVisitor((expr) -> new ExpressionGenerator(scope, fnProvider).generate(expr)));
+            int sizeHint = value.accept(new TemplateSizeVisitor()).mapToInt(Integer::intValue).sum();
+            Stream<GoWriter.Writable> parts = value.accept(new TemplateGeneratorVisitor(
+                    (expr) -> new ExpressionGenerator(scope, fnProvider).generate(expr), sizeHint));
 
             return (GoWriter w) -> {
                 parts.forEach((p) -> w.write("$W", p));
@@ -165,7 +166,9 @@ final class ExpressionGenerator {
     }
 
     private record TemplateGeneratorVisitor(
-            Function<Expression, GoWriter.Writable> generator) implements TemplateVisitor<GoWriter.Writable> {
+            Function<Expression, GoWriter.Writable> generator,
+            int sizeHint
+    ) implements TemplateVisitor<GoWriter.Writable> {
 
         @Override
         public GoWriter.Writable visitStaticTemplate(String s) {
@@ -196,10 +199,12 @@ final class ExpressionGenerator {
             return goTemplate("""
                     func() string {
                         var out $stringsBuilder:T
+                        out.Grow($sizeHint:L)
                     """,
                     MapUtils.of(
                             "stringsBuilder", SymbolUtils.createValueSymbolBuilder("Builder",
-                                    SmithyGoDependency.STRINGS).build()));
+                                    SmithyGoDependency.STRINGS).build(),
+                            "sizeHint", sizeHint));
         }
 
         @Override
@@ -211,6 +216,44 @@ final class ExpressionGenerator {
         }
     }
 
+    /**
+     * Estimates the length of the string a template builds, so that its builder can be sized up front.
+     */
+    private static final class TemplateSizeVisitor implements TemplateVisitor<Integer> {
+        // Dynamic elements are mostly region names and DNS suffixes.
+        private static final int DYNAMIC_ELEMENT_SIZE_HINT = 16;
+
+        @Override
+        public Integer visitStaticTemplate(String s) {
+            return s.length();
+        }
+
+        @Override
+        public Integer visitSingleDynamicTemplate(Expression expr) {
+            return DYNAMIC_ELEMENT_SIZE_HINT;
+        }
+
+        @Override
+        public Integer visitStaticElement(String s) {
+            return s.length();
+        }
+
+        @Override
+        public Integer visitDynamicElement(Expression expr) {
+            return DYNAMIC_ELEMENT_SIZE_HINT;
+        }
+
+        @Override
+        public Integer startMultipartTemplate() {
+            return 0;
+        }
+
+        @Override
+        public Integer finishMultipartTemplate() {
+            return 0;
+        }
+    }
+
     private static String getBuiltinMemberName(Identifier ident) {
         return StringUtils.capitalize(ident.getName().toString());
     }
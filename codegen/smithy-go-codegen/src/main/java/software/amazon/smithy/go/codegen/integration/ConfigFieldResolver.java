@@ -104,6 +104,10 @@ public final class ConfigFieldResolver {
         CLIENT,
         /**
          * Indicates that the resolver is executed during operation invocation.
+         *
+         * <p>The resolver gets its own copy of the client's options, but when the operation is invoked
+         * without per-call options the slices of that copy are shared with the client. Resolvers may
+         * replace or append to those slices, but must not modify their elements in place.
          */
         OPERATION
     }
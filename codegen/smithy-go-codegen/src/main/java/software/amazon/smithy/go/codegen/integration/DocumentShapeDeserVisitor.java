@@ -424,14 +424,7 @@ public abstract class DocumentShapeDeserVisitor extends ShapeVisitor.Default<Voi
         GoWriter writer = context.getWriter().get();
 
         Symbol symbol = symbolProvider.toSymbol(shape);
-
-        final String functionName;
-        if (this.deserializerNameProvider != null) {
-            functionName = deserializerNameProvider.getName(shape, context.getService(), context.getProtocolName());
-        } else {
-            functionName = ProtocolGenerator.getDocumentDeserializerFunctionName(
-                    shape, context.getService(), context.getProtocolName());
-        }
+        String functionName = getDeserializerFunctionName(shape);
 
         String additionalArguments = getAdditionalArguments().entrySet().stream()
                 .map(entry -> String.format(", %s %s", entry.getKey(), entry.getValue()))
@@ -446,6 +439,20 @@ public abstract class DocumentShapeDeserVisitor extends ShapeVisitor.Default<Voi
         }).write("");
     }
 
+    /**
+     * Gets the name of the function generated to deserialize a shape.
+     *
+     * @param shape The shape to get the deserializer function name of.
+     * @return The name of the deserializer function.
+     */
+    protected final String getDeserializerFunctionName(Shape shape) {
+        if (this.deserializerNameProvider != null) {
+            return deserializerNameProvider.getName(shape, context.getService(), context.getProtocolName());
+        }
+        return ProtocolGenerator.getDocumentDeserializerFunctionName(
+                shape, context.getService(), context.getProtocolName());
+    }
+
     /**
      * Gets any additional arguments needed for every deserializer function.
      *
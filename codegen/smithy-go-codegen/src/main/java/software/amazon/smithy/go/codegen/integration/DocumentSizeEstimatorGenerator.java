@@ -0,0 +1,247 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.integration;
+
+import java.util.Collection;
+import java.util.Set;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator.GenerationContext;
+import software.amazon.smithy.go.codegen.knowledge.GoPointableIndex;
+import software.amazon.smithy.model.shapes.CollectionShape;
+import software.amazon.smithy.model.shapes.MapShape;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+/**
+ * Generates functions that estimate the number of bytes shapes take up when encoded in a JSON-like document, so
+ * that serializers can encode request documents into buffers of about the right size instead of growing them.
+ * <p>
+ * Structure keys are counted from the member names, strings and blobs from their lengths, and other scalars are
+ * counted as a constant. Estimates don't need to be exact, they only need to be close enough that the buffer rarely
+ * grows while encoding. For example, a structure estimator looks like:
+ *
+ * <pre>{@code
+ * func myProtocol_estimateDocumentFieldSize(v *types.Field) int {
+ *     if v == nil {
+ *         return 0
+ *     }
+ *     size := 2
+ *     if v.Name != nil {
+ *         size += 8 + len(*v.Name) + 2
+ *     }
+ *     if v.Tags != nil {
+ *         size += 8 + myProtocol_estimateDocumentTagListSize(v.Tags)
+ *     }
+ *     size += 9 + 5
+ *     return size
+ * }
+ * }</pre>
+ */
+public final class DocumentSizeEstimatorGenerator {
+    private static final int BOOLEAN_SIZE = 5;
+    private static final int NUMBER_SIZE = 24;
+    private static final int TIMESTAMP_SIZE = 32;
+    private static final int UNKNOWN_SIZE = 64;
+
+    private final GenerationContext context;
+
+    public DocumentSizeEstimatorGenerator(GenerationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Generates the size estimators of the structures, collections and maps of a set of document shapes.
+     * Estimates of other shapes are written inline.
+     *
+     * @param shapes The shapes to generate size estimators for.
+     */
+    public void generateDocumentSizeEstimators(Set<Shape> shapes) {
+        for (Shape shape : shapes) {
+            switch (shape.getType()) {
+                case STRUCTURE:
+                    StructureShape structure = (StructureShape) shape;
+                    generateStructureSizeEstimator(structure, structure.getAllMembers().values());
+                    break;
+                case LIST:
+                case SET:
+                    generateCollectionSizeEstimator((CollectionShape) shape);
+                    break;
+                case MAP:
+                    generateMapSizeEstimator((MapShape) shape);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Generates the size estimator of a structure, counting only the given members. Used for operation inputs,
+     * where only some of the members are bound to the document.
+     *
+     * @param shape   The structure to generate the size estimator for.
+     * @param members The members of the structure encoded in the document.
+     */
+    public void generateStructureSizeEstimator(StructureShape shape, Collection<MemberShape> members) {
+        GoWriter writer = context.getWriter().get();
+        writeEstimatorFunction(shape, () -> {
+            writer.openBlock("if v == nil {", "}", () -> writer.write("return 0"));
+            writer.write("size := 2");
+            for (MemberShape member : members) {
+                String operand = "v." + context.getSymbolProvider().toMemberName(member);
+                // quotes, colon and separator
+                int keySize = member.getMemberName().length() + 4;
+                writeValueEstimate(member, operand, Integer.toString(keySize));
+            }
+            writer.write("return size");
+        });
+    }
+
+    private void generateCollectionSizeEstimator(CollectionShape shape) {
+        GoWriter writer = context.getWriter().get();
+        MemberShape member = shape.getMember();
+        writeEstimatorFunction(shape, () -> {
+            writer.write("size := 2");
+            String constant = getConstantEstimate(member);
+            if (constant != null) {
+                writer.write("size += len(v) * (1 + $L)", constant);
+            } else if (isEstimatedByAddress(member)) {
+                writer.openBlock("for i := range v {", "}", () -> writeValueEstimate(member, "&v[i]", "1"));
+            } else {
+                writer.openBlock("for _, e := range v {", "}", () -> writeValueEstimate(member, "e", "1"));
+            }
+            writer.write("return size");
+        });
+    }
+
+    private void generateMapSizeEstimator(MapShape shape) {
+        GoWriter writer = context.getWriter().get();
+        MemberShape value = shape.getValue();
+        writeEstimatorFunction(shape, () -> {
+            writer.write("size := 2");
+            String constant = getConstantEstimate(value);
+            if (constant != null) {
+                writer.openBlock("for k := range v {", "}", () -> {
+                    writer.write("size += len(k) + 4 + $L", constant);
+                });
+            } else if (isEstimatedByAddress(value)) {
+                writer.openBlock("for k := range v {", "}", () -> {
+                    writer.write("value := v[k]");
+                    writeValueEstimate(value, "&value", "len(k) + 4");
+                });
+            } else {
+                writer.openBlock("for k, e := range v {", "}", () -> writeValueEstimate(value, "e", "len(k) + 4"));
+            }
+            writer.write("return size");
+        });
+    }
+
+    /**
+     * Gets whether the values of a member are passed to their estimator by address, because the estimator takes a
+     * pointer to the target while the member's values, such as the structures of a list, aren't pointers.
+     */
+    private boolean isEstimatedByAddress(MemberShape member) {
+        GoPointableIndex pointableIndex = GoPointableIndex.of(context.getModel());
+        Shape target = context.getModel().expectShape(member.getTarget());
+        return !pointableIndex.isPointable(member) && pointableIndex.isPointable(target);
+    }
+
+    private void writeEstimatorFunction(Shape shape, Runnable body) {
+        GoWriter writer = context.getWriter().get();
+        Symbol symbol = context.getSymbolProvider().toSymbol(shape);
+        String functionName = ProtocolGenerator.getDocumentSizeEstimatorFunctionName(
+                shape, context.getService(), context.getProtocolName());
+        writer.openBlock("func $L(v $P) int {", "}", functionName, symbol, body);
+        writer.write("");
+    }
+
+    /**
+     * Writes the code adding the estimate of a member's value and its overhead in the enclosing document to
+     * {@code size}, skipping nil values.
+     */
+    private void writeValueEstimate(MemberShape member, String operand, String overhead) {
+        GoWriter writer = context.getWriter().get();
+        String estimate = getValueEstimate(member, operand);
+        if (GoPointableIndex.of(context.getModel()).isNillable(member)) {
+            writer.openBlock("if $L != nil {", "}", operand, () -> {
+                writer.write("size += $L + $L", overhead, estimate);
+            });
+        } else {
+            writer.write("size += $L + $L", overhead, estimate);
+        }
+    }
+
+    private String getValueEstimate(MemberShape member, String operand) {
+        Shape target = context.getModel().expectShape(member.getTarget());
+        String value = GoPointableIndex.of(context.getModel()).isPointable(member) ? "*" + operand : operand;
+        switch (target.getType()) {
+            case STRUCTURE:
+            case LIST:
+            case SET:
+            case MAP:
+                return ProtocolGenerator.getDocumentSizeEstimatorFunctionName(
+                        target, context.getService(), context.getProtocolName()) + "(" + operand + ")";
+            case STRING:
+            case ENUM:
+                return "len(" + value + ") + 2";
+            case BLOB:
+                // base64 with quotes
+                return "(len(" + operand + ")+2)/3*4 + 2";
+            default:
+                return getConstantEstimate(target);
+        }
+    }
+
+    /**
+     * Gets the estimate of values of a member that doesn't depend on the value, or null if it does.
+     */
+    private String getConstantEstimate(MemberShape member) {
+        if (GoPointableIndex.of(context.getModel()).isNillable(member)) {
+            return null;
+        }
+        return getConstantEstimate(context.getModel().expectShape(member.getTarget()));
+    }
+
+    private String getConstantEstimate(Shape target) {
+        switch (target.getType()) {
+            case BOOLEAN:
+                return Integer.toString(BOOLEAN_SIZE);
+            case BYTE:
+            case SHORT:
+            case INTEGER:
+            case INT_ENUM:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return Integer.toString(NUMBER_SIZE);
+            case TIMESTAMP:
+                return Integer.toString(TIMESTAMP_SIZE);
+            case STRUCTURE:
+            case LIST:
+            case SET:
+            case MAP:
+            case STRING:
+            case ENUM:
+            case BLOB:
+                return null;
+            default:
+                // documents, unions and big numbers
+                return Integer.toString(UNKNOWN_SIZE);
+        }
+    }
+}
@@ -71,6 +71,10 @@ public interface GoIntegration {
      * <p>This can be used to customize the names of shapes, the package
      * that code is generated into, add dependencies, add imports, etc.
      *
+     * <p>When {@link GoSettings#getCodegenThreads()} is greater than 1, the returned
+     * provider is called concurrently and must be thread-safe. Other hooks are only
+     * called from a single thread.
+     *
      * @param settings Setting used to generate.
      * @param model Model being generated.
      * @param symbolProvider The original {@code SymbolProvider}.
@@ -97,6 +97,9 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
         serializeDocumentBindingShapes.addAll(ProtocolUtils.resolveRequiredDocumentShapeSerde(
                 context.getModel(), serializeDocumentBindingShapes));
         generateDocumentBodyShapeSerializers(context, serializeDocumentBindingShapes);
+        if (context.getSettings().getPoolRequestBodies()) {
+            new DocumentSizeEstimatorGenerator(context).generateDocumentSizeEstimators(serializeDocumentBindingShapes);
+        }
     }
 
     /**
@@ -189,9 +192,31 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
                 && streamInfo.isEmpty()) {
             generateOperationDocumentSerializer(context, operation);
             addOperationDocumentShapeBindersForSerializer(context, operation);
+            if (HttpProtocolGeneratorUtils.isRequestBodyPooled(context, operation)) {
+                generateOperationDocumentSizeEstimator(context, operation);
+            }
         }
     }
 
+    /**
+     * Generates the size estimator of the members of an operation's input that are bound to the document.
+     *
+     * @param context   the generation context
+     * @param operation the operation shape being generated
+     */
+    private void generateOperationDocumentSizeEstimator(GenerationContext context, OperationShape operation) {
+        Model model = context.getModel();
+        List<MemberShape> documentMembers = HttpBindingIndex.of(model)
+                .getRequestBindings(operation, HttpBinding.Location.DOCUMENT).stream()
+                .map(HttpBinding::getMember)
+                .collect(Collectors.toList());
+        if (documentMembers.isEmpty()) {
+            return;
+        }
+        StructureShape inputShape = ProtocolUtils.expectInput(model, operation);
+        new DocumentSizeEstimatorGenerator(context).generateStructureSizeEstimator(inputShape, documentMembers);
+    }
+
     /**
      * Generates the operation document serializer function.
      *
@@ -266,6 +291,10 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
             });
 
             writer.write("");
+            boolean releasedBody = HttpProtocolGeneratorUtils.hasRequestBodyRelease(context, operation);
+            if (releasedBody) {
+                HttpProtocolGeneratorUtils.writeRequestBodyReleaseDeclaration(writer);
+            }
             writer.write("opPath, opQuery := httpbinding.SplitURI($S)", httpTrait.getUri());
             writer.write("request.URL.Path = smithyhttp.JoinPath(request.URL.Path, opPath)");
             writer.write("request.URL.RawQuery = smithyhttp.JoinRawQuery(request.URL.RawQuery, opQuery)");
@@ -348,7 +377,11 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
             writer.write("in.Request = request");
             writer.write("");
 
-            writer.write("return next.$L(ctx, in)", generator.getHandleMethodName());
+            if (releasedBody) {
+                HttpProtocolGeneratorUtils.writeNextReleasingRequestBody(writer, generator.getHandleMethodName());
+            } else {
+                writer.write("return next.$L(ctx, in)", generator.getHandleMethodName());
+            }
         });
     }
 
@@ -372,7 +405,7 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
                 ProtocolGenerator.getDeserializeMiddlewareName(operation.getId(), service, getProtocolName()),
                 ProtocolUtils.OPERATION_DESERIALIZER_MIDDLEWARE_ID);
 
-        String errorFunctionName = ProtocolGenerator.getOperationErrorDeserFunctionName(
+        String errorFunctionName = ProtocolGenerator.getOperationErrorDeserWithContextFunctionName(
                 operation, service, context.getProtocolName());
 
         middleware.writeMiddleware(goWriter, (generator, writer) -> {
@@ -391,7 +424,7 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
             writer.write("");
 
             writer.openBlock("if response.StatusCode < 200 || response.StatusCode >= 300 {", "}", () -> {
-                writer.write("return out, metadata, $L(response, &metadata)", errorFunctionName);
+                writer.write("return out, metadata, $L(ctx, response, &metadata)", errorFunctionName);
             });
 
             Shape outputShape = model.expectShape(operation.getOutput()
@@ -477,6 +510,10 @@ public abstract class HttpBindingProtocolGenerator implements ProtocolGenerator
     /**
      * Generate the document serializer logic for the serializer middleware body.
      *
+     * <p>When {@link HttpProtocolGeneratorUtils#hasRequestBodyRelease} is true for the operation, a
+     * {@code releaseBody func()} variable is in scope, to be set when the document is encoded into a pooled
+     * buffer or streamed.
+     *
      * @param context   the generation context
      * @param operation the operation
      * @param generator middleware generator definition
@@ -16,6 +16,8 @@
 package software.amazon.smithy.go.codegen.integration;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -26,10 +28,12 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.go.codegen.CodegenUtils;
 import software.amazon.smithy.go.codegen.GoWriter;
 import software.amazon.smithy.go.codegen.SmithyGoDependency;
 import software.amazon.smithy.go.codegen.integration.ProtocolGenerator.GenerationContext;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.EventStreamIndex;
 import software.amazon.smithy.model.knowledge.HttpBinding;
 import software.amazon.smithy.model.knowledge.HttpBindingIndex;
 import software.amazon.smithy.model.shapes.OperationShape;
@@ -37,6 +41,7 @@ import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.HttpChecksumRequiredTrait;
 
 public final class HttpProtocolGeneratorUtils {
 
@@ -104,22 +109,32 @@ public final class HttpProtocolGeneratorUtils {
         String protocolName = context.getProtocolName();
         Set<StructureShape> errorShapes = new TreeSet<>();
 
-        String errorFunctionName = ProtocolGenerator.getOperationErrorDeserFunctionName(
+        String errorFunctionName = ProtocolGenerator.getOperationErrorDeserWithContextFunctionName(
                 operation, service, protocolName);
 
+        writer.addUseImports(SmithyGoDependency.CONTEXT);
         writer.addUseImports(SmithyGoDependency.SMITHY_MIDDLEWARE);
+        // Kept for callers of the operation error function from before it took the request context, which
+        // bounds the buffered error body. Without it, the default error body limit applies.
         writer.openBlock("func $L(response $P, metadata *middleware.Metadata) error {", "}",
+                ProtocolGenerator.getOperationErrorDeserFunctionName(operation, service, protocolName),
+                responseType, () -> {
+                    writer.write("return $L(context.Background(), response, metadata)", errorFunctionName);
+                }).write("");
+        writer.openBlock("func $L(ctx context.Context, response $P, metadata *middleware.Metadata) error {", "}",
                 errorFunctionName, responseType, () -> {
-                    writer.addUseImports(SmithyGoDependency.BYTES);
-                    writer.addUseImports(SmithyGoDependency.IO);
+                    writer.addUseImports(SmithyGoDependency.SMITHY_HTTP_TRANSPORT);
 
-                    // Copy the response body into a seekable type
-                    writer.write("var errorBuffer bytes.Buffer");
-                    writer.openBlock("if _, err := io.Copy(&errorBuffer, response.Body); err != nil {", "}", () -> {
+                    // Copy the response body, up to the configured error body limit, into a pooled seekable
+                    // buffer. Anything past the limit is discarded when the response body is closed.
+                    // The error is not named err, since the message and code snippets may declare their own.
+                    writer.write("errorBuffer, readErr := smithyhttp.ReadErrorBody(ctx, response.Body)");
+                    writer.openBlock("if readErr != nil {", "}", () -> {
                         writer.write("return &smithy.DeserializationError{Err: fmt.Errorf("
-                                + "\"failed to copy error response body, %w\", err)}");
+                                + "\"failed to copy error response body, %w\", readErr)}");
                     });
-                    writer.write("errorBody := bytes.NewReader(errorBuffer.Bytes())");
+                    writer.write("defer errorBuffer.Release()");
+                    writer.write("errorBody := errorBuffer.Reader()");
                     writer.write("");
 
                     // Set the default values for code and message.
@@ -130,16 +145,41 @@ public final class HttpProtocolGeneratorUtils {
                     // Dispatch to the message/code generator to try to get the specific code and message.
                     errorMessageCodeGenerator.accept(context);
 
-                    writer.openBlock("switch {", "}", () -> {
-                        operationErrorsToShapes.apply(context, operation).forEach((name, errorId) -> {
+                    // Error codes are matched case-insensitively. When every modeled code is ASCII, the
+                    // received code is folded once and dispatched with a switch over the folded codes, which
+                    // Go compiles to a binary search rather than a comparison per error. The code is folded
+                    // into a stack buffer, which the switch reads without allocating a string.
+                    Map<String, ShapeId> errors = operationErrorsToShapes.apply(context, operation);
+                    boolean foldCodes = errors.keySet().stream().allMatch(HttpProtocolGeneratorUtils::isAscii);
+                    String switchHeader = "switch {";
+                    if (foldCodes) {
+                        writer.addUseImports(SmithyGoDependency.SMITHY_HTTP_TRANSPORT);
+                        writer.write("var foldedErrorCode [64]byte");
+                        switchHeader = "switch string(smithyhttp.AppendFoldedErrorCode("
+                                + "foldedErrorCode[:0], errorCode)) {";
+                    }
+                    writer.openBlock(switchHeader, "}", () -> {
+                        Set<String> foldedCodes = new HashSet<>();
+                        errors.forEach((name, errorId) -> {
                             StructureShape error = context.getModel().expectShape(errorId).asStructureShape().get();
                             errorShapes.add(error);
                             String errorDeserFunctionName = ProtocolGenerator.getErrorDeserFunctionName(
                                     error, service, protocolName);
-                            writer.addUseImports(SmithyGoDependency.STRINGS);
-                            writer.openBlock("case strings.EqualFold($S, errorCode):", "", name, () -> {
-                                writer.write("return $L(response, errorBody)", errorDeserFunctionName);
-                            });
+                            if (foldCodes) {
+                                // Codes that only differ in case were never reachable past the first one.
+                                String foldedCode = name.toLowerCase(Locale.ROOT);
+                                if (!foldedCodes.add(foldedCode)) {
+                                    return;
+                                }
+                                writer.openBlock("case $S:", "", foldedCode, () -> {
+                                    writer.write("return $L(response, errorBody)", errorDeserFunctionName);
+                                });
+                            } else {
+                                writer.addUseImports(SmithyGoDependency.STRINGS);
+                                writer.openBlock("case strings.EqualFold($S, errorCode):", "", name, () -> {
+                                    writer.write("return $L(response, errorBody)", errorDeserFunctionName);
+                                });
+                            }
                         });
 
                         // Create a generic error
@@ -151,6 +191,10 @@ public final class HttpProtocolGeneratorUtils {
         return errorShapes;
     }
 
+    private static boolean isAscii(String value) {
+        return value.chars().allMatch(c -> c < 0x80);
+    }
+
     /**
      * Returns whether a shape has response bindings for the provided HttpBinding location.
      * The shape can be an operation shape, error shape or an output shape.
@@ -191,4 +235,140 @@ public final class HttpProtocolGeneratorUtils {
                             return x;
                         }, TreeMap::new));
     }
+
+    /**
+     * Returns whether the serializer middleware of an operation encodes its request document into a pooled
+     * buffer, released once the middleware's next handler returns.
+     *
+     * <p>Serializer middleware of such operations declare a {@code releaseBody func()} variable before
+     * delegating the document serialization to the protocol, which sets it when it takes a buffer from a pool,
+     * for example with {@link #writePooledJsonEncoder}.
+     *
+     * @param context   the generation context
+     * @param operation the operation shape
+     * @return whether the operation's request document is pooled
+     */
+    public static boolean isRequestBodyPooled(GenerationContext context, OperationShape operation) {
+        return context.getSettings().getPoolRequestBodies()
+                && hasRequestDocument(context, operation)
+                && !isRequestBodyStreamed(context, operation);
+    }
+
+    /**
+     * Returns whether the serializer middleware of an operation writes its request document straight to the
+     * HTTP request body while it is sent, instead of encoding it in memory first.
+     *
+     * <p>Serializer middleware of such operations declare a {@code releaseBody func()} variable before
+     * delegating the document serialization to the protocol, which sets it to the release function of the
+     * streamed body, for example with {@link #writeStreamingJsonBody}. Streamed bodies can't be rewound, so
+     * requests of such operations aren't retried once their body has been read. Operations requiring a request
+     * checksum aren't streamed, since the checksum is computed from a seekable body.
+     *
+     * @param context   the generation context
+     * @param operation the operation shape
+     * @return whether the operation's request document is streamed
+     */
+    public static boolean isRequestBodyStreamed(GenerationContext context, OperationShape operation) {
+        return context.getSettings().getStreamRequestBodies()
+                && hasRequestDocument(context, operation)
+                && !operation.hasTrait(HttpChecksumRequiredTrait.class);
+    }
+
+    /**
+     * Returns whether the serializer middleware of an operation releases its request body once the
+     * middleware's next handler returns, because the body is either pooled or streamed.
+     *
+     * @param context   the generation context
+     * @param operation the operation shape
+     * @return whether the operation's request body is released
+     */
+    public static boolean hasRequestBodyRelease(GenerationContext context, OperationShape operation) {
+        return isRequestBodyPooled(context, operation) || isRequestBodyStreamed(context, operation);
+    }
+
+    private static boolean hasRequestDocument(GenerationContext context, OperationShape operation) {
+        Model model = context.getModel();
+        return !CodegenUtils.isStubSynthetic(ProtocolUtils.expectInput(model, operation))
+                && EventStreamIndex.of(model).getInputInfo(operation).isEmpty();
+    }
+
+    /**
+     * Writes the declaration of the {@code releaseBody} function of a serializer middleware whose request
+     * body is released.
+     *
+     * @param writer the writer
+     */
+    public static void writeRequestBodyReleaseDeclaration(GoWriter writer) {
+        writer.write("var releaseBody func()");
+    }
+
+    /**
+     * Writes the call to the next handler of a serializer middleware whose request body is released, releasing
+     * the body once the handler returns. The HTTP client handler closes the request body before returning, so the
+     * transport no longer reads from it by then.
+     *
+     * @param writer           the writer
+     * @param handleMethodName the name of the middleware's handle method
+     */
+    public static void writeNextReleasingRequestBody(GoWriter writer, String handleMethodName) {
+        writer.write("out, metadata, err = next.$L(ctx, in)", handleMethodName);
+        writer.openBlock("if releaseBody != nil {", "}", () -> writer.write("releaseBody()"));
+        writer.write("return out, metadata, err");
+    }
+
+    /**
+     * Writes the code setting the request body of a serializer middleware to a JSON document streamed by the
+     * document's serializer function, and setting {@code releaseBody} to release it.
+     *
+     * <p>The document is serialized while the request is sent, so errors serializing it are returned by the
+     * HTTP client handler as errors reading the request body. The streamed body can't be rewound, so the request
+     * isn't retried once its body has been read.
+     *
+     * @param context                the generation context
+     * @param serializerFunctionName the name of the serializer function of the document's shape
+     * @param operand                the operand of the request document
+     */
+    public static void writeStreamingJsonBody(
+            GenerationContext context,
+            String serializerFunctionName,
+            String operand
+    ) {
+        GoWriter writer = context.getWriter().get();
+        writer.addUseImports(SmithyGoDependency.SMITHY_JSON);
+        writer.addUseImports(SmithyGoDependency.IO);
+        writer.write("request, releaseBody, err = request.SetStreamWriter(func(w io.Writer) error {");
+        writer.indent();
+        writer.write("jsonEncoder := smithyjson.NewStreamEncoder(w)");
+        writer.openBlock("if err := $L($L, jsonEncoder.Value); err != nil {", "}", serializerFunctionName, operand,
+                () -> writer.write("return err"));
+        writer.write("return jsonEncoder.Flush()");
+        writer.dedent();
+        writer.write("})");
+        writer.openBlock("if err != nil {", "}", () -> {
+            writer.write("return out, metadata, &smithy.SerializationError{Err: err}");
+        });
+    }
+
+    /**
+     * Writes the code taking a JSON encoder from the pool for the request document of a serializer middleware,
+     * sized by the size estimator of the document's shape, and setting {@code releaseBody} to release it.
+     *
+     * @param context     the generation context
+     * @param shape       the shape of the request document
+     * @param operand     the operand of the request document
+     * @param encoderName the name of the encoder variable to declare
+     */
+    public static void writePooledJsonEncoder(
+            GenerationContext context,
+            Shape shape,
+            String operand,
+            String encoderName
+    ) {
+        GoWriter writer = context.getWriter().get();
+        writer.addUseImports(SmithyGoDependency.SMITHY_JSON);
+        String estimator = ProtocolGenerator.getDocumentSizeEstimatorFunctionName(
+                shape, context.getService(), context.getProtocolName());
+        writer.write("$L := smithyjson.GetEncoder($L($L))", encoderName, estimator, operand);
+        writer.write("releaseBody = $L.Release", encoderName);
+    }
 }
@@ -22,7 +22,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 import software.amazon.smithy.codegen.core.CodegenException;
@@ -52,6 +54,8 @@ import software.amazon.smithy.utils.SmithyBuilder;
  */
 public abstract class HttpProtocolUnitTestGenerator<T extends HttpMessageTestCase> {
     private static final Logger LOGGER = Logger.getLogger(HttpProtocolUnitTestGenerator.class.getName());
+    private static final String ALLOCATION_BUDGET_VENDOR_PARAM = "allocationBudget";
+    private static final int ALLOCATION_TEST_RUNS = 100;
 
     protected final GoSettings settings;
     protected final Model model;
@@ -67,6 +71,7 @@ public abstract class HttpProtocolUnitTestGenerator<T extends HttpMessageTestCas
     protected final String protocolName;
     protected final Set<ConfigValue> clientConfigValues = new TreeSet<>();
     protected final Set<SkipTest> skipTests = new TreeSet<>();
+    protected final Map<String, Integer> allocationBudgets = new TreeMap<>();
     protected final ShapeValueGenerator.Config shapeValueGeneratorConfig;
 
     /**
@@ -84,6 +89,8 @@ public abstract class HttpProtocolUnitTestGenerator<T extends HttpMessageTestCas
         this.testCases = SmithyBuilder.requiredState("testCases", builder.testCases);
         this.clientConfigValues.addAll(builder.clientConfigValues);
         this.skipTests.addAll(builder.skipTests);
+        this.allocationBudgets.putAll(settings.getProtocolTestAllocationBudgets());
+        this.allocationBudgets.putAll(builder.allocationBudgets);
         this.shapeValueGeneratorConfig = SmithyBuilder.requiredState("config", builder.shapeValueGeneratorConfig);
 
         opSymbol = symbolProvider.toSymbol(operation);
@@ -209,7 +216,71 @@ public abstract class HttpProtocolUnitTestGenerator<T extends HttpMessageTestCas
     abstract void generateTestAssertions(GoWriter writer);
 
     /**
-     * Generates the test function for the operation using the provided writer.
+     * Provides the benchmark function's format string, paired with unitTestFuncNameArgs.
+     *
+     * @return returns the benchmark function's format string
+     */
+    String benchmarkFuncNameFormat() {
+        return "Benchmark" + unitTestFuncNameFormat().substring("Test".length());
+    }
+
+    /**
+     * Hook to generate the parameter declarations of the benchmark's test case struct. Defaults to the parameters of
+     * the test function's test cases.
+     *
+     * @param writer writer to write generated code with.
+     */
+    void generateBenchmarkCaseParams(GoWriter writer) {
+        generateTestCaseParams(writer);
+    }
+
+    /**
+     * Hook to generate the parameter values of a single benchmark test case. Defaults to the values of the test
+     * function's test case.
+     *
+     * @param writer   writer to write generated code with.
+     * @param testCase definition of a single test case.
+     */
+    void generateBenchmarkCaseValues(GoWriter writer, T testCase) {
+        generateTestCaseValues(writer, testCase);
+    }
+
+    /**
+     * Hook to generate the setup of a single test case's benchmark, before the benchmark timer is reset. Also used
+     * before measuring the allocations of test cases with an allocation budget.
+     *
+     * @param writer writer to write generated code with.
+     */
+    abstract void generateBenchmarkSetup(GoWriter writer);
+
+    /**
+     * Provides the type of the fixture each iteration of a test case's benchmark consumes, such as a new request.
+     *
+     * @return returns the symbol of the fixture's type.
+     */
+    abstract Symbol getBenchmarkFixtureSymbol();
+
+    /**
+     * Hook to generate the {@code fixture} variable a single iteration of a test case's benchmark consumes. Fixtures
+     * of test cases with an allocation budget are built before measuring, so that only the iteration is measured.
+     *
+     * @param writer writer to write generated code with.
+     */
+    abstract void generateBenchmarkFixture(GoWriter writer);
+
+    /**
+     * Hook to generate a single iteration of a test case's benchmark, consuming the {@code fixture} variable.
+     * Iterations should only do the work being measured, and fail the benchmark if it doesn't behave as the test
+     * case expects. Iterations are also used to measure the allocations of test cases with an allocation budget.
+     *
+     * @param writer  writer to write generated code with.
+     * @param testing name of the variable of the test or benchmark to fail.
+     */
+    abstract void generateBenchmarkIteration(GoWriter writer, String testing);
+
+    /**
+     * Generates the test function for the operation using the provided writer, followed by a benchmark function
+     * that measures each test case.
      *
      * @param writer writer to write generated code with.
      */
@@ -217,44 +288,17 @@ public abstract class HttpProtocolUnitTestGenerator<T extends HttpMessageTestCas
         writer.addUseImports(SmithyGoDependency.TESTING);
         writer.openBlock("func " + unitTestFuncNameFormat() + "(t *testing.T) {", "}", unitTestFuncNameArgs(),
                 () -> {
-                    skipTests.forEach((skipTest) -> {
-                        if (skipTest.matches(service.getId(), operation.getId())) {
-                            writer.write("t.Skip(\"disabled test $L $L\")", service.getId(), operation.getId());
-                            writer.write("");
-                        }
-                    });
+                    writeSkipOperation(writer, "t");
                     generateTestSetup(writer);
 
                     writer.write("cases := map[string]struct {");
                     generateTestCaseParams(writer);
-                    writer.openBlock("}{", "}", () -> {
-                        for (T testCase : testCases) {
-                            Optional<AppliesTo> appliesTo = testCase.getAppliesTo();
-                            if (appliesTo.isPresent() && !(appliesTo.get().equals(AppliesTo.CLIENT))) {
-                                continue;
-                            }
-
-                            testCase.getDocumentation().ifPresent(writer::writeDocs);
-                            writer.openBlock("$S: {", "},", testCase.getId(), () -> {
-                                generateTestCaseValues(writer, testCase);
-                            });
-                        }
-                    });
+                    writeTestCases(writer, testCases, this::generateTestCaseValues);
 
                     // And test case iteration/assertions
                     writer.openBlock("for name, c := range cases {", "}", () -> {
                         writer.openBlock("t.Run(name, func(t *testing.T) {", "})", () -> {
-                            skipTests.forEach((skipTest) -> {
-                                for (T testCase : testCases) {
-                                    if (skipTest.matches(service.getId(), operation.getId(), testCase.getId())) {
-                                        writer.openBlock("if name == $S {", "}", testCase.getId(), () -> {
-                                            writer.write("t.Skip(\"disabled test $L $L\")", service.getId(),
-                                                    operation.getId());
-                                        });
-                                        writer.write("");
-                                    }
-                                }
-                            });
+                            writeSkipTestCases(writer, "t");
 
                             generateTestBodySetup(writer);
                             generateTestServer(writer, "server", this::generateTestServerHandler);
@@ -264,6 +308,158 @@ public abstract class HttpProtocolUnitTestGenerator<T extends HttpMessageTestCas
                         });
                     });
                 });
+
+        writer.write("");
+        generateBenchmarkFunction(writer);
+
+        List<T> budgetedCases = new ArrayList<>();
+        for (T testCase : testCases) {
+            if (getAllocationBudget(testCase).isPresent()) {
+                budgetedCases.add(testCase);
+            }
+        }
+        if (!budgetedCases.isEmpty()) {
+            writer.write("");
+            generateAllocationTestFunction(writer, budgetedCases);
+        }
+    }
+
+    /**
+     * Generates the benchmark function for the operation using the provided writer. Each test case is a
+     * sub-benchmark that reports its allocations.
+     *
+     * @param writer writer to write generated code with.
+     */
+    protected void generateBenchmarkFunction(GoWriter writer) {
+        writer.addUseImports(SmithyGoDependency.TESTING);
+        writer.openBlock("func " + benchmarkFuncNameFormat() + "(b *testing.B) {", "}", unitTestFuncNameArgs(),
+                () -> {
+                    writeSkipOperation(writer, "b");
+
+                    writer.write("cases := map[string]struct {");
+                    generateBenchmarkCaseParams(writer);
+                    writeTestCases(writer, testCases, this::generateBenchmarkCaseValues);
+
+                    writer.openBlock("for name, c := range cases {", "}", () -> {
+                        writer.openBlock("b.Run(name, func(b *testing.B) {", "})", () -> {
+                            writeSkipTestCases(writer, "b");
+
+                            generateBenchmarkSetup(writer);
+                            writer.write("b.ReportAllocs()");
+                            writer.write("b.ResetTimer()");
+                            writer.openBlock("for i := 0; i < b.N; i++ {", "}", () -> {
+                                generateBenchmarkFixture(writer);
+                                generateBenchmarkIteration(writer, "b");
+                            });
+                        });
+                    });
+                });
+    }
+
+    /**
+     * Generates a test function that fails if a test case allocates more than its allocation budget. Allocations are
+     * measured with testing.AllocsPerRun over the same work as the test case's benchmark, with the fixtures of every
+     * run built beforehand.
+     *
+     * @param writer writer to write generated code with.
+     * @param cases  test cases with an allocation budget.
+     */
+    protected void generateAllocationTestFunction(GoWriter writer, List<T> cases) {
+        writer.addUseImports(SmithyGoDependency.TESTING);
+        writer.openBlock("func " + unitTestFuncNameFormat() + "Allocations(t *testing.T) {", "}",
+                unitTestFuncNameArgs(), () -> {
+                    writeSkipOperation(writer, "t");
+
+                    writer.write("cases := map[string]struct {");
+                    generateBenchmarkCaseParams(writer);
+                    writer.write("AllocationBudget int");
+                    writeTestCases(writer, cases, (w, testCase) -> {
+                        generateBenchmarkCaseValues(w, testCase);
+                        writeStructField(w, "AllocationBudget", getAllocationBudget(testCase).get());
+                    });
+
+                    writer.openBlock("for name, c := range cases {", "}", () -> {
+                        writer.openBlock("t.Run(name, func(t *testing.T) {", "})", () -> {
+                            writeSkipTestCases(writer, "t");
+
+                            generateBenchmarkSetup(writer);
+
+                            // AllocsPerRun runs the function once more before measuring.
+                            writer.write("fixtures := make([]$P, $L)", getBenchmarkFixtureSymbol(),
+                                    ALLOCATION_TEST_RUNS + 1);
+                            writer.openBlock("for i := range fixtures {", "}", () -> {
+                                generateBenchmarkFixture(writer);
+                                writer.write("fixtures[i] = fixture");
+                            });
+                            writer.write("run := 0");
+                            writer.openBlock("allocs := testing.AllocsPerRun($L, func() {", "})",
+                                    ALLOCATION_TEST_RUNS, () -> {
+                                        writer.write("fixture := fixtures[run]");
+                                        writer.write("run++");
+                                        generateBenchmarkIteration(writer, "t");
+                                    });
+                            writer.openBlock("if allocs > float64(c.AllocationBudget) {", "}", () -> {
+                                writer.write("t.Errorf(\"expect at most %v allocations, got %v\", "
+                                        + "c.AllocationBudget, allocs)");
+                            });
+                        });
+                    });
+                });
+    }
+
+    /**
+     * Gets the allocation budget of a test case. Budgets configured with the generator's settings or builder take
+     * precedence over the test case's {@code allocationBudget} vendor param.
+     *
+     * @param testCase the test case to get the budget of.
+     * @return the test case's allocation budget, if it has one.
+     */
+    protected Optional<Integer> getAllocationBudget(T testCase) {
+        Integer budget = allocationBudgets.get(testCase.getId());
+        if (budget != null) {
+            return Optional.of(budget);
+        }
+        return testCase.getVendorParams().getNumberMember(ALLOCATION_BUDGET_VENDOR_PARAM)
+                .map(number -> number.getValue().intValue());
+    }
+
+    private void writeSkipOperation(GoWriter writer, String testing) {
+        skipTests.forEach((skipTest) -> {
+            if (skipTest.matches(service.getId(), operation.getId())) {
+                writer.write("$L.Skip(\"disabled test $L $L\")", testing, service.getId(), operation.getId());
+                writer.write("");
+            }
+        });
+    }
+
+    private void writeTestCases(GoWriter writer, List<T> cases, BiConsumer<GoWriter, T> values) {
+        writer.openBlock("}{", "}", () -> {
+            for (T testCase : cases) {
+                Optional<AppliesTo> appliesTo = testCase.getAppliesTo();
+                if (appliesTo.isPresent() && !(appliesTo.get().equals(AppliesTo.CLIENT))) {
+                    continue;
+                }
+
+                testCase.getDocumentation().ifPresent(writer::writeDocs);
+                writer.openBlock("$S: {", "},", testCase.getId(), () -> {
+                    values.accept(writer, testCase);
+                });
+            }
+        });
+    }
+
+    private void writeSkipTestCases(GoWriter writer, String testing) {
+        skipTests.forEach((skipTest) -> {
+            for (T testCase : testCases) {
+                if (skipTest.matches(service.getId(), operation.getId(), testCase.getId())) {
+                    writer.openBlock("if name == $S {", "}", testCase.getId(), () -> {
+                        writer.write("$L.Skip(\"disabled test $L $L\")", testing, service.getId(),
+                                operation.getId());
+                    });
+                    writer.write("");
+                }
+            }
+        });
     }
 
     /**
@@ -605,6 +801,7 @@ public abstract class HttpProtocolUnitTestGenerator<T extends HttpMessageTestCas
         protected List<T> testCases = new ArrayList<>();
         protected Set<ConfigValue> clientConfigValues = new TreeSet<>();
         protected Set<SkipTest> skipTests = new TreeSet<>();
+        protected Map<String, Integer> allocationBudgets = new TreeMap<>();
         protected ShapeValueGenerator.Config shapeValueGeneratorConfig = ShapeValueGenerator.Config.builder().build();
 
         public Builder<T> settings(GoSettings settings) {
@@ -677,6 +874,21 @@ public abstract class HttpProtocolUnitTestGenerator<T extends HttpMessageTestCas
             return this;
         }
 
+        public Builder<T> allocationBudget(String testCaseId, int budget) {
+            this.allocationBudgets.put(testCaseId, budget);
+            return this;
+        }
+
+        public Builder<T> allocationBudgets(Map<String, Integer> allocationBudgets) {
+            this.allocationBudgets.clear();
+            return this.addAllocationBudgets(allocationBudgets);
+        }
+
+        public Builder<T> addAllocationBudgets(Map<String, Integer> allocationBudgets) {
+            this.allocationBudgets.putAll(allocationBudgets);
+            return this;
+        }
+
         public Builder<T> shapeValueGeneratorConfig(ShapeValueGenerator.Config config) {
             this.shapeValueGeneratorConfig = config;
             return this;
@@ -261,6 +261,87 @@ public class HttpProtocolUnitTestRequestGenerator extends HttpProtocolUnitTestGe
         });
     }
 
+    /**
+     * Hook to generate the parameter declarations of the benchmark's test case struct. Benchmarks only need the
+     * operation input to serialize.
+     *
+     * @param writer writer to write generated code with.
+     */
+    @Override
+    protected void generateBenchmarkCaseParams(GoWriter writer) {
+        writer.write("Params $P", inputSymbol);
+    }
+
+    /**
+     * Hook to generate the parameter values of a single benchmark test case.
+     *
+     * @param writer   writer to write generated code with.
+     * @param testCase definition of a single test case.
+     */
+    @Override
+    protected void generateBenchmarkCaseValues(GoWriter writer, HttpRequestTestCase testCase) {
+        writeStructField(writer, "Params", inputShape, testCase.getParams());
+    }
+
+    /**
+     * Hook to generate the setup of a single test case's benchmark. The operation's serialize middleware is called
+     * directly with a handler that does nothing, so that only serialization is measured.
+     *
+     * @param writer writer to write generated code with.
+     */
+    @Override
+    protected void generateBenchmarkSetup(GoWriter writer) {
+        writer.addUseImports(SmithyGoDependency.CONTEXT);
+        writer.addUseImports(SmithyGoDependency.SMITHY_MIDDLEWARE);
+        writer.write("serializer := &$L{}",
+                ProtocolGenerator.getSerializeMiddlewareName(operation.getId(), service, protocolName));
+        writer.write("next := middleware.SerializeHandlerFunc(func(");
+        writer.write("    ctx context.Context, in middleware.SerializeInput,");
+        writer.write(") (out middleware.SerializeOutput, metadata middleware.Metadata, err error) {");
+        writer.write("    return out, metadata, nil");
+        writer.write("})");
+        writer.write("ctx := context.Background()");
+    }
+
+    /**
+     * Provides the type of the benchmark's fixtures, the new request each iteration serializes into.
+     *
+     * @return returns the symbol of the fixture's type.
+     */
+    @Override
+    protected Symbol getBenchmarkFixtureSymbol() {
+        return SymbolUtils.createPointableSymbolBuilder("Request", SmithyGoDependency.SMITHY_HTTP_TRANSPORT).build();
+    }
+
+    /**
+     * Hook to generate the new request a single iteration of the benchmark serializes into.
+     *
+     * @param writer writer to write generated code with.
+     */
+    @Override
+    protected void generateBenchmarkFixture(GoWriter writer) {
+        writer.addUseImports(SmithyGoDependency.SMITHY_HTTP_TRANSPORT);
+        writer.write("fixture := smithyhttp.NewStackRequest().(*smithyhttp.Request)");
+    }
+
+    /**
+     * Hook to generate a single iteration of a test case's benchmark, serializing the test case's input into the
+     * fixture request.
+     *
+     * @param writer  writer to write generated code with.
+     * @param testing name of the variable of the test or benchmark to fail.
+     */
+    @Override
+    protected void generateBenchmarkIteration(GoWriter writer, String testing) {
+        writer.openBlock("in := middleware.SerializeInput{", "}", () -> {
+            writer.write("Request:    fixture,");
+            writer.write("Parameters: c.Params,");
+        });
+        writer.openBlock("if _, _, err := serializer.HandleSerialize(ctx, in, next); err != nil {", "}", () -> {
+            writer.write("$L.Fatalf(\"expect no error, got %v\", err)", testing);
+        });
+    }
+
     public static class Builder extends HttpProtocolUnitTestGenerator.Builder<HttpRequestTestCase> {
         @Override
         public HttpProtocolUnitTestRequestGenerator build() {
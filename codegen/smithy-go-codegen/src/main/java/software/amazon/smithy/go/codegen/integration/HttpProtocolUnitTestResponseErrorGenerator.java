@@ -151,6 +151,19 @@ public class HttpProtocolUnitTestResponseErrorGenerator extends HttpProtocolUnit
         // TODO assertion for protocol metadata
     }
 
+    /**
+     * Hook to fail the benchmark if deserializing the response didn't return the test case's error.
+     *
+     * @param writer  writer to write generated code with.
+     * @param testing name of the variable of the test or benchmark to fail.
+     */
+    @Override
+    protected void generateBenchmarkAssertions(GoWriter writer, String testing) {
+        writer.openBlock("if err == nil {", "}", () -> {
+            writer.write("$L.Fatalf(\"expect $P error, got none\")", testing, errorSymbol);
+        });
+    }
+
     public static class Builder extends HttpProtocolUnitTestResponseGenerator.Builder {
         protected StructureShape error;
 
@@ -19,8 +19,10 @@ package software.amazon.smithy.go.codegen.integration;
 
 import java.util.function.Consumer;
 import java.util.logging.Logger;
+import software.amazon.smithy.codegen.core.Symbol;
 import software.amazon.smithy.go.codegen.GoWriter;
 import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.go.codegen.SymbolUtils;
 import software.amazon.smithy.protocoltests.traits.HttpResponseTestCase;
 
 /**
@@ -127,17 +129,7 @@ public class HttpProtocolUnitTestResponseGenerator extends HttpProtocolUnitTestG
      * @param writer The writer to write generated code with.
      */
     protected void generateResponse(GoWriter writer) {
-        writer.addUseImports(SmithyGoDependency.NET_HTTP);
-        writer.write("headers := http.Header{}");
-        writer.openBlock("for k, vs := range c.Header {", "}", () -> {
-            writer.openBlock("for _, v := range vs {", "}", () -> {
-                writer.write("headers.Add(k, v)");
-            });
-        });
-
-        writer.openBlock("if len(c.BodyMediaType) != 0 && len(headers.Values(\"Content-Type\")) == 0 {", "}", () -> {
-            writer.write("headers.Set(\"Content-Type\", c.BodyMediaType)");
-        });
+        generateResponseHeaders(writer);
 
         writer.openBlock("response := &http.Response{", "}", () -> {
             writer.write("StatusCode: c.StatusCode,");
@@ -160,6 +152,25 @@ public class HttpProtocolUnitTestResponseGenerator extends HttpProtocolUnitTestG
         writer.write("return response, nil");
     }
 
+    /**
+     * Generates the headers of the test case's response, including its body media type.
+     *
+     * @param writer The writer to write generated code with.
+     */
+    private void generateResponseHeaders(GoWriter writer) {
+        writer.addUseImports(SmithyGoDependency.NET_HTTP);
+        writer.write("headers := http.Header{}");
+        writer.openBlock("for k, vs := range c.Header {", "}", () -> {
+            writer.openBlock("for _, v := range vs {", "}", () -> {
+                writer.write("headers.Add(k, v)");
+            });
+        });
+
+        writer.openBlock("if len(c.BodyMediaType) != 0 && len(headers.Values(\"Content-Type\")) == 0 {", "}", () -> {
+            writer.write("headers.Set(\"Content-Type\", c.BodyMediaType)");
+        });
+    }
+
     /**
      * Hook to generate the body of the test that will be invoked for all test cases of this operation. Should not
      * do any assertions.
@@ -189,6 +200,121 @@ public class HttpProtocolUnitTestResponseGenerator extends HttpProtocolUnitTestG
         // TODO assertion for protocol metadata
     }
 
+    /**
+     * Hook to generate the parameter declarations of the benchmark's test case struct. Benchmarks only need the
+     * response to deserialize.
+     *
+     * @param writer writer to write generated code with.
+     */
+    @Override
+    protected void generateBenchmarkCaseParams(GoWriter writer) {
+        writer.addUseImports(SmithyGoDependency.NET_HTTP);
+        writer.write("StatusCode int");
+        writer.write("Header http.Header");
+        writer.write("BodyMediaType string");
+        writer.write("Body []byte");
+    }
+
+    /**
+     * Hook to generate the parameter values of a single benchmark test case.
+     *
+     * @param writer   writer to write generated code with.
+     * @param testCase definition of a single test case.
+     */
+    @Override
+    protected void generateBenchmarkCaseValues(GoWriter writer, HttpResponseTestCase testCase) {
+        writeStructField(writer, "StatusCode", testCase.getCode());
+        writeHeaderStructField(writer, "Header", testCase.getHeaders());
+
+        testCase.getBodyMediaType().ifPresent(mediaType -> {
+            writeStructField(writer, "BodyMediaType", "$S", mediaType);
+        });
+        testCase.getBody().ifPresent(body -> {
+            writeStructField(writer, "Body", "[]byte(`$L`)", body);
+        });
+    }
+
+    /**
+     * Hook to generate the setup of a single test case's benchmark. The operation's deserialize middleware is called
+     * directly with a handler returning the test case's response, so that only deserialization is measured.
+     *
+     * @param writer writer to write generated code with.
+     */
+    @Override
+    protected void generateBenchmarkSetup(GoWriter writer) {
+        writer.addUseImports(SmithyGoDependency.CONTEXT);
+        writer.addUseImports(SmithyGoDependency.SMITHY_MIDDLEWARE);
+        writer.addUseImports(SmithyGoDependency.SMITHY_HTTP_TRANSPORT);
+        writer.write("deserializer := &$L{}",
+                ProtocolGenerator.getDeserializeMiddlewareName(operation.getId(), service, protocolName));
+        generateResponseHeaders(writer);
+        writer.write("var response *http.Response");
+        writer.write("next := middleware.DeserializeHandlerFunc(func(");
+        writer.write("    ctx context.Context, in middleware.DeserializeInput,");
+        writer.write(") (out middleware.DeserializeOutput, metadata middleware.Metadata, err error) {");
+        writer.write("    out.RawResponse = &smithyhttp.Response{Response: response}");
+        writer.write("    return out, metadata, nil");
+        writer.write("})");
+        writer.write("ctx := context.Background()");
+    }
+
+    /**
+     * Provides the type of the benchmark's fixtures, the new response each iteration deserializes.
+     *
+     * @return returns the symbol of the fixture's type.
+     */
+    @Override
+    protected Symbol getBenchmarkFixtureSymbol() {
+        return SymbolUtils.createPointableSymbolBuilder("Response", SmithyGoDependency.NET_HTTP).build();
+    }
+
+    /**
+     * Hook to generate the new response with the test case's body a single iteration of the benchmark
+     * deserializes.
+     *
+     * @param writer writer to write generated code with.
+     */
+    @Override
+    protected void generateBenchmarkFixture(GoWriter writer) {
+        writer.openBlock("fixture := &http.Response{", "}", () -> {
+            writer.write("StatusCode: c.StatusCode,");
+            writer.write("Header:     headers,");
+            writer.write("Body:       http.NoBody,");
+        });
+
+        writer.addUseImports(SmithyGoDependency.BYTES);
+        writer.addUseImports(SmithyGoDependency.IOUTIL);
+        writer.openBlock("if len(c.Body) != 0 {", "}", () -> {
+            writer.write("fixture.ContentLength = int64(len(c.Body))");
+            writer.write("fixture.Body = ioutil.NopCloser(bytes.NewReader(c.Body))");
+        });
+    }
+
+    /**
+     * Hook to generate a single iteration of a test case's benchmark, deserializing the fixture response.
+     *
+     * @param writer  writer to write generated code with.
+     * @param testing name of the variable of the test or benchmark to fail.
+     */
+    @Override
+    protected void generateBenchmarkIteration(GoWriter writer, String testing) {
+        writer.write("response = fixture");
+        writer.write("_, _, err := deserializer.HandleDeserialize(ctx, middleware.DeserializeInput{}, next)");
+        generateBenchmarkAssertions(writer, testing);
+    }
+
+    /**
+     * Hook to fail the benchmark if deserializing the response didn't behave as the test case expects.
+     *
+     * @param writer  writer to write generated code with.
+     * @param testing name of the variable of the test or benchmark to fail.
+     */
+    protected void generateBenchmarkAssertions(GoWriter writer, String testing) {
+        writer.openBlock("if err != nil {", "}", () -> {
+            writer.write("$L.Fatalf(\"expect no error, got %v\", err)", testing);
+        });
+    }
+
     public static class Builder extends HttpProtocolUnitTestGenerator.Builder<HttpResponseTestCase> {
         @Override
         public HttpProtocolUnitTestResponseGenerator build() {
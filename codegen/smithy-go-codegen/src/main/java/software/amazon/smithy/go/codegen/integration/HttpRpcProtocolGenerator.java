@@ -66,6 +66,9 @@ public abstract class HttpRpcProtocolGenerator implements ProtocolGenerator {
         serializingDocumentShapes.addAll(ProtocolUtils.resolveRequiredDocumentShapeSerde(
                 context.getModel(), serializingDocumentShapes));
         generateDocumentBodyShapeSerializers(context, serializingDocumentShapes);
+        if (context.getSettings().getPoolRequestBodies()) {
+            new DocumentSizeEstimatorGenerator(context).generateDocumentSizeEstimators(serializingDocumentShapes);
+        }
     }
 
     /**
@@ -165,6 +168,10 @@ public abstract class HttpRpcProtocolGenerator implements ProtocolGenerator {
                              + " in.Parameters)}");
             }).write("");
 
+            boolean releasedBody = HttpProtocolGeneratorUtils.hasRequestBodyRelease(context, operation);
+            if (releasedBody) {
+                HttpProtocolGeneratorUtils.writeRequestBodyReleaseDeclaration(writer);
+            }
             writer.putContext("opPath", getOperationPath(context, operation));
             writer.putContext("pathJoin", SymbolUtils.createValueSymbolBuilder("Join",
                     SmithyGoDependency.PATH).build());
@@ -212,7 +219,11 @@ public abstract class HttpRpcProtocolGenerator implements ProtocolGenerator {
             writer.write("in.Request = request");
 
             writer.write("");
-            writer.write("return next.$L(ctx, in)", generator.getHandleMethodName());
+            if (releasedBody) {
+                HttpProtocolGeneratorUtils.writeNextReleasingRequestBody(writer, generator.getHandleMethodName());
+            } else {
+                writer.write("return next.$L(ctx, in)", generator.getHandleMethodName());
+            }
         });
 
         writer.popState();
@@ -265,6 +276,10 @@ public abstract class HttpRpcProtocolGenerator implements ProtocolGenerator {
      *   <li>{@code ctx: context.Context}: a type containing context and tools for type serde.</li>
      * </ul>
      *
+     * <p>When {@link HttpProtocolGeneratorUtils#hasRequestBodyRelease} is true for the operation, a
+     * {@code releaseBody func()} variable is also in scope, to be set when the document is encoded into a pooled
+     * buffer or streamed.
+     *
      * @param context   The generation context.
      * @param operation The operation to serialize for.
      */
@@ -315,7 +330,7 @@ public abstract class HttpRpcProtocolGenerator implements ProtocolGenerator {
         Symbol outputSymbol = symbolProvider.toSymbol(outputShape);
         ApplicationProtocol applicationProtocol = getApplicationProtocol();
         Symbol responseType = applicationProtocol.getResponseType();
-        String errorFunctionName = ProtocolGenerator.getOperationErrorDeserFunctionName(
+        String errorFunctionName = ProtocolGenerator.getOperationErrorDeserWithContextFunctionName(
                 operation, context.getService(), context.getProtocolName());
 
         GoStackStepMiddlewareGenerator middleware = GoStackStepMiddlewareGenerator.createDeserializeStepMiddleware(
@@ -338,7 +353,7 @@ public abstract class HttpRpcProtocolGenerator implements ProtocolGenerator {
             writer.write("");
 
             writer.openBlock("if response.StatusCode < 200 || response.StatusCode >= 300 {", "}", () -> {
-                writer.write("return out, metadata, $L(response, &metadata)", errorFunctionName);
+                writer.write("return out, metadata, $L(ctx, response, &metadata)", errorFunctionName);
             });
 
             writer.write("output := &$T{}", outputSymbol);
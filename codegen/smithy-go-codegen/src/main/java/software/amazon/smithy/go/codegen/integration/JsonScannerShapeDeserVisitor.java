@@ -0,0 +1,319 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.integration;
+
+import java.util.Collections;
+import java.util.Map;
+import software.amazon.smithy.codegen.core.CodegenException;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.go.codegen.SymbolUtils;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator.GenerationContext;
+import software.amazon.smithy.go.codegen.knowledge.GoPointableIndex;
+import software.amazon.smithy.model.shapes.CollectionShape;
+import software.amazon.smithy.model.shapes.MapShape;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+/**
+ * Visitor to generate JSON document deserializers that read from a {@code smithyjson.Scanner} instead of a
+ * {@code json.Decoder}.
+ * <p>
+ * The scanner reads directly from the bytes of the body, so keys are matched and unknown members are skipped
+ * without boxing tokens or allocating, and members are decoded straight into the fields of the generated types.
+ * Deserializers for structures, collections and maps are implemented here. Protocols implement deserializers for
+ * unions and documents, and override {@link #deserializeScalar} for scalars with a protocol-specific encoding,
+ * such as timestamps. The operation deserializer creates the scanner for the body with
+ * {@code smithyjson.NewScanner}.
+ * <p>
+ * For example, a structure deserializer looks like:
+ *
+ * <pre>{@code
+ * func myProtocol_deserializeDocumentField(v **types.Field, scanner *smithyjson.Scanner) error {
+ *     if v == nil {
+ *         return fmt.Errorf("unexpected nil of type %T", v)
+ *     }
+ *     if null, err := scanner.ReadNull(); err != nil {
+ *         return err
+ *     } else if null {
+ *         return nil
+ *     }
+ *     if err := scanner.ReadDelim('{'); err != nil {
+ *         return err
+ *     }
+ *
+ *     var sv *types.Field
+ *     if *v == nil {
+ *         sv = &types.Field{}
+ *     } else {
+ *         sv = *v
+ *     }
+ *
+ *     for scanner.More() {
+ *         key, err := scanner.ReadKey()
+ *         if err != nil {
+ *             return err
+ *         }
+ *         switch string(key) {
+ *         case "FooValue":
+ *             if err := myProtocol_deserializeDocumentFoo(&sv.FooValue, scanner); err != nil {
+ *                 return err
+ *             }
+ *
+ *         case "BarValue":
+ *             if null, err := scanner.ReadNull(); err != nil {
+ *                 return err
+ *             } else if !null {
+ *                 val, err := scanner.ReadString()
+ *                 if err != nil {
+ *                     return err
+ *                 }
+ *                 sv.BarValue = &val
+ *             }
+ *
+ *         default:
+ *             if err := scanner.Skip(); err != nil {
+ *                 return err
+ *             }
+ *
+ *         }
+ *     }
+ *     if err := scanner.ReadDelim('}'); err != nil {
+ *         return err
+ *     }
+ *     *v = sv
+ *     return nil
+ * }
+ * }</pre>
+ */
+public abstract class JsonScannerShapeDeserVisitor extends DocumentShapeDeserVisitor {
+
+    public JsonScannerShapeDeserVisitor(GenerationContext context) {
+        super(context);
+    }
+
+    public JsonScannerShapeDeserVisitor(
+            GenerationContext context,
+            DeserializerNameProvider deserializerNameProvider
+    ) {
+        super(context, deserializerNameProvider);
+    }
+
+    @Override
+    protected Map<String, String> getAdditionalArguments() {
+        return Collections.singletonMap("scanner", "*smithyjson.Scanner");
+    }
+
+    /**
+     * Gets the key of a structure member in JSON documents. Defaults to the member name.
+     *
+     * @param member The member to get the key of.
+     * @return The member's key.
+     */
+    protected String getSerializedMemberName(MemberShape member) {
+        return member.getMemberName();
+    }
+
+    /**
+     * Writes the code to read a scalar value that isn't null from the scanner into a new variable named
+     * {@code val}. Strings, enums, booleans, integers, floats and blobs are read by default; protocols override this
+     * to read other scalars, such as timestamps, or to encode them differently.
+     *
+     * @param context The generation context.
+     * @param member  The member targeting the scalar.
+     * @param target  The scalar shape.
+     * @return The Go type of {@code val}, which is converted to the scalar's type if it differs.
+     */
+    protected String deserializeScalar(GenerationContext context, MemberShape member, Shape target) {
+        GoWriter writer = context.getWriter().get();
+        String read;
+        String type;
+        switch (target.getType()) {
+            case STRING:
+            case ENUM:
+                read = "ReadString";
+                type = "string";
+                break;
+            case BOOLEAN:
+                read = "ReadBool";
+                type = "bool";
+                break;
+            case BYTE:
+            case SHORT:
+            case INTEGER:
+            case INT_ENUM:
+            case LONG:
+                read = "ReadInt64";
+                type = "int64";
+                break;
+            case FLOAT:
+            case DOUBLE:
+                read = "ReadFloat64";
+                type = "float64";
+                break;
+            case BLOB:
+                read = "ReadBase64";
+                type = "[]byte";
+                break;
+            default:
+                throw new CodegenException(String.format("%s shapes must be deserialized by the protocol, "
+                        + "unable to deserialize %s", target.getType(), member.getId()));
+        }
+
+        writer.write("val, err := scanner.$L()", read);
+        writeReturnError(writer, "err != nil");
+        return type;
+    }
+
+    @Override
+    protected void deserializeCollection(GenerationContext context, CollectionShape shape) {
+        GoWriter writer = context.getWriter().get();
+        Symbol symbol = context.getSymbolProvider().toSymbol(shape);
+        MemberShape member = shape.getMember();
+
+        writeStart(writer, '[');
+        writer.write("var cv $P", symbol);
+        writer.openBlock("if *v == nil {", "} else {", () -> writer.write("cv = $P{}", symbol));
+        writer.indent().write("cv = *v").dedent();
+        writer.write("}");
+        writer.write("");
+
+        writer.openBlock("for scanner.More() {", "}", () -> {
+            writer.write("var col $P", context.getSymbolProvider().toSymbol(member));
+            writeMemberDeserializer(context, member, "col");
+            writer.write("cv = append(cv, col)");
+        });
+        writeEnd(writer, ']', "cv");
+    }
+
+    @Override
+    protected void deserializeMap(GenerationContext context, MapShape shape) {
+        GoWriter writer = context.getWriter().get();
+        Symbol symbol = context.getSymbolProvider().toSymbol(shape);
+        MemberShape value = shape.getValue();
+
+        writeStart(writer, '{');
+        writer.write("var mv $P", symbol);
+        writer.openBlock("if *v == nil {", "} else {", () -> writer.write("mv = $P{}", symbol));
+        writer.indent().write("mv = *v").dedent();
+        writer.write("}");
+        writer.write("");
+
+        writer.openBlock("for scanner.More() {", "}", () -> {
+            writer.write("key, err := scanner.ReadKey()");
+            writeReturnError(writer, "err != nil");
+            // Nested objects of the value read their own keys, which replace this one.
+            writer.write("mk := string(key)");
+            writer.write("var parsedVal $P", context.getSymbolProvider().toSymbol(value));
+            writeMemberDeserializer(context, value, "parsedVal");
+            writer.write("mv[mk] = parsedVal");
+        });
+        writeEnd(writer, '}', "mv");
+    }
+
+    @Override
+    protected void deserializeStructure(GenerationContext context, StructureShape shape) {
+        GoWriter writer = context.getWriter().get();
+        SymbolProvider symbolProvider = context.getSymbolProvider();
+        Symbol symbol = symbolProvider.toSymbol(shape);
+
+        writeStart(writer, '{');
+        writer.write("var sv $P", symbol);
+        writer.openBlock("if *v == nil {", "} else {", () -> writer.write("sv = &$T{}", symbol));
+        writer.indent().write("sv = *v").dedent();
+        writer.write("}");
+        writer.write("");
+
+        writer.openBlock("for scanner.More() {", "}", () -> {
+            writer.write("key, err := scanner.ReadKey()");
+            writeReturnError(writer, "err != nil");
+            writer.openBlock("switch string(key) {", "}", () -> {
+                for (MemberShape member : shape.getAllMembers().values()) {
+                    writer.openBlock("case $S:", "", getSerializedMemberName(member), () -> {
+                        writeMemberDeserializer(context, member, "sv." + symbolProvider.toMemberName(member));
+                    });
+                }
+                writer.openBlock("default:", "", () -> {
+                    writeReturnError(writer, "err := scanner.Skip(); err != nil");
+                });
+            });
+        });
+        writeEnd(writer, '}', "sv");
+    }
+
+    private void writeStart(GoWriter writer, char delim) {
+        writer.addUseImports(SmithyGoDependency.SMITHY_JSON);
+        writer.write("if null, err := scanner.ReadNull(); err != nil {");
+        writer.write("    return err");
+        writer.write("} else if null {");
+        writer.write("    return nil");
+        writer.write("}");
+        writeReturnError(writer, "err := scanner.ReadDelim('" + delim + "'); err != nil");
+        writer.write("");
+    }
+
+    private void writeReturnError(GoWriter writer, String condition) {
+        writer.openBlock("if $L {", "}", condition, () -> writer.write("return err"));
+    }
+
+    private void writeEnd(GoWriter writer, char delim, String value) {
+        writeReturnError(writer, "err := scanner.ReadDelim('" + delim + "'); err != nil");
+        writer.write("*v = $L", value);
+        writer.write("return nil");
+    }
+
+    /**
+     * Writes the code to deserialize the value of a member into {@code dest}, calling the deserializer function of
+     * aggregate shapes, or reading scalars inline. Deserializer functions take a pointer to the pointer of
+     * structures, so values that aren't pointers are delegated through a local pointer to them.
+     */
+    private void writeMemberDeserializer(GenerationContext context, MemberShape member, String dest) {
+        GoWriter writer = context.getWriter().get();
+        Shape target = context.getModel().expectShape(member.getTarget());
+        switch (target.getType()) {
+            case LIST:
+            case SET:
+            case MAP:
+            case STRUCTURE:
+            case UNION:
+            case DOCUMENT:
+                ProtocolUtils.writeDeserDelegateFunction(context, writer, member, dest, destOperand -> {
+                    writeReturnError(writer, "err := " + getDeserializerFunctionName(target) + "(&" + destOperand
+                            + ", scanner); err != nil");
+                });
+                return;
+            default:
+                break;
+        }
+
+        writer.write("if null, err := scanner.ReadNull(); err != nil {");
+        writer.write("    return err");
+        writer.openBlock("} else if !null {", "}", () -> {
+            String type = deserializeScalar(context, member, target);
+            Symbol symbol = context.getSymbolProvider().toSymbol(target);
+            boolean convert = !(SymbolUtils.isUniverseType(symbol) && symbol.getName().equals(type));
+            boolean pointable = GoPointableIndex.of(context.getModel()).isPointable(member);
+            if (convert) {
+                writer.write("$L := $T(val)", pointable ? "pv" : "tv", symbol);
+            }
+            String value = convert ? (pointable ? "pv" : "tv") : "val";
+            writer.write("$L = $L$L", dest, pointable ? "&" : "", value);
+        });
+    }
+}
@@ -235,10 +235,45 @@ public interface ProtocolGenerator {
         return protocol + "_deserialize" + extra + "Document" + StringUtils.capitalize(name);
     }
 
+    /**
+     * Generates the name of a function estimating the encoded size of shapes of a service in documents.
+     *
+     * @param shape    The shape the size estimator function is being generated for.
+     * @param service  The service shape.
+     * @param protocol Name of the protocol being generated.
+     * @return Returns the generated function name.
+     */
+    static String getDocumentSizeEstimatorFunctionName(Shape shape, ServiceShape service, String protocol) {
+        String name = shape.getId().getName(service);
+        String extra = "";
+        if (shape.hasTrait(Synthetic.class)) {
+            extra = "Op";
+        }
+        return protocol + "_estimate" + extra + "Document" + StringUtils.capitalize(name) + "Size";
+    }
+
     static String getOperationErrorDeserFunctionName(OperationShape shape, ServiceShape service, String protocol) {
         return protocol + "_deserializeOpError" + StringUtils.capitalize(shape.getId().getName(service));
     }
 
+    /**
+     * Generates the name of the operation error deserializer function that takes the request context, which
+     * the deserialize middleware calls. The function named by {@link #getOperationErrorDeserFunctionName}
+     * keeps its signature without the context, and calls this one with a background context.
+     *
+     * @param shape    The operation shape.
+     * @param service  The service shape.
+     * @param protocol Name of the protocol being generated.
+     * @return Returns the generated function name.
+     */
+    static String getOperationErrorDeserWithContextFunctionName(
+            OperationShape shape,
+            ServiceShape service,
+            String protocol
+    ) {
+        return getOperationErrorDeserFunctionName(shape, service, protocol) + "WithContext";
+    }
+
     /**
      * Generates the name of an error deserializer function for shapes of a service.
      *
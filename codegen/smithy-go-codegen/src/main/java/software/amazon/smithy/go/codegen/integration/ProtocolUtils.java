@@ -15,22 +15,22 @@
 
 package software.amazon.smithy.go.codegen.integration;
 
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import software.amazon.smithy.codegen.core.CodegenException;
 import software.amazon.smithy.go.codegen.GoWriter;
 import software.amazon.smithy.go.codegen.MiddlewareIdentifier;
 import software.amazon.smithy.go.codegen.integration.ProtocolGenerator.GenerationContext;
 import software.amazon.smithy.go.codegen.knowledge.GoPointableIndex;
+import software.amazon.smithy.go.codegen.knowledge.GoShapeReachabilityIndex;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.OperationIndex;
-import software.amazon.smithy.model.neighbor.RelationshipType;
-import software.amazon.smithy.model.neighbor.Walker;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.Shape;
-import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeType;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.utils.SetUtils;
@@ -46,10 +46,6 @@ public final class ProtocolUtils {
 
     private static final Set<ShapeType> REQUIRES_SERDE = SetUtils.of(
             ShapeType.MAP, ShapeType.LIST, ShapeType.SET, ShapeType.DOCUMENT, ShapeType.STRUCTURE, ShapeType.UNION);
-    private static final Set<RelationshipType> MEMBER_RELATIONSHIPS = SetUtils.of(
-            RelationshipType.STRUCTURE_MEMBER, RelationshipType.UNION_MEMBER, RelationshipType.LIST_MEMBER,
-            RelationshipType.SET_MEMBER, RelationshipType.MAP_VALUE, RelationshipType.MEMBER_TARGET
-    );
 
     private ProtocolUtils() {
     }
@@ -62,29 +58,17 @@ public final class ProtocolUtils {
      * @return the complete set of shapes requiring serializers, deserializers
      */
     public static Set<Shape> resolveRequiredDocumentShapeSerde(Model model, Set<Shape> shapes) {
-        Set<ShapeId> processed = new TreeSet<>();
-        Set<Shape> resolvedShapes = new TreeSet<>();
-        Walker walker = new Walker(model);
-
-        shapes.forEach(shape -> {
-            processed.add(shape.getId());
-            resolvedShapes.add(shape);
-            walker.iterateShapes(shape, relationship -> MEMBER_RELATIONSHIPS.contains(
-                            relationship.getRelationshipType()))
-                    .forEachRemaining(walkedShape -> {
-                        // MemberShape type itself is not what we are interested in
-                        if (walkedShape.getType() == ShapeType.MEMBER) {
-                            return;
-                        }
-                        if (processed.contains(walkedShape.getId())) {
-                            return;
-                        }
-                        if (requiresDocumentSerdeFunction(shape)) {
-                            resolvedShapes.add(walkedShape);
-                            processed.add(walkedShape.getId());
-                        }
-                    });
-        });
+        Set<Shape> resolvedShapes = new TreeSet<>(shapes);
+        List<Shape> serdeShapes = shapes.stream()
+                .filter(ProtocolUtils::requiresDocumentSerdeFunction)
+                .collect(Collectors.toList());
+
+        for (Shape shape : GoShapeReachabilityIndex.of(model).getMemberClosure(serdeShapes)) {
+            // MemberShape type itself is not what we are interested in
+            if (shape.getType() != ShapeType.MEMBER) {
+                resolvedShapes.add(shape);
+            }
+        }
 
         return resolvedShapes;
     }
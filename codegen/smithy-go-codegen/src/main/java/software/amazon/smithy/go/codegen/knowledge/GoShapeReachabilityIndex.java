@@ -0,0 +1,218 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.knowledge;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
+import software.amazon.smithy.model.neighbor.NeighborProvider;
+import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.neighbor.RelationshipDirection;
+import software.amazon.smithy.model.neighbor.RelationshipType;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.shapes.ToShapeId;
+import software.amazon.smithy.utils.SetUtils;
+
+/**
+ * Provides a knowledge index of which shapes are reachable from other shapes.
+ * <p>
+ * Every shape of the model is numbered once, and the relationships between shapes are stored as arrays of shape
+ * numbers, so that reachability is computed with bitsets instead of walking the model again. The shapes reachable
+ * from the operation inputs or outputs of a service are computed in a single pass the first time they are needed.
+ */
+public class GoShapeReachabilityIndex implements KnowledgeIndex {
+    private static final Set<RelationshipType> MEMBER_RELATIONSHIPS = SetUtils.of(
+            RelationshipType.STRUCTURE_MEMBER, RelationshipType.UNION_MEMBER, RelationshipType.LIST_MEMBER,
+            RelationshipType.SET_MEMBER, RelationshipType.MAP_VALUE, RelationshipType.MEMBER_TARGET
+    );
+
+    private final Model model;
+    private final Map<ShapeId, Integer> shapeNumbers = new HashMap<>();
+    private final List<Shape> shapes = new ArrayList<>();
+    private final int[][] directedRelationships;
+    private final int[][] memberRelationships;
+    private final int[][] memberRelationshipsReversed;
+    private final Map<ShapeId, BitSet> inputClosures = new ConcurrentHashMap<>();
+    private final Map<ShapeId, BitSet> outputClosures = new ConcurrentHashMap<>();
+
+    public GoShapeReachabilityIndex(Model model) {
+        this.model = model;
+        model.shapes().forEach(shape -> {
+            shapeNumbers.put(shape.getId(), shapes.size());
+            shapes.add(shape);
+        });
+
+        NeighborProvider neighbors = NeighborProviderIndex.of(model).getProvider();
+        int size = shapes.size();
+        directedRelationships = new int[size][];
+        memberRelationships = new int[size][];
+        int[] reversedCounts = new int[size];
+        for (int i = 0; i < size; i++) {
+            List<Integer> directed = new ArrayList<>();
+            List<Integer> members = new ArrayList<>();
+            for (Relationship relationship : neighbors.getNeighbors(shapes.get(i))) {
+                Integer neighbor = shapeNumbers.get(relationship.getNeighborShapeId());
+                if (neighbor == null || relationship.getDirection() != RelationshipDirection.DIRECTED) {
+                    continue;
+                }
+                directed.add(neighbor);
+                if (MEMBER_RELATIONSHIPS.contains(relationship.getRelationshipType())) {
+                    members.add(neighbor);
+                    reversedCounts[neighbor]++;
+                }
+            }
+            directedRelationships[i] = toArray(directed);
+            memberRelationships[i] = toArray(members);
+        }
+
+        memberRelationshipsReversed = new int[size][];
+        for (int i = 0; i < size; i++) {
+            memberRelationshipsReversed[i] = new int[reversedCounts[i]];
+        }
+        int[] filled = new int[size];
+        for (int i = 0; i < size; i++) {
+            for (int neighbor : memberRelationships[i]) {
+                memberRelationshipsReversed[neighbor][filled[neighbor]++] = i;
+            }
+        }
+    }
+
+    public static GoShapeReachabilityIndex of(Model model) {
+        return model.getKnowledge(GoShapeReachabilityIndex.class, GoShapeReachabilityIndex::new);
+    }
+
+    /**
+     * Returns whether a shape is reachable from the input of any operation of a service.
+     *
+     * @param service the service
+     * @param shape   the shape
+     * @return whether the shape is reachable from an operation input
+     */
+    public boolean isReachableFromInput(ToShapeId service, ToShapeId shape) {
+        return isSet(inputClosures.computeIfAbsent(service.toShapeId(),
+                id -> computeOperationClosure(id, OperationIndex::getInput)), shape);
+    }
+
+    /**
+     * Returns whether a shape is reachable from the output of any operation of a service.
+     *
+     * @param service the service
+     * @param shape   the shape
+     * @return whether the shape is reachable from an operation output
+     */
+    public boolean isReachableFromOutput(ToShapeId service, ToShapeId shape) {
+        return isSet(outputClosures.computeIfAbsent(service.toShapeId(),
+                id -> computeOperationClosure(id, OperationIndex::getOutput)), shape);
+    }
+
+    /**
+     * Gets the shapes reachable from the given shapes through members and member targets, including the given
+     * shapes and the member shapes themselves.
+     *
+     * @param roots the shapes to start from
+     * @return the reachable shapes
+     */
+    public Set<Shape> getMemberClosure(Collection<? extends ToShapeId> roots) {
+        return toShapes(traverse(roots, memberRelationships));
+    }
+
+    /**
+     * Gets the shapes that reach any of the given shapes through members and member targets, including the given
+     * shapes.
+     *
+     * @param targets the shapes to reach
+     * @return the shapes that reach a target
+     */
+    public Set<Shape> getShapesReaching(Collection<? extends ToShapeId> targets) {
+        return toShapes(traverse(targets, memberRelationshipsReversed));
+    }
+
+    private BitSet computeOperationClosure(
+            ShapeId serviceId,
+            BiFunction<OperationIndex, OperationShape, Optional<StructureShape>> structure
+    ) {
+        List<ShapeId> roots = new ArrayList<>();
+        model.getShape(serviceId).flatMap(Shape::asServiceShape).ifPresent(service -> {
+            OperationIndex operationIndex = OperationIndex.of(model);
+            for (OperationShape operation : TopDownIndex.of(model).getContainedOperations(service)) {
+                structure.apply(operationIndex, operation).ifPresent(shape -> roots.add(shape.getId()));
+            }
+        });
+        return traverse(roots, directedRelationships);
+    }
+
+    private BitSet traverse(Collection<? extends ToShapeId> roots, int[][] relationships) {
+        BitSet visited = new BitSet(shapes.size());
+        int[] stack = new int[shapes.size()];
+        int top = 0;
+        for (ToShapeId root : roots) {
+            Integer number = shapeNumbers.get(root.toShapeId());
+            if (number != null && !visited.get(number)) {
+                visited.set(number);
+                stack[top++] = number;
+            }
+        }
+
+        // Every shape is pushed at most once, so the stack never holds more shapes than the model has.
+        while (top > 0) {
+            int current = stack[--top];
+            for (int neighbor : relationships[current]) {
+                if (!visited.get(neighbor)) {
+                    visited.set(neighbor);
+                    stack[top++] = neighbor;
+                }
+            }
+        }
+        return visited;
+    }
+
+    private boolean isSet(BitSet closure, ToShapeId shape) {
+        Integer number = shapeNumbers.get(shape.toShapeId());
+        return number != null && closure.get(number);
+    }
+
+    private Set<Shape> toShapes(BitSet closure) {
+        Set<Shape> result = new TreeSet<>();
+        for (int i = closure.nextSetBit(0); i >= 0; i = closure.nextSetBit(i + 1)) {
+            result.add(shapes.get(i));
+        }
+        return result;
+    }
+
+    private static int[] toArray(List<Integer> numbers) {
+        int[] result = new int[numbers.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = numbers.get(i);
+        }
+        return result;
+    }
+}
@@ -15,53 +15,26 @@
 
 package software.amazon.smithy.go.codegen.knowledge;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
-import software.amazon.smithy.model.knowledge.OperationIndex;
-import software.amazon.smithy.model.knowledge.TopDownIndex;
-import software.amazon.smithy.model.neighbor.RelationshipDirection;
-import software.amazon.smithy.model.neighbor.Walker;
 import software.amazon.smithy.model.shapes.ServiceShape;
-import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
-import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.ToShapeId;
 
 /**
  * Provides {@link KnowledgeIndex} of how shapes are used in the model.
  */
 public class GoUsageIndex implements KnowledgeIndex {
-    private final Model model;
-    private final Walker walker;
-
-    private final Set<ShapeId> inputShapes = new HashSet<>();
-    private final Set<ShapeId> outputShapes = new HashSet<>();
+    private final GoShapeReachabilityIndex reachabilityIndex;
+    private final List<ShapeId> services;
 
     public GoUsageIndex(Model model) {
-        this.model = model;
-        this.walker = new Walker(model);
-
-        TopDownIndex topDownIndex = TopDownIndex.of(model);
-        OperationIndex operationIndex = OperationIndex.of(model);
-
-        model.shapes(ServiceShape.class).forEach(serviceShape -> {
-            topDownIndex.getContainedOperations(serviceShape).forEach(operationShape -> {
-                StructureShape inputShape = operationIndex.getInput(operationShape).get();
-                StructureShape outputShape = operationIndex.getOutput(operationShape).get();
-
-                inputShapes.addAll(walker.walkShapes(inputShape, relationship ->
-                        relationship.getDirection() == RelationshipDirection.DIRECTED).stream()
-                        .map(Shape::toShapeId).collect(Collectors.toList()));
-
-                outputShapes.addAll(walker.walkShapes(outputShape, relationship ->
-                        relationship.getDirection() == RelationshipDirection.DIRECTED).stream()
-                        .map(Shape::toShapeId).collect(Collectors.toList()));
-
-            });
-        });
+        this.reachabilityIndex = GoShapeReachabilityIndex.of(model);
+        this.services = model.shapes(ServiceShape.class)
+                .map(ServiceShape::getId)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -71,7 +44,12 @@ public class GoUsageIndex implements KnowledgeIndex {
      * @return whether the shape is used as input.
      */
     public boolean isUsedForInput(ToShapeId shape) {
-        return inputShapes.contains(shape.toShapeId());
+        for (ShapeId service : services) {
+            if (reachabilityIndex.isReachableFromInput(service, shape)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -81,7 +59,12 @@ public class GoUsageIndex implements KnowledgeIndex {
      * @return whether the shape is used as input.
      */
     public boolean isUsedForOutput(ToShapeId shape) {
-        return outputShapes.contains(shape.toShapeId());
+        for (ShapeId service : services) {
+            if (reachabilityIndex.isReachableFromOutput(service, shape)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public static GoUsageIndex of(Model model) {
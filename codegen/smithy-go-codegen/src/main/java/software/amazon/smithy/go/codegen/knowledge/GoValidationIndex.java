@@ -30,17 +30,20 @@
 
 package software.amazon.smithy.go.codegen.knowledge;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
-import software.amazon.smithy.model.neighbor.Walker;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
@@ -49,6 +52,7 @@ import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ToShapeId;
 import software.amazon.smithy.model.traits.HttpLabelTrait;
 import software.amazon.smithy.model.traits.RequiredTrait;
+import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.SetUtils;
 
 /**
@@ -60,54 +64,67 @@ public class GoValidationIndex implements KnowledgeIndex {
 
     public GoValidationIndex(Model model) {
         TopDownIndex topDownIndex = model.getKnowledge(TopDownIndex.class);
-        Walker walker = new Walker(model);
+        GoShapeReachabilityIndex reachabilityIndex = GoShapeReachabilityIndex.of(model);
 
         model.shapes(ServiceShape.class).forEach(serviceShape -> {
             // Go uses unique input shapes per operation so we can index using the input shape as our key
-            Map<Shape, OperationShape> inputShapeToOperation = new HashMap<>();
+            Map<ShapeId, OperationShape> operationsByInput = new HashMap<>();
+            topDownIndex.getContainedOperations(serviceShape).forEach(operationShape -> {
+                operationsByInput.put(operationShape.getInput().get(), operationShape);
+            });
+
+            // First pass is to collect member containers that contain members requiring validation. Http bindings
+            // only imply validation for members of the input shape itself.
             Set<ShapeId> requireValidationHelpers = new TreeSet<>();
+            Set<MemberShape> requiredMembers = new HashSet<>();
+            Set<ShapeId> inputsWithRequiredBindings = new HashSet<>();
+            for (Shape shape : reachabilityIndex.getMemberClosure(operationsByInput.keySet())) {
+                if (!shape.isMemberShape()) {
+                    continue;
+                }
+                MemberShape memberShape = (MemberShape) shape;
+                ShapeId container = memberShape.getContainer();
+                if (isRequiredParameter(model, memberShape, false)) {
+                    requiredMembers.add(memberShape);
+                    requireValidationHelpers.add(container);
+                } else if (operationsByInput.containsKey(container)
+                        && isRequiredParameter(model, memberShape, true)) {
+                    inputsWithRequiredBindings.add(container);
+                    requireValidationHelpers.add(container);
+                }
+            }
 
-            // First pass is to collect member containers that contain members requiring validation
-            Set<OperationShape> operations = topDownIndex.getContainedOperations(serviceShape);
-            operations.forEach(operationShape -> {
-                Shape inputShape = model.expectShape(operationShape.getInput().get());
-                GoValidationIndex.walkValidationTree(walker, inputShape, shape -> {
-                    if (shape.isMemberShape()) {
-                        Shape container = model.expectShape(((MemberShape) shape).getContainer());
-                        if (isRequiredParameter(model, (MemberShape) shape, inputShape.equals(container))) {
-                            inputShapeToOperation.put(inputShape, operationShape);
-                            requireValidationHelpers.add(container.toShapeId());
-                        }
-                    }
-                });
+            // An operation requires validation if its input reaches a member requiring validation
+            Set<Shape> inputsRequiringValidation = new TreeSet<>();
+            Set<Shape> reachingRequiredMembers = reachabilityIndex.getShapesReaching(requiredMembers);
+            operationsByInput.forEach((inputId, operationShape) -> {
+                Shape input = model.expectShape(inputId);
+                if (inputsWithRequiredBindings.contains(inputId) || reachingRequiredMembers.contains(input)) {
+                    inputsRequiringValidation.add(input);
+                }
             });
 
-            // 2nd step is final all containers that reference the initial containers which require validation until
-            // we've discovered all intermediate containing types
-            inputShapeToOperation.keySet().forEach(input -> {
-                Set<ShapeId> helpers = new TreeSet<>();
-                do {
-                    GoValidationIndex.walkValidationTree(walker, input, shape -> {
-                        if (shape.isMemberShape()) {
-                            MemberShape memberShape = shape.asMemberShape().get();
-                            Shape container = model.expectShape(memberShape.getContainer());
-                            Shape target = model.expectShape(memberShape.getTarget());
-                            if (requireValidationHelpers.contains(target.toShapeId())
-                                    && !requireValidationHelpers.contains(container.toShapeId())) {
-                                helpers.add(container.toShapeId());
-                            }
-                        }
-                    });
-                    if (helpers.isEmpty()) {
-                        break;
+            // 2nd step is to find all containers that reference the initial containers which require validation,
+            // directly or through intermediate containers. Each member in the input trees is indexed by its target
+            // once, and the need for a helper is propagated from targets to the containers referencing them.
+            Map<ShapeId, List<ShapeId>> containersByTarget = new HashMap<>();
+            for (Shape shape : reachabilityIndex.getMemberClosure(inputsRequiringValidation)) {
+                shape.asMemberShape().ifPresent(memberShape -> containersByTarget
+                        .computeIfAbsent(memberShape.getTarget(), target -> new ArrayList<>())
+                        .add(memberShape.getContainer()));
+            }
+            Deque<ShapeId> worklist = new ArrayDeque<>(requireValidationHelpers);
+            while (!worklist.isEmpty()) {
+                for (ShapeId container : containersByTarget.getOrDefault(worklist.pop(), ListUtils.of())) {
+                    if (requireValidationHelpers.add(container)) {
+                        worklist.push(container);
                     }
-                    requireValidationHelpers.addAll(helpers);
-                    helpers.clear();
-                } while (true);
-            });
+                }
+            }
 
-            serviceToOperationMap.put(serviceShape.toShapeId(), new TreeSet<>(inputShapeToOperation.values().stream()
-                    .map(OperationShape::toShapeId).collect(Collectors.toSet())));
+            serviceToOperationMap.put(serviceShape.toShapeId(), inputsRequiringValidation.stream()
+                    .map(input -> operationsByInput.get(input.getId()).toShapeId())
+                    .collect(Collectors.toCollection(TreeSet::new)));
             serviceValidationHelpers.put(serviceShape.toShapeId(), requireValidationHelpers);
         });
     }
@@ -171,20 +188,4 @@ public class GoValidationIndex implements KnowledgeIndex {
         return requiredTrait.isPresent() || (validateHttpBindings && shape.getMemberTrait(model,
                 HttpLabelTrait.class).isPresent());
     }
-
-    private static void walkValidationTree(Walker walker, Shape shape, Consumer<Shape> visitor) {
-        walker.walkShapes(shape, relationship -> {
-            switch (relationship.getRelationshipType()) {
-                case STRUCTURE_MEMBER:
-                case UNION_MEMBER:
-                case MAP_VALUE:
-                case LIST_MEMBER:
-                case SET_MEMBER:
-                case MEMBER_TARGET:
-                    return true;
-                default:
-                    return false;
-            }
-        }).forEach(visitor::accept);
-    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.loadSmithyModelFromResource;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+
+public class CacheOperationStacksTest {
+    @Test
+    public void buildsStacksPerInvocationByDefault() {
+        String client = generateClient(false);
+
+        assertThat(client, containsString("stack := middleware.NewStack(opID, smithyhttp.NewStackRequest)"));
+        assertThat(client, not(containsString("HandlerCache")));
+        assertThat(client, not(containsString("buildOperationHandler")));
+    }
+
+    @Test
+    public void cachesStacksOfInvocationsWithoutOptions() {
+        String client = generateClient(true);
+
+        assertThat(client, containsString("handlers *middleware.HandlerCache"));
+        assertThat(client, containsString("handlers: middleware.NewHandlerCache(),"));
+        assertThat(client, containsString("if len(optFns) == 0 && len(stackFns) == 1 {"));
+        assertThat(client, containsString("handler, err = c.handlers.GetOrBuild(opID, "
+                + "func() (middleware.Handler, error) {"));
+        assertThat(client, containsString("func (c *Client) buildOperationHandler(opID string, "
+                + "optFns []func(*Options), stackFns []func(*middleware.Stack, Options) error) "
+                + "(middleware.Handler, error) {"));
+        assertThat(client, containsString("if err := fn(stack, options); err != nil { return nil, err }"));
+    }
+
+    private static String generateClient(boolean cacheOperationStacks) {
+        Model model = loadSmithyModelFromResource("mixin-test");
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+                .model(model)
+                .fileManifest(manifest)
+                .settings(getSettingsNode("smithy.example#Example", "example", "0.0.1", false, "Example")
+                        .withMember("cacheOperationStacks", Node.from(cacheOperationStacks)))
+                .build();
+        new GoCodegenPlugin().execute(context);
+        return manifest.expectFileString("api_client.go");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItems;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.loadSmithyModelFromResource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.go.codegen.integration.ValidationGenerator;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+
+public class CodegenReportTest {
+    @Test
+    public void writesReportOfPhases() {
+        ObjectNode report = generate(true);
+        Map<String, ObjectNode> phases = getPhases(report);
+
+        assertThat(report.expectStringMember("service").getValue(), equalTo("smithy.example#Example"));
+        assertThat(report.expectNumberMember("wallTimeNanos").getValue().longValue(), greaterThan(0L));
+        assertThat(phases.keySet(), hasItems(
+                "discoverIntegrations",
+                "flattenMixins",
+                "walkShapes",
+                "generateShapes",
+                "flushWriters",
+                "writeManifest",
+                "writeAdditionalFiles:" + ValidationGenerator.class.getName()));
+
+        for (ObjectNode phase : phases.values()) {
+            assertThat(phase.expectNumberMember("wallTimeNanos").getValue().longValue(), greaterThanOrEqualTo(0L));
+            assertThat(phase.expectNumberMember("allocatedBytes").getValue().longValue(), greaterThanOrEqualTo(-1L));
+        }
+        assertThat(phases.get("generateShapes").expectNumberMember("outputBytes").getValue().longValue(),
+                greaterThan(0L));
+        assertThat(phases.get("walkShapes").expectNumberMember("outputBytes").getValue().longValue(),
+                equalTo(0L));
+    }
+
+    @Test
+    public void doesNotWriteReportByDefault() {
+        MockManifest manifest = new MockManifest();
+        new GoCodegenPlugin().execute(buildContext(manifest, false));
+
+        assertThat(manifest.hasFile("codegen-report.json"), equalTo(false));
+    }
+
+    private static ObjectNode generate(boolean codegenReport) {
+        MockManifest manifest = new MockManifest();
+        new GoCodegenPlugin().execute(buildContext(manifest, codegenReport));
+        return Node.parse(manifest.expectFileString("codegen-report.json")).expectObjectNode();
+    }
+
+    private static Map<String, ObjectNode> getPhases(ObjectNode report) {
+        // Phases such as releaseWriters run several times, the last one is kept.
+        Map<String, ObjectNode> phases = new LinkedHashMap<>();
+        for (Node phase : report.expectArrayMember("phases")) {
+            ObjectNode phaseNode = phase.expectObjectNode();
+            phases.put(phaseNode.expectStringMember("name").getValue(), phaseNode);
+        }
+        return phases;
+    }
+
+    private static PluginContext buildContext(MockManifest manifest, boolean codegenReport) {
+        Model model = loadSmithyModelFromResource("mixin-test");
+        return PluginContext.builder()
+                .model(model)
+                .fileManifest(manifest)
+                .settings(getSettingsNode("smithy.example#Example", "example", "0.0.1", false, "Example")
+                        .withMember("codegenReport", Node.from(codegenReport)))
+                .build();
+    }
+}
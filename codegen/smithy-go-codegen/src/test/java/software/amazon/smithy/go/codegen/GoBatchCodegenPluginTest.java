@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static software.amazon.smithy.go.codegen.TestUtils.buildMockPluginContext;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.loadSmithyModelFromResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.codegen.core.CodegenException;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+
+public class GoBatchCodegenPluginTest {
+    private static final Model TWO_SERVICES_MODEL = Model.assembler()
+            .addUnparsedModel("test.smithy", String.join("\n",
+                    "$version: \"2.0\"",
+                    "namespace smithy.example",
+                    "service First {",
+                    "    version: \"1.0.0\"",
+                    "    operations: [GetFoo]",
+                    "}",
+                    "service Second {",
+                    "    version: \"1.0.0\"",
+                    "    operations: [GetFoo, GetBar]",
+                    "}",
+                    "@mixin",
+                    "structure Common {",
+                    "    name: String",
+                    "}",
+                    "operation GetFoo {",
+                    "    input := with [Common] {",
+                    "        foo: String",
+                    "    }",
+                    "}",
+                    "operation GetBar {",
+                    "    input := with [Common] {",
+                    "        bar: String",
+                    "    }",
+                    "}"))
+            .assemble()
+            .unwrap();
+
+    @Test
+    public void generatesEachServiceIntoItsOutputDirectory(@TempDir Path outputDir) {
+        Model model = loadSmithyModelFromResource("mixin-test");
+
+        new GoBatchCodegenPlugin().execute(buildBatchContext(model, outputDir,
+                getServiceSettings("smithy.example#Example").withMember("outputDirectory", Node.from("example"))));
+
+        assertGeneratedService(model, "smithy.example#Example", outputDir.resolve("example"));
+    }
+
+    @Test
+    public void generatesServicesSharingBatchWork(@TempDir Path outputDir) {
+        new GoBatchCodegenPlugin().execute(buildBatchContext(TWO_SERVICES_MODEL, outputDir,
+                getServiceSettings("smithy.example#First"),
+                getServiceSettings("smithy.example#Second")
+                        .withMember("outputDirectory", Node.from("services/second"))));
+
+        assertGeneratedService(TWO_SERVICES_MODEL, "smithy.example#First", outputDir.resolve("First"));
+        assertGeneratedService(TWO_SERVICES_MODEL, "smithy.example#Second", outputDir.resolve("services/second"));
+        assertThat(Files.exists(outputDir.resolve("services/second/api_op_GetBar.go")), equalTo(true));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"../example", "example/../../example", "/tmp/example"})
+    public void rejectsOutputDirectoriesOutsideOfPluginOutput(String outputDirectory, @TempDir Path tempDir) {
+        Path outputDir = tempDir.resolve("output");
+        PluginContext context = buildBatchContext(TWO_SERVICES_MODEL, outputDir,
+                getServiceSettings("smithy.example#First").withMember("outputDirectory", Node.from(outputDirectory)));
+
+        CodegenException e = assertThrows(CodegenException.class, () -> new GoBatchCodegenPlugin().execute(context));
+        assertThat(e.getMessage(), containsString(outputDirectory));
+    }
+
+    private static ObjectNode getServiceSettings(String serviceId) {
+        return getSettingsNode(serviceId, "example", "0.0.1", false, "Example");
+    }
+
+    private static PluginContext buildBatchContext(Model model, Path outputDir, ObjectNode... services) {
+        return PluginContext.builder()
+                .model(model)
+                .fileManifest(FileManifest.create(outputDir))
+                .settings(Node.objectNode().withMember("services", Node.fromNodes(services)))
+                .build();
+    }
+
+    private static void assertGeneratedService(Model model, String serviceId, Path serviceDir) {
+        MockManifest expected = new MockManifest();
+        new GoCodegenPlugin().execute(buildMockPluginContext(model, expected, serviceId));
+
+        for (Path file : expected.getFiles()) {
+            Path relative = expected.getBaseDir().relativize(file);
+            if (relative.toString().equals("generated.json")) {
+                continue;
+            }
+            try {
+                assertThat(relative.toString(), Files.readString(serviceDir.resolve(relative)),
+                        equalTo(expected.expectFileString(file)));
+            } catch (IOException e) {
+                throw new AssertionError("missing generated file " + relative + " of " + serviceId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.loadSmithyModelFromResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+
+public class IncrementalCacheTest {
+    @Test
+    public void generatesSameFilesFromCache() throws Exception {
+        Path cacheDir = Files.createTempDirectory(getClass().getName());
+        Model model = loadSmithyModelFromResource("mixin-test");
+
+        MockManifest uncached = generate(model, cacheDir);
+        MockManifest cached = generate(model, cacheDir);
+
+        assertThat(cached.getFiles(), equalTo(uncached.getFiles()));
+        for (var file : uncached.getFiles()) {
+            assertThat(file.toString(), cached.expectFileString(file), equalTo(uncached.expectFileString(file)));
+        }
+    }
+
+    @Test
+    public void regeneratesChangedShapes() throws Exception {
+        Path cacheDir = Files.createTempDirectory(getClass().getName());
+        Model model = loadSmithyModelFromResource("mixin-test");
+        generate(model, cacheDir);
+
+        StructureShape card = model.expectShape(ShapeId.from("smithy.example#Card"), StructureShape.class);
+        Model updated = model.toBuilder()
+                .addShape(card.toBuilder().addTrait(new DocumentationTrait("An updated card.")).build())
+                .build();
+        MockManifest regenerated = generate(updated, cacheDir);
+        MockManifest expected = generate(updated, null);
+
+        assertThat(regenerated.getFiles(), equalTo(expected.getFiles()));
+        for (var file : expected.getFiles()) {
+            assertThat(file.toString(), regenerated.expectFileString(file), equalTo(expected.expectFileString(file)));
+        }
+    }
+
+    private static MockManifest generate(Model model, Path cacheDir) {
+        MockManifest manifest = new MockManifest();
+        var settings = getSettingsNode("smithy.example#Example", "example", "0.0.1", false, "Example");
+        if (cacheDir != null) {
+            settings = settings.withMember("incrementalCacheDir", Node.from(cacheDir.toString()));
+        }
+        PluginContext context = PluginContext.builder()
+                .model(model)
+                .fileManifest(manifest)
+                .settings(settings)
+                .build();
+        new GoCodegenPlugin().execute(context);
+        return manifest;
+    }
+}
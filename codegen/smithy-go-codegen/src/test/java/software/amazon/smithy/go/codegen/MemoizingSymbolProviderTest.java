@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.codegen.core.Symbol;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StringShape;
+
+public class MemoizingSymbolProviderTest {
+    @Test
+    public void resolvesEachShapeOnce() {
+        AtomicInteger resolved = new AtomicInteger();
+        SymbolProvider delegate = new SymbolProvider() {
+            @Override
+            public Symbol toSymbol(Shape shape) {
+                resolved.incrementAndGet();
+                return SymbolUtils.createValueSymbolBuilder(shape.getId().getName()).build();
+            }
+
+            @Override
+            public String toMemberName(MemberShape shape) {
+                resolved.incrementAndGet();
+                return shape.getMemberName();
+            }
+        };
+        MemoizingSymbolProvider provider = new MemoizingSymbolProvider(delegate);
+        StringShape shape = StringShape.builder().id("smithy.example#Name").build();
+
+        Symbol symbol = provider.toSymbol(shape);
+
+        assertThat(provider.toSymbol(shape), sameInstance(symbol));
+        assertThat(provider.toSymbol(shape), sameInstance(symbol));
+        assertThat(resolved.get(), equalTo(1));
+        assertThat(provider.getHits(), equalTo(2L));
+        assertThat(provider.getMisses(), equalTo(1L));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.loadSmithyModelFromResource;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+
+public class ParallelCodegenTest {
+    @Test
+    public void generatesSameFilesAsSerialGeneration() {
+        Model model = loadSmithyModelFromResource("mixin-test");
+
+        MockManifest serial = generate(model, 1);
+        MockManifest parallel = generate(model, 4);
+
+        assertThat(parallel.getFiles(), equalTo(serial.getFiles()));
+        for (var file : serial.getFiles()) {
+            assertThat(file.toString(), parallel.expectFileString(file), equalTo(serial.expectFileString(file)));
+        }
+    }
+
+    @Test
+    public void generatesShapesCallingIntegrationHooksInOrder() {
+        // Errors and the service are generated on the calling thread, between the chunks of the
+        // other shapes generated on the worker pool.
+        Model model = Model.assembler()
+                .addUnparsedModel("test.smithy", String.join("\n",
+                        "$version: \"2.0\"",
+                        "namespace smithy.example",
+                        "service Example { version: \"1\", operations: [GetA] }",
+                        "operation GetA { input: AInput, output: BOutput, errors: [AError, CError] }",
+                        "@error(\"client\")",
+                        "structure AError { message: String }",
+                        "structure AInput { b: B, c: C, d: D }",
+                        "structure B { value: String }",
+                        "structure BOutput { e: E }",
+                        "structure C { value: Integer }",
+                        "@error(\"server\")",
+                        "structure CError { message: String }",
+                        "structure D { value: Boolean }",
+                        "union E { b: B, c: C }"))
+                .assemble()
+                .unwrap();
+
+        MockManifest serial = generate(model, 1);
+        MockManifest parallel = generate(model, 3);
+
+        assertThat(parallel.getFiles(), equalTo(serial.getFiles()));
+        for (var file : serial.getFiles()) {
+            assertThat(file.toString(), parallel.expectFileString(file), equalTo(serial.expectFileString(file)));
+        }
+    }
+
+    private static MockManifest generate(Model model, int codegenThreads) {
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+                .model(model)
+                .fileManifest(manifest)
+                .settings(getSettingsNode("smithy.example#Example", "example", "0.0.1", false, "Example")
+                        .withMember("codegenThreads", Node.from(codegenThreads)))
+                .build();
+        new GoCodegenPlugin().execute(context);
+        return manifest;
+    }
+}
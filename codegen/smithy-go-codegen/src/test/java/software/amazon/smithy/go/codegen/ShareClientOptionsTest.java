@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.hasGoInstalled;
+import static software.amazon.smithy.go.codegen.TestUtils.loadSmithyModelFromResource;
+import static software.amazon.smithy.go.codegen.TestUtils.makeGoModule;
+import static software.amazon.smithy.go.codegen.TestUtils.testGoModule;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.model.Model;
+
+public class ShareClientOptionsTest {
+    private static final Logger LOGGER = Logger.getLogger(ShareClientOptionsTest.class.getName());
+
+    private static final String OPTIONS_TEST = String.join("\n",
+            "package example",
+            "",
+            "import (",
+            "\t\"context\"",
+            "\t\"fmt\"",
+            "\t\"testing\"",
+            "",
+            "\t\"github.com/aws/smithy-go/middleware\"",
+            ")",
+            "",
+            "func TestOperationAPIOptionsDoNotModifyClient(t *testing.T) {",
+            "\tnoop := func(*middleware.Stack) error { return nil }",
+            "\tappendAPIOption := func(o *Options) { o.APIOptions = append(o.APIOptions, noop) }",
+            "",
+            "\tcases := map[string]struct {",
+            "\t\tOptFns   []func(*Options)",
+            "\t\tStackFns []func(*middleware.Stack, Options) error",
+            "\t}{",
+            "\t\t\"shared options\": {",
+            "\t\t\tStackFns: []func(*middleware.Stack, Options) error{",
+            "\t\t\t\tfunc(stack *middleware.Stack, o Options) error {",
+            "\t\t\t\t\tappendAPIOption(&o)",
+            "\t\t\t\t\treturn nil",
+            "\t\t\t\t},",
+            "\t\t\t},",
+            "\t\t},",
+            "\t\t\"copied options\": {",
+            "\t\t\tOptFns: []func(*Options){appendAPIOption},",
+            "\t\t},",
+            "\t}",
+            "",
+            "\tfor name, c := range cases {",
+            "\t\tt.Run(name, func(t *testing.T) {",
+            "\t\t\tstop := fmt.Errorf(\"stop\")",
+            "\t\t\tapiOptions := make([]func(*middleware.Stack) error, 1, 4)",
+            "\t\t\tapiOptions[0] = func(*middleware.Stack) error { return stop }",
+            "\t\t\tclient := New(Options{APIOptions: apiOptions})",
+            "",
+            "\t\t\t_, _, err := client.invokeOperation(context.Background(), \"ChangeCard\", nil, c.OptFns,",
+            "\t\t\t\tc.StackFns...)",
+            "\t\t\tif err == nil {",
+            "\t\t\t\tt.Fatalf(\"expect API option error, got none\")",
+            "\t\t\t}",
+            "",
+            "\t\t\tif e, a := 1, len(client.options.APIOptions); e != a {",
+            "\t\t\t\tt.Errorf(\"expect %v client API options, got %v\", e, a)",
+            "\t\t\t}",
+            "\t\t\tif apiOptions[:2][1] != nil {",
+            "\t\t\t\tt.Errorf(\"expect client API options backing array to be unmodified\")",
+            "\t\t\t}",
+            "\t\t})",
+            "\t}",
+            "}",
+            "");
+
+    @Test
+    public void sharesClientOptionsWithoutPerCallOptions() {
+        Model model = loadSmithyModelFromResource("mixin-test");
+        MockManifest manifest = new MockManifest();
+        new GoCodegenPlugin().execute(buildContext(model, manifest));
+        String client = manifest.expectFileString("api_client.go");
+
+        assertThat(client, containsString("options := c.options\n"
+                + "\tif len(optFns) == 0 {\n"
+                + "\t\toptions.APIOptions = options.APIOptions[:len(options.APIOptions):len(options.APIOptions)]\n"
+                + "\t} else {\n"
+                + "\t\toptions = c.options.Copy()\n"
+                + "\t}\n"));
+    }
+
+    @Test
+    public void operationsCannotModifyClientAPIOptions() throws Exception {
+        if (!hasGoInstalled()) {
+            LOGGER.warning("Skipping operationsCannotModifyClientAPIOptions, go command cannot be executed.");
+            return;
+        }
+
+        Path testPath = Files.createTempDirectory(getClass().getName());
+        Model model = loadSmithyModelFromResource("mixin-test");
+        new GoCodegenPlugin().execute(buildContext(model, FileManifest.create(testPath)));
+        Files.writeString(testPath.resolve("api_client_options_test.go"), OPTIONS_TEST);
+
+        makeGoModule(testPath);
+        testGoModule(testPath);
+    }
+
+    private static PluginContext buildContext(Model model, FileManifest manifest) {
+        return PluginContext.builder()
+                .model(model)
+                .fileManifest(manifest)
+                .settings(getSettingsNode("smithy.example#Example", "example", "0.0.1", false, "Example"))
+                .build();
+    }
+}
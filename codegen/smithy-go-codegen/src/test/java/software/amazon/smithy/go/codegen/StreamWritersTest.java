@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+import static software.amazon.smithy.go.codegen.TestUtils.loadSmithyModelFromResource;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+
+public class StreamWritersTest {
+    @Test
+    public void generatesSameFilesAsBufferedGeneration() {
+        Model model = loadSmithyModelFromResource("mixin-test");
+
+        MockManifest buffered = generate(model, false);
+        MockManifest streamed = generate(model, true);
+
+        assertThat(streamed.getFiles(), equalTo(buffered.getFiles()));
+        for (var file : buffered.getFiles()) {
+            assertThat(file.toString(), streamed.expectFileString(file), equalTo(buffered.expectFileString(file)));
+        }
+    }
+
+    private static MockManifest generate(Model model, boolean streamWriters) {
+        MockManifest manifest = new MockManifest();
+        PluginContext context = PluginContext.builder()
+                .model(model)
+                .fileManifest(manifest)
+                .settings(getSettingsNode("smithy.example#Example", "example", "0.0.1", false, "Example")
+                        .withMember("streamWriters", Node.from(streamWriters)))
+                .build();
+        new GoCodegenPlugin().execute(context);
+        return manifest;
+    }
+}
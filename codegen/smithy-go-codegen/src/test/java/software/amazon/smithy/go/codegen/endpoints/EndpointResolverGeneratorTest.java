@@ -0,0 +1,288 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.endpoints;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.go.codegen.SymbolUtils;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+
+public class EndpointResolverGeneratorTest {
+    private static final String RULE_SET = """
+            {
+                "version": "1.0",
+                "parameters": {
+                    "Region": {"type": "String"},
+                    "UseFIPS": {"type": "Boolean", "required": true, "default": false}
+                },
+                "rules": [
+                    {
+                        "type": "endpoint",
+                        "conditions": [
+                            {"fn": "isSet", "argv": [{"ref": "Region"}]},
+                            {"fn": "booleanEquals", "argv": [{"ref": "UseFIPS"}, true]}
+                        ],
+                        "endpoint": {"url": "https://fips.example.com", "properties": {}, "headers": {}}
+                    },
+                    {
+                        "type": "endpoint",
+                        "conditions": [],
+                        "endpoint": {"url": "https://example.com", "properties": {}, "headers": {}}
+                    }
+                ]
+            }
+            """;
+
+    private static final String SHARED_CONDITIONS_RULE_SET = """
+            {
+                "version": "1.0",
+                "parameters": {
+                    "Region": {"type": "String"},
+                    "UseFIPS": {"type": "Boolean", "required": true, "default": false}
+                },
+                "rules": [
+                    {
+                        "type": "endpoint",
+                        "conditions": [
+                            {"fn": "isSet", "argv": [{"ref": "Region"}]},
+                            {"fn": "booleanEquals", "argv": [{"ref": "UseFIPS"}, true]}
+                        ],
+                        "endpoint": {"url": "https://fips.example.com", "properties": {}, "headers": {}}
+                    },
+                    {
+                        "type": "endpoint",
+                        "conditions": [
+                            {"fn": "isSet", "argv": [{"ref": "Region"}]}
+                        ],
+                        "endpoint": {"url": "https://regional.example.com", "properties": {}, "headers": {}}
+                    },
+                    {
+                        "type": "endpoint",
+                        "conditions": [
+                            {"fn": "isSet", "argv": [{"ref": "Region"}]}
+                        ],
+                        "endpoint": {"url": "https://unreachable.example.com", "properties": {}, "headers": {}}
+                    },
+                    {
+                        "type": "error",
+                        "conditions": [],
+                        "error": "Region must be set"
+                    }
+                ]
+            }
+            """;
+
+    private static final String TEMPLATED_RULE_SET = """
+            {
+                "version": "1.0",
+                "parameters": {
+                    "Region": {"type": "String", "required": true, "default": "us-west-2"}
+                },
+                "rules": [
+                    {
+                        "type": "endpoint",
+                        "conditions": [],
+                        "endpoint": {
+                            "url": "https://service.{Region}.example.com",
+                            "properties": {},
+                            "headers": {"x-region": ["{Region}"], "x-service": ["service"]}
+                        }
+                    }
+                ]
+            }
+            """;
+
+    @Test
+    public void generatesResolverWithoutCacheByDefault() {
+        String resolver = generate(0);
+
+        assertThat(resolver, containsString("type resolver struct{}"));
+        assertThat(resolver, not(containsString("endpointParametersCacheKey")));
+    }
+
+    @Test
+    public void generatesCachedResolver() {
+        String resolver = generate(128);
+
+        assertThat(resolver, containsString("cache: clock.New(128),"));
+        assertThat(resolver, containsString("key := newEndpointParametersCacheKey(params)"));
+        assertThat(resolver, containsString("endpoint, err = r.resolveEndpoint(ctx, params)"));
+        assertThat(resolver, containsString("func (r *resolver) CacheStats() (hits, misses uint64) {"));
+        assertThat(resolver, containsString("""
+                type endpointParametersCacheKey struct {
+                    Region string
+                    RegionIsSet bool
+                    UseFIPS bool
+                    UseFIPSIsSet bool
+                }
+                """.replace("    ", "\t")));
+        assertThat(resolver, containsString("""
+                    if p.UseFIPS != nil {
+                        k.UseFIPS = *p.UseFIPS
+                        k.UseFIPSIsSet = true
+                    }
+                """.replace("    ", "\t")));
+    }
+
+    @Test
+    public void copiesEndpointsIntoAndOutOfCache() {
+        String resolver = generate(128);
+
+        assertThat(resolver, containsString("return cloneCachedEndpoint(v.(smithyendpoints.Endpoint)), nil"));
+        assertThat(resolver, containsString("r.cache.Put(key, cloneCachedEndpoint(endpoint))"));
+        assertThat(resolver, containsString("""
+                func cloneCachedEndpoint(endpoint smithyendpoints.Endpoint) smithyendpoints.Endpoint {
+                    endpoint.Headers = endpoint.Headers.Clone()
+                    var properties smithy.Properties
+                    properties.SetAll(&endpoint.Properties)
+                    endpoint.Properties = properties
+                    return endpoint
+                }
+                """.replace("    ", "\t")));
+        assertThat(resolver, not(containsString("must not be modified")));
+    }
+
+    @Test
+    public void setsParameterDefaultsOnceWithCache() {
+        assertThat(countOccurrences(generate(128), "params = params.WithDefaults()"), equalTo(1));
+        assertThat(countOccurrences(generate(0), "params = params.WithDefaults()"), equalTo(1));
+    }
+
+    @Test
+    public void evaluatesSharedConditionsOnce() {
+        String resolver = generate(SHARED_CONDITIONS_RULE_SET, 0);
+
+        assertThat(countOccurrences(resolver, "if exprVal := params.Region; exprVal != nil {"), equalTo(1));
+        assertThat(resolver, containsString("https://fips.example.com"));
+        assertThat(resolver, containsString("https://regional.example.com"));
+        assertThat(resolver, not(containsString("https://unreachable.example.com")));
+        assertThat(resolver, containsString("Region must be set"));
+    }
+
+    @Test
+    public void specializesResolverOnClientConstantParameters() {
+        String resolver = generate(RULE_SET, 0, Set.of("UseFIPS"));
+
+        assertThat(resolver, containsString("if *params.UseFIPS {"));
+        assertThat(resolver, containsString("variant |= 1"));
+        assertThat(resolver, containsString("case 0:"));
+        assertThat(resolver, containsString("default:"));
+        assertThat(resolver, not(containsString("unexpected endpoint resolver variant")));
+        assertThat(resolver, containsString("return r.resolveEndpointVariant0(ctx, params)"));
+        assertThat(resolver, containsString("return r.resolveEndpointVariant1(ctx, params)"));
+        assertThat(resolver, containsString("func (r *resolver) resolveEndpointVariant0("));
+        assertThat(resolver, containsString("func (r *resolver) resolveEndpointVariant1("));
+        assertThat(countOccurrences(resolver, "https://fips.example.com"), equalTo(1));
+        assertThat(resolver, not(containsString("_UseFIPS == true")));
+    }
+
+    @Test
+    public void doesNotSpecializeOnOtherParameters() {
+        String resolver = generate(RULE_SET, 0, Set.of("Region"));
+
+        assertThat(resolver, not(containsString("resolveEndpointVariant")));
+        assertThat(resolver, containsString("_UseFIPS == true"));
+    }
+
+    @Test
+    public void sharesStaticEndpoints() {
+        String resolver = generate(0);
+
+        assertThat(resolver, containsString("return endpoint, staticEndpoint0.err"));
+        assertThat(resolver, containsString("URI: staticEndpoint0.uri,"));
+        assertThat(resolver, containsString("URI: staticEndpoint1.uri,"));
+        assertThat(resolver, containsString("var staticEndpoint0 = newStaticEndpoint(\"https://fips.example.com\")"));
+        assertThat(resolver, containsString("var staticEndpoint1 = newStaticEndpoint(\"https://example.com\")"));
+        assertThat(resolver, not(containsString("uriString :=")));
+    }
+
+    @Test
+    public void buildsStaticEndpointMapsPerResolution() {
+        String resolver = generate(0);
+
+        // Only the parsed URI is shared, the headers and properties of every resolved endpoint are its own.
+        assertThat(resolver, containsString("uri url.URL"));
+        assertThat(resolver, not(containsString("staticEndpoint0.endpoint")));
+        assertThat(countOccurrences(resolver, "Headers: http.Header{},"), equalTo(2));
+    }
+
+    @Test
+    public void namesStaticEndpointsInRuleSetOrder() {
+        // Specializing writes the variant methods after the resolver, the names must not depend on it.
+        String resolver = generate(RULE_SET, 0, Set.of("UseFIPS"));
+
+        assertThat(resolver, containsString("var staticEndpoint0 = newStaticEndpoint(\"https://fips.example.com\")"));
+        assertThat(resolver, containsString("var staticEndpoint1 = newStaticEndpoint(\"https://example.com\")"));
+    }
+
+    @Test
+    public void sizesTemplatedEndpointBuilders() {
+        String resolver = generate(TEMPLATED_RULE_SET, 0);
+
+        assertThat(resolver, containsString("uriString :="));
+        assertThat(resolver, containsString("out.Grow(44)"));
+        assertThat(resolver, containsString("headers := make(http.Header, 2)"));
+        assertThat(resolver, not(containsString("newStaticEndpoint")));
+    }
+
+    private static int countOccurrences(String s, String substring) {
+        int count = 0;
+        for (int i = s.indexOf(substring); i >= 0; i = s.indexOf(substring, i + substring.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String generate(int cacheSize) {
+        return generate(RULE_SET, cacheSize);
+    }
+
+    private static String generate(String ruleSet, int cacheSize) {
+        return generate(ruleSet, cacheSize, Set.of());
+    }
+
+    private static String generate(String ruleSet, int cacheSize, Set<String> clientConstantParameters) {
+        EndpointResolverGenerator generator = EndpointResolverGenerator.builder()
+                .parametersType(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.PARAMETERS_TYPE_NAME).build())
+                .resolverInterfaceType(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.RESOLVER_INTERFACE_NAME).build())
+                .resolverImplementationType(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.RESOLVER_IMPLEMENTATION_NAME).build())
+                .newResolverFn(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.NEW_RESOLVER_FUNC_NAME).build())
+                .endpointType(SymbolUtils.createValueSymbolBuilder("Endpoint",
+                        SmithyGoDependency.SMITHY_ENDPOINTS).build())
+                .resolveEndpointMethodName(EndpointResolutionGenerator.RESOLVER_ENDPOINT_METHOD_NAME)
+                .fnProvider(new FnGenerator.DefaultFnProvider())
+                .cacheSize(cacheSize)
+                .clientConstantParameters(clientConstantParameters)
+                .build();
+
+        GoWriter writer = new GoWriter("example");
+        writer.write("$W", generator.generate(Optional.of(EndpointRuleSet.fromNode(Node.parse(ruleSet)))));
+        return writer.toString();
+    }
+}
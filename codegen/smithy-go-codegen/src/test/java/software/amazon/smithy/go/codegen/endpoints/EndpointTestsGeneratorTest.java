@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.smithy.go.codegen.endpoints;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.SmithyGoDependency;
+import software.amazon.smithy.go.codegen.SymbolUtils;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+
+public class EndpointTestsGeneratorTest {
+    private static final String RULE_SET = """
+            {
+                "version": "1.0",
+                "parameters": {
+                    "Region": {"type": "String"}
+                },
+                "rules": [
+                    {
+                        "type": "endpoint",
+                        "conditions": [],
+                        "endpoint": {"url": "https://example.com", "properties": {}, "headers": {}}
+                    }
+                ]
+            }
+            """;
+
+    @Test
+    public void generatesBenchmarkFromTestCases() {
+        String tests = generate(List.of(
+                EndpointTestCase.fromNode(Node.parse("""
+                        {"params": {"Region": "us-west-2"}, "expect": {"endpoint": {"url": "https://example.com"}}}
+                        """)),
+                EndpointTestCase.fromNode(Node.parse("""
+                        {"params": {}, "expect": {"endpoint": {"url": "https://example.com"}}}
+                        """))));
+
+        assertThat(tests, containsString("func TestEndpointCase1(t *testing.T) {"));
+        assertThat(tests, containsString("func BenchmarkEndpointResolution(b *testing.B) {"));
+        assertThat(tests, containsString("// case 0"));
+        assertThat(tests, containsString("ptr.String(\"us-west-2\")"));
+        assertThat(tests, containsString("// case 1"));
+        assertThat(tests, containsString("b.Run(fmt.Sprintf(\"Case%d\", i), func(b *testing.B) {"));
+        assertThat(tests, containsString("b.ReportAllocs()"));
+        assertThat(tests, containsString("resolver.ResolveEndpoint(ctx, cases[n%len(cases)])"));
+    }
+
+    @Test
+    public void doesNotGenerateBenchmarkWithoutTestCases() {
+        assertThat(generate(List.of()), not(containsString("BenchmarkEndpointResolution")));
+    }
+
+    private static String generate(List<EndpointTestCase> testCases) {
+        EndpointTestsGenerator generator = EndpointTestsGenerator.builder()
+                .parametersType(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.PARAMETERS_TYPE_NAME).build())
+                .newResolverFn(SymbolUtils.createValueSymbolBuilder(
+                        EndpointResolutionGenerator.NEW_RESOLVER_FUNC_NAME).build())
+                .endpointType(SymbolUtils.createValueSymbolBuilder("Endpoint",
+                        SmithyGoDependency.SMITHY_ENDPOINTS).build())
+                .resolveEndpointMethodName(EndpointResolutionGenerator.RESOLVER_ENDPOINT_METHOD_NAME)
+                .build();
+
+        GoWriter writer = new GoWriter("example");
+        writer.write("$W", generator.generate(
+                Optional.of(EndpointRuleSet.fromNode(Node.parse(RULE_SET))), testCases));
+        return writer.toString();
+    }
+}
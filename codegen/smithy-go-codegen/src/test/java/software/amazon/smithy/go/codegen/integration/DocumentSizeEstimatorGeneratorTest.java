@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.integration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoDelegator;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator.GenerationContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class DocumentSizeEstimatorGeneratorTest {
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("test.smithy", String.join("\n",
+                    "$version: \"2.0\"",
+                    "namespace smithy.example",
+                    "service Example {",
+                    "    version: \"1.0.0\"",
+                    "    operations: [PutFoo]",
+                    "}",
+                    "operation PutFoo {",
+                    "    input: PutFooInput",
+                    "}",
+                    "structure PutFooInput {",
+                    "    items: FooList",
+                    "    byName: FooMap",
+                    "    names: NameList",
+                    "}",
+                    "list FooList {",
+                    "    member: Foo",
+                    "}",
+                    "map FooMap {",
+                    "    key: String",
+                    "    value: Foo",
+                    "}",
+                    "list NameList {",
+                    "    member: String",
+                    "}",
+                    "structure Foo {",
+                    "    name: String",
+                    "}"))
+            .assemble()
+            .unwrap();
+
+    @Test
+    public void estimatesListStructuresByAddress() {
+        String estimators = generate("smithy.example#FooList");
+
+        assertThat(estimators, containsString("""
+                func fakeProtocol_estimateDocumentFooListSize(v []types.Foo) int {
+                    size := 2
+                    for i := range v {
+                        size += 1 + fakeProtocol_estimateDocumentFooSize(&v[i])
+                    }
+                    return size
+                }
+                """.replace("    ", "\t")));
+    }
+
+    @Test
+    public void estimatesMapStructuresByAddress() {
+        String estimators = generate("smithy.example#FooMap");
+
+        assertThat(estimators, containsString("""
+                func fakeProtocol_estimateDocumentFooMapSize(v map[string]types.Foo) int {
+                    size := 2
+                    for k := range v {
+                        value := v[k]
+                        size += len(k) + 4 + fakeProtocol_estimateDocumentFooSize(&value)
+                    }
+                    return size
+                }
+                """.replace("    ", "\t")));
+    }
+
+    @Test
+    public void estimatesOtherValuesInPlace() {
+        String estimators = generate("smithy.example#NameList");
+
+        assertThat(estimators, containsString("for _, e := range v {"));
+        assertThat(estimators, containsString("size += 1 + len(e) + 2"));
+        assertThat(estimators, not(containsString("&v[i]")));
+    }
+
+    private static String generate(String shapeId) {
+        GoSettings settings = GoSettings.from(getSettingsNode(
+                "smithy.example#Example", "example", "0.0.1", false, "Example"));
+        SymbolProvider symbolProvider = GoCodegenPlugin.createSymbolProvider(MODEL, settings);
+        GoWriter writer = new GoWriter("example");
+        GenerationContext context = GenerationContext.builder()
+                .settings(settings)
+                .model(MODEL)
+                .service(MODEL.expectShape(ShapeId.from("smithy.example#Example"), ServiceShape.class))
+                .symbolProvider(symbolProvider)
+                .writer(writer)
+                .integrations(List.of())
+                .protocolName("fakeProtocol")
+                .delegator(new GoDelegator(new MockManifest(), symbolProvider))
+                .build();
+
+        new DocumentSizeEstimatorGenerator(context).generateDocumentSizeEstimators(
+                Set.of(MODEL.expectShape(ShapeId.from(shapeId))));
+        return writer.toString();
+    }
+}
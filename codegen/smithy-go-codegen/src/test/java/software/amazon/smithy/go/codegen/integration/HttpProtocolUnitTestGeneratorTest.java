@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.integration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.protocoltests.traits.HttpMessageTestCase;
+import software.amazon.smithy.protocoltests.traits.HttpRequestTestCase;
+import software.amazon.smithy.protocoltests.traits.HttpResponseTestCase;
+
+public class HttpProtocolUnitTestGeneratorTest {
+    private static final ShapeId PROTOCOL = ShapeId.from("smithy.example#fakeProtocol");
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("test.smithy", String.join("\n",
+                    "$version: \"2.0\"",
+                    "namespace smithy.example",
+                    "service Example {",
+                    "    version: \"1.0.0\"",
+                    "    operations: [GetFoo]",
+                    "}",
+                    "operation GetFoo {",
+                    "    input: GetFooInput",
+                    "    output: GetFooOutput",
+                    "    errors: [FooError]",
+                    "}",
+                    "structure GetFooInput {",
+                    "    name: String",
+                    "}",
+                    "structure GetFooOutput {",
+                    "    name: String",
+                    "}",
+                    "@error(\"client\")",
+                    "structure FooError {",
+                    "    message: String",
+                    "}"))
+            .assemble()
+            .unwrap();
+
+    @Test
+    public void generatesRequestBenchmarks() {
+        HttpRequestTestCase testCase = HttpRequestTestCase.builder()
+                .id("GetFooRequest")
+                .protocol(PROTOCOL)
+                .method("POST")
+                .uri("/")
+                .params(Node.objectNode().withMember("name", "foo"))
+                .build();
+
+        String test = generate(new HttpProtocolUnitTestRequestGenerator.Builder(), testCase);
+
+        assertThat(test, containsString("func BenchmarkClient_GetFoo_fakeProtocolSerialize(b *testing.B) {"));
+        assertThat(test, containsString("Params *GetFooInput"));
+        assertThat(test, containsString("b.Run(name, func(b *testing.B) {"));
+        assertThat(test, containsString("serializer := &fakeProtocol_serializeOpGetFoo{}"));
+        assertThat(test, containsString("b.ReportAllocs()"));
+        assertThat(test, containsString("b.ResetTimer()"));
+        assertThat(test, containsString("for i := 0; i < b.N; i++ {"));
+        assertThat(test, containsString("fixture := smithyhttp.NewStackRequest().(*smithyhttp.Request)"));
+        assertThat(test, containsString("if _, _, err := serializer.HandleSerialize(ctx, in, next); err != nil {"));
+        assertThat(test, containsString("b.Fatalf(\"expect no error, got %v\", err)"));
+    }
+
+    @Test
+    public void generatesResponseBenchmarks() {
+        HttpResponseTestCase testCase = HttpResponseTestCase.builder()
+                .id("GetFooResponse")
+                .protocol(PROTOCOL)
+                .code(200)
+                .body("{\"name\":\"foo\"}")
+                .bodyMediaType("application/json")
+                .build();
+
+        String test = generate(new HttpProtocolUnitTestResponseGenerator.Builder(), testCase);
+
+        assertThat(test, containsString("func BenchmarkClient_GetFoo_fakeProtocolDeserialize(b *testing.B) {"));
+        assertThat(test, containsString("Body []byte"));
+        assertThat(test, containsString("deserializer := &fakeProtocol_deserializeOpGetFoo{}"));
+        assertThat(test, containsString("b.ReportAllocs()"));
+        assertThat(test, containsString("for i := 0; i < b.N; i++ {"));
+        assertThat(test, containsString(
+                "_, _, err := deserializer.HandleDeserialize(ctx, middleware.DeserializeInput{}, next)"));
+        assertThat(test, containsString("b.Fatalf(\"expect no error, got %v\", err)"));
+    }
+
+    @Test
+    public void generatesErrorBenchmarks() {
+        HttpResponseTestCase testCase = HttpResponseTestCase.builder()
+                .id("FooErrorResponse")
+                .protocol(PROTOCOL)
+                .code(400)
+                .body("{\"message\":\"foo\"}")
+                .bodyMediaType("application/json")
+                .build();
+
+        StructureShape error = MODEL.expectShape(ShapeId.from("smithy.example#FooError"), StructureShape.class);
+        String test = generate(new HttpProtocolUnitTestResponseErrorGenerator.Builder().error(error), testCase);
+
+        assertThat(test, containsString(
+                "func BenchmarkClient_GetFoo_FooError_fakeProtocolDeserialize(b *testing.B) {"));
+        assertThat(test, containsString("deserializer := &fakeProtocol_deserializeOpGetFoo{}"));
+        assertThat(test, containsString("b.ReportAllocs()"));
+        assertThat(test, containsString("b.Fatalf(\"expect *types.FooError error, got none\")"));
+    }
+
+    @Test
+    public void generatesNoAllocationTestsWithoutBudgets() {
+        String test = generate(new HttpProtocolUnitTestRequestGenerator.Builder(), requestTestCase(Node.objectNode()));
+
+        assertThat(test, not(containsString("Allocations(t *testing.T)")));
+    }
+
+    @Test
+    public void buildsAllocationTestFixturesBeforeMeasuring() {
+        HttpRequestTestCase testCase = requestTestCase(Node.objectNode().withMember("allocationBudget", 3));
+
+        String test = generate(new HttpProtocolUnitTestRequestGenerator.Builder(), testCase);
+
+        assertThat(test, containsString("func TestClient_GetFoo_fakeProtocolSerializeAllocations(t *testing.T) {"));
+        assertThat(test, containsString("AllocationBudget: 3,"));
+        assertThat(test, containsString("""
+                fixtures := make([]*smithyhttp.Request, 101)
+                for i := range fixtures {
+                    fixture := smithyhttp.NewStackRequest().(*smithyhttp.Request)
+                    fixtures[i] = fixture
+                }
+                run := 0
+                allocs := testing.AllocsPerRun(100, func() {
+                    fixture := fixtures[run]
+                    run++
+                """.replace("    ", "\t").replace("\n", "\n\t\t\t").stripTrailing()));
+    }
+
+    @Test
+    public void buildsResponseAllocationTestFixturesBeforeMeasuring() {
+        HttpResponseTestCase testCase = HttpResponseTestCase.builder()
+                .id("GetFooResponse")
+                .protocol(PROTOCOL)
+                .code(200)
+                .vendorParams(Node.objectNode().withMember("allocationBudget", 4))
+                .build();
+
+        String test = generate(new HttpProtocolUnitTestResponseGenerator.Builder(), testCase);
+
+        assertThat(test, containsString("fixtures := make([]*http.Response, 101)"));
+        assertThat(test, containsString("fixture := fixtures[run]"));
+        assertThat(test, containsString("response = fixture"));
+    }
+
+    @Test
+    public void prefersSettingsBudgetsOverVendorParams() {
+        HttpRequestTestCase testCase = requestTestCase(Node.objectNode().withMember("allocationBudget", 3));
+
+        String test = generate(new HttpProtocolUnitTestRequestGenerator.Builder(), testCase, getSettingsNode(
+                "smithy.example#Example", "example", "0.0.1", false, "Example")
+                .withMember("protocolTestAllocationBudgets", Node.objectNode().withMember("GetFooRequest", 5)));
+
+        assertThat(test, containsString("AllocationBudget: 5,"));
+        assertThat(test, not(containsString("AllocationBudget: 3,")));
+    }
+
+    @Test
+    public void prefersBuilderBudgetsOverSettings() {
+        HttpRequestTestCase testCase = requestTestCase(Node.objectNode().withMember("allocationBudget", 3));
+        HttpProtocolUnitTestRequestGenerator.Builder builder = new HttpProtocolUnitTestRequestGenerator.Builder();
+        builder.allocationBudget("GetFooRequest", 7);
+
+        String test = generate(builder, testCase, getSettingsNode(
+                "smithy.example#Example", "example", "0.0.1", false, "Example")
+                .withMember("protocolTestAllocationBudgets", Node.objectNode().withMember("GetFooRequest", 5)));
+
+        assertThat(test, containsString("AllocationBudget: 7,"));
+        assertThat(test, not(containsString("AllocationBudget: 5,")));
+        assertThat(test, not(containsString("AllocationBudget: 3,")));
+    }
+
+    private static HttpRequestTestCase requestTestCase(ObjectNode vendorParams) {
+        return HttpRequestTestCase.builder()
+                .id("GetFooRequest")
+                .protocol(PROTOCOL)
+                .method("POST")
+                .uri("/")
+                .params(Node.objectNode().withMember("name", "foo"))
+                .vendorParams(vendorParams)
+                .build();
+    }
+
+    private static <T extends HttpMessageTestCase> String generate(
+            HttpProtocolUnitTestGenerator.Builder<T> builder,
+            T testCase
+    ) {
+        return generate(builder, testCase, getSettingsNode(
+                "smithy.example#Example", "example", "0.0.1", false, "Example"));
+    }
+
+    private static <T extends HttpMessageTestCase> String generate(
+            HttpProtocolUnitTestGenerator.Builder<T> builder,
+            T testCase,
+            ObjectNode settingsNode
+    ) {
+        GoSettings settings = GoSettings.from(settingsNode);
+        SymbolProvider symbolProvider = GoCodegenPlugin.createSymbolProvider(MODEL, settings);
+        GoWriter writer = new GoWriter("example");
+        builder.settings(settings)
+                .model(MODEL)
+                .symbolProvider(symbolProvider)
+                .protocolName("fakeProtocol")
+                .service(MODEL.expectShape(ShapeId.from("smithy.example#Example"), ServiceShape.class))
+                .operation(MODEL.expectShape(ShapeId.from("smithy.example#GetFoo"), OperationShape.class))
+                .testCases(List.of(testCase))
+                .build()
+                .generateTestFunction(writer);
+        return writer.toString();
+    }
+}
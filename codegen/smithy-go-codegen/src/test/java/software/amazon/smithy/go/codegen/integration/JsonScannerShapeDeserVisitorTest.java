@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.integration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoDelegator;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator.GenerationContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.DocumentShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.UnionShape;
+
+public class JsonScannerShapeDeserVisitorTest {
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("test.smithy", String.join("\n",
+                    "$version: \"2.0\"",
+                    "namespace smithy.example",
+                    "service Example {",
+                    "    version: \"1.0.0\"",
+                    "    operations: [GetFoo]",
+                    "}",
+                    "operation GetFoo {",
+                    "    output: GetFooOutput",
+                    "}",
+                    "structure GetFooOutput {",
+                    "    items: FooList",
+                    "    byName: FooMap",
+                    "}",
+                    "list FooList {",
+                    "    member: Foo",
+                    "}",
+                    "map FooMap {",
+                    "    key: String",
+                    "    value: Foo",
+                    "}",
+                    "structure Foo {",
+                    "    name: String",
+                    "}"))
+            .assemble()
+            .unwrap();
+
+    @Test
+    public void deserializesCollectionStructuresThroughPointers() {
+        String deserializer = generate("smithy.example#FooList");
+
+        assertThat(deserializer, containsString("""
+                var col types.Foo
+                destAddr := &col
+                if err := fakeProtocol_deserializeDocumentFoo(&destAddr, scanner); err != nil {
+                    return err
+                }
+                col = *destAddr
+                cv = append(cv, col)
+                """.replace("    ", "\t").replace("\n", "\n\t\t").stripTrailing()));
+        assertThat(deserializer, not(containsString("(&col, scanner)")));
+    }
+
+    @Test
+    public void deserializesMapStructuresThroughPointers() {
+        String deserializer = generate("smithy.example#FooMap");
+
+        assertThat(deserializer, containsString("""
+                mk := string(key)
+                var parsedVal types.Foo
+                mapVar := parsedVal
+                destAddr := &mapVar
+                if err := fakeProtocol_deserializeDocumentFoo(&destAddr, scanner); err != nil {
+                    return err
+                }
+                parsedVal = *destAddr
+                mv[mk] = parsedVal
+                """.replace("    ", "\t").replace("\n", "\n\t\t").stripTrailing()));
+        assertThat(deserializer, not(containsString("mv[string(key)]")));
+    }
+
+    @Test
+    public void deserializesStructureMembersInPlace() {
+        String deserializer = generate("smithy.example#GetFooOutput");
+
+        assertThat(deserializer, containsString(
+                "if err := fakeProtocol_deserializeDocumentFooList(&sv.Items, scanner); err != nil {"));
+        assertThat(deserializer, containsString(
+                "if err := fakeProtocol_deserializeDocumentFooMap(&sv.ByName, scanner); err != nil {"));
+    }
+
+    private static String generate(String shapeId) {
+        GoSettings settings = GoSettings.from(getSettingsNode(
+                "smithy.example#Example", "example", "0.0.1", false, "Example"));
+        SymbolProvider symbolProvider = GoCodegenPlugin.createSymbolProvider(MODEL, settings);
+        GoWriter writer = new GoWriter("example");
+        GenerationContext context = GenerationContext.builder()
+                .settings(settings)
+                .model(MODEL)
+                .service(MODEL.expectShape(ShapeId.from("smithy.example#Example"), ServiceShape.class))
+                .symbolProvider(symbolProvider)
+                .writer(writer)
+                .integrations(List.of())
+                .protocolName("fakeProtocol")
+                .delegator(new GoDelegator(new MockManifest(), symbolProvider))
+                .build();
+
+        MODEL.expectShape(ShapeId.from(shapeId)).accept(new JsonScannerShapeDeserVisitor(context) {
+            @Override
+            protected void deserializeDocument(GenerationContext context, DocumentShape shape) {
+            }
+
+            @Override
+            protected void deserializeUnion(GenerationContext context, UnionShape shape) {
+            }
+        });
+        return writer.toString();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.integration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static software.amazon.smithy.go.codegen.TestUtils.getSettingsNode;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.go.codegen.GoCodegenPlugin;
+import software.amazon.smithy.go.codegen.GoDelegator;
+import software.amazon.smithy.go.codegen.GoSettings;
+import software.amazon.smithy.go.codegen.GoWriter;
+import software.amazon.smithy.go.codegen.integration.ProtocolGenerator.GenerationContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class StreamRequestBodiesTest {
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("test.smithy", String.join("\n",
+                    "$version: \"2.0\"",
+                    "namespace smithy.example",
+                    "service Example {",
+                    "    version: \"1.0.0\"",
+                    "    operations: [PutFoo, PutChecksummedFoo]",
+                    "}",
+                    "operation PutFoo {",
+                    "    input: PutFooInput",
+                    "}",
+                    "@httpChecksumRequired",
+                    "operation PutChecksummedFoo {",
+                    "    input: PutFooInput",
+                    "}",
+                    "structure PutFooInput {",
+                    "    name: String",
+                    "}"))
+            .assemble()
+            .unwrap();
+
+    private static final OperationShape PUT_FOO = MODEL.expectShape(
+            ShapeId.from("smithy.example#PutFoo"), OperationShape.class);
+
+    private static final OperationShape PUT_CHECKSUMMED_FOO = MODEL.expectShape(
+            ShapeId.from("smithy.example#PutChecksummedFoo"), OperationShape.class);
+
+    @Test
+    public void streamsRequestBodiesWhenEnabled() {
+        GenerationContext context = buildContext(true, false);
+
+        assertThat(HttpProtocolGeneratorUtils.isRequestBodyStreamed(context, PUT_FOO), equalTo(true));
+        assertThat(HttpProtocolGeneratorUtils.hasRequestBodyRelease(context, PUT_FOO), equalTo(true));
+    }
+
+    @Test
+    public void doesNotStreamRequestBodiesByDefault() {
+        GenerationContext context = buildContext(false, false);
+
+        assertThat(HttpProtocolGeneratorUtils.isRequestBodyStreamed(context, PUT_FOO), equalTo(false));
+        assertThat(HttpProtocolGeneratorUtils.hasRequestBodyRelease(context, PUT_FOO), equalTo(false));
+    }
+
+    @Test
+    public void doesNotStreamChecksumRequiredRequestBodies() {
+        GenerationContext context = buildContext(true, false);
+
+        assertThat(HttpProtocolGeneratorUtils.isRequestBodyStreamed(context, PUT_CHECKSUMMED_FOO), equalTo(false));
+        assertThat(HttpProtocolGeneratorUtils.hasRequestBodyRelease(context, PUT_CHECKSUMMED_FOO), equalTo(false));
+    }
+
+    @Test
+    public void streamingTakesPrecedenceOverPooling() {
+        GenerationContext context = buildContext(true, true);
+
+        assertThat(HttpProtocolGeneratorUtils.isRequestBodyStreamed(context, PUT_FOO), equalTo(true));
+        assertThat(HttpProtocolGeneratorUtils.isRequestBodyPooled(context, PUT_FOO), equalTo(false));
+        assertThat(HttpProtocolGeneratorUtils.isRequestBodyPooled(context, PUT_CHECKSUMMED_FOO), equalTo(true));
+    }
+
+    @Test
+    public void writesStreamingJsonBody() {
+        GenerationContext context = buildContext(true, false);
+
+        HttpProtocolGeneratorUtils.writeStreamingJsonBody(
+                context, "fakeProtocol_serializeOpDocumentPutFooInput", "input");
+
+        String body = context.getWriter().get().toString();
+        assertThat(body, containsString("""
+                request, releaseBody, err = request.SetStreamWriter(func(w io.Writer) error {
+                    jsonEncoder := smithyjson.NewStreamEncoder(w)
+                    if err := fakeProtocol_serializeOpDocumentPutFooInput(input, jsonEncoder.Value); err != nil {
+                        return err
+                    }
+                    return jsonEncoder.Flush()
+                })
+                if err != nil {
+                    return out, metadata, &smithy.SerializationError{Err: err}
+                }
+                """.replace("    ", "\t")));
+        assertThat(body, containsString("smithyjson \"github.com/aws/smithy-go/encoding/json\""));
+    }
+
+    private static GenerationContext buildContext(boolean streamRequestBodies, boolean poolRequestBodies) {
+        GoSettings settings = GoSettings.from(getSettingsNode(
+                "smithy.example#Example", "example", "0.0.1", false, "Example"));
+        settings.setStreamRequestBodies(streamRequestBodies);
+        settings.setPoolRequestBodies(poolRequestBodies);
+        SymbolProvider symbolProvider = GoCodegenPlugin.createSymbolProvider(MODEL, settings);
+        return GenerationContext.builder()
+                .settings(settings)
+                .model(MODEL)
+                .service(MODEL.expectShape(ShapeId.from("smithy.example#Example"), ServiceShape.class))
+                .symbolProvider(symbolProvider)
+                .writer(new GoWriter("example"))
+                .integrations(List.of())
+                .protocolName("fakeProtocol")
+                .delegator(new GoDelegator(new MockManifest(), symbolProvider))
+                .build();
+    }
+}
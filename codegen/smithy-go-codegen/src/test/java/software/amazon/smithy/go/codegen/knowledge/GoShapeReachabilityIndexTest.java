@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.knowledge;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.SetUtils;
+
+public class GoShapeReachabilityIndexTest {
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("test.smithy", """
+                    $version: "2.0"
+                    namespace smithy.example
+
+                    service Example {
+                        operations: [GetThing]
+                    }
+
+                    operation GetThing {
+                        input := {
+                            thing: Thing
+                        }
+                        output := {
+                            names: Names
+                        }
+                    }
+
+                    structure Thing {
+                        @required
+                        name: String
+                        next: Thing
+                    }
+
+                    map Names {
+                        key: Key
+                        value: String
+                    }
+
+                    string Key
+                    """)
+            .assemble()
+            .unwrap();
+
+    private static final ShapeId SERVICE = ShapeId.from("smithy.example#Example");
+
+    @Test
+    public void indexesShapesReachableFromOperations() {
+        GoShapeReachabilityIndex index = GoShapeReachabilityIndex.of(MODEL);
+
+        assertThat(index.isReachableFromInput(SERVICE, ShapeId.from("smithy.example#Thing")), equalTo(true));
+        assertThat(index.isReachableFromOutput(SERVICE, ShapeId.from("smithy.example#Thing")), equalTo(false));
+        assertThat(index.isReachableFromOutput(SERVICE, ShapeId.from("smithy.example#Key")), equalTo(true));
+        assertThat(index.isReachableFromInput(SERVICE, ShapeId.from("smithy.example#Key")), equalTo(false));
+    }
+
+    @Test
+    public void getsMemberClosure() {
+        GoShapeReachabilityIndex index = GoShapeReachabilityIndex.of(MODEL);
+
+        Set<ShapeId> closure = ids(index.getMemberClosure(SetUtils.of(ShapeId.from("smithy.example#Names"))));
+
+        assertThat(closure, hasItem(ShapeId.from("smithy.example#Names$value")));
+        assertThat(closure, hasItem(ShapeId.from("smithy.api#String")));
+        assertThat(closure, not(hasItem(ShapeId.from("smithy.example#Key"))));
+    }
+
+    @Test
+    public void getsShapesReachingTargets() {
+        GoShapeReachabilityIndex index = GoShapeReachabilityIndex.of(MODEL);
+
+        Set<ShapeId> reaching = ids(index.getShapesReaching(SetUtils.of(ShapeId.from("smithy.example#Thing$name"))));
+
+        assertThat(reaching, contains(
+                ShapeId.from("smithy.example#GetThingInput"),
+                ShapeId.from("smithy.example#GetThingInput$thing"),
+                ShapeId.from("smithy.example#Thing"),
+                ShapeId.from("smithy.example#Thing$name"),
+                ShapeId.from("smithy.example#Thing$next")));
+    }
+
+    private static Set<ShapeId> ids(Set<Shape> shapes) {
+        return shapes.stream().map(Shape::getId).collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.go.codegen.knowledge;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class GoValidationIndexTest {
+    private static final Model MODEL = Model.assembler()
+            .addUnparsedModel("test.smithy", """
+                    $version: "2.0"
+                    namespace smithy.example
+
+                    service Example {
+                        operations: [PutThing, GetThing, DeleteThing]
+                    }
+
+                    @http(method: "PUT", uri: "/things")
+                    operation PutThing {
+                        input := {
+                            outer: Outer
+                            unrelated: Unrelated
+                        }
+                    }
+
+                    @http(method: "GET", uri: "/things/{id}")
+                    operation GetThing {
+                        input := {
+                            @httpLabel
+                            @required
+                            id: String
+                        }
+                    }
+
+                    operation DeleteThing {
+                        input := {
+                            unrelated: Unrelated
+                        }
+                    }
+
+                    structure Outer {
+                        middle: MiddleList
+                    }
+
+                    list MiddleList {
+                        member: Inner
+                    }
+
+                    structure Inner {
+                        @required
+                        name: String
+                        outer: Outer
+                    }
+
+                    structure Unrelated {
+                        name: String
+                    }
+                    """)
+            .assemble()
+            .unwrap();
+
+    private static final ShapeId SERVICE = ShapeId.from("smithy.example#Example");
+
+    @Test
+    public void findsOperationsRequiringValidation() {
+        GoValidationIndex index = GoValidationIndex.of(MODEL);
+
+        assertThat(index.getOperationsRequiringValidation(SERVICE), contains(
+                ShapeId.from("smithy.example#GetThing"),
+                ShapeId.from("smithy.example#PutThing")));
+    }
+
+    @Test
+    public void findsNestedContainersRequiringValidationHelpers() {
+        GoValidationIndex index = GoValidationIndex.of(MODEL);
+
+        assertThat(index.getShapesRequiringValidationHelpers(SERVICE), contains(
+                ShapeId.from("smithy.example#GetThingInput"),
+                ShapeId.from("smithy.example#Inner"),
+                ShapeId.from("smithy.example#MiddleList"),
+                ShapeId.from("smithy.example#Outer"),
+                ShapeId.from("smithy.example#PutThingInput")));
+    }
+}
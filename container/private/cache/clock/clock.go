@@ -0,0 +1,96 @@
+// Package clock implements [cache.Cache] with a CLOCK eviction policy, an
+// approximation of LRU that doesn't reorder entries on reads.
+//
+// This implementation is thread-safe. Concurrent reads share a read lock, and
+// only mark the entry they read as referenced.
+//
+// This package is designated as private and is intended for use only by the
+// smithy client runtime. The exported API therein is not considered stable and
+// is subject to breaking changes without notice.
+package clock
+
+import (
+	"sync"
+	"sync/atomic"
+
+	"github.com/aws/smithy-go/container/private/cache"
+)
+
+// New creates a new CLOCK cache with the given capacity. A cache with a
+// capacity of zero or less stores nothing.
+func New(cap int) cache.Cache {
+	if cap < 0 {
+		cap = 0
+	}
+	return &clock{
+		entries: make(map[interface{}]int, cap),
+		slots:   make([]slot, 0, cap),
+		cap:     cap,
+	}
+}
+
+type clock struct {
+	mu      sync.RWMutex
+	entries map[interface{}]int
+	slots   []slot
+	cap     int
+
+	hand int // next slot considered for eviction
+}
+
+type slot struct {
+	key        interface{}
+	value      interface{}
+	referenced uint32
+}
+
+func (c *clock) Get(k interface{}) (interface{}, bool) {
+	c.mu.RLock()
+	defer c.mu.RUnlock()
+
+	i, ok := c.entries[k]
+	if !ok {
+		return nil, false
+	}
+
+	s := &c.slots[i]
+	atomic.StoreUint32(&s.referenced, 1)
+	return s.value, true
+}
+
+func (c *clock) Put(k interface{}, v interface{}) {
+	if c.cap == 0 {
+		return
+	}
+
+	c.mu.Lock()
+	defer c.mu.Unlock()
+
+	if i, ok := c.entries[k]; ok {
+		c.slots[i].value = v
+		atomic.StoreUint32(&c.slots[i].referenced, 1)
+		return
+	}
+
+	if len(c.slots) < c.cap {
+		c.entries[k] = len(c.slots)
+		c.slots = append(c.slots, slot{key: k, value: v})
+		return
+	}
+
+	// Sweep the hand over the slots, giving referenced entries a second
+	// chance, until it finds an entry that wasn't read since the last sweep.
+	for {
+		s := &c.slots[c.hand]
+		if atomic.LoadUint32(&s.referenced) == 0 {
+			break
+		}
+		atomic.StoreUint32(&s.referenced, 0)
+		c.hand = (c.hand + 1) % c.cap
+	}
+
+	delete(c.entries, c.slots[c.hand].key)
+	c.entries[k] = c.hand
+	c.slots[c.hand] = slot{key: k, value: v}
+	c.hand = (c.hand + 1) % c.cap
+}
@@ -0,0 +1,123 @@
+package clock
+
+import (
+	"strconv"
+	"sync"
+	"testing"
+)
+
+func TestCache(t *testing.T) {
+	cache := New(4).(*clock)
+
+	// fill cache
+	cache.Put(1, 2)
+	cache.Put(2, 3)
+	cache.Put(3, 4)
+	cache.Put(4, 5)
+	assertEntry(t, cache, 1, 2)
+	assertEntry(t, cache, 2, 3)
+	assertEntry(t, cache, 3, 4)
+	assertEntry(t, cache, 4, 5)
+
+	// read entries get a second chance, so 3 is the first evicted
+	cache.Get(1)
+	cache.Get(2)
+	cache.Put(5, 6)
+	assertNoEntry(t, cache, 3)
+	assertEntry(t, cache, 1, 2)
+	assertEntry(t, cache, 2, 3)
+	assertEntry(t, cache, 4, 5)
+	assertEntry(t, cache, 5, 6)
+
+	// the hand continues after 5, so 4 is evicted next
+	cache.Put(6, 7)
+	assertNoEntry(t, cache, 4)
+
+	// 1 was read again since the hand cleared it, 2 wasn't
+	cache.Get(1)
+	cache.Put(7, 8)
+	assertNoEntry(t, cache, 2)
+	assertEntry(t, cache, 1, 2)
+	assertEntry(t, cache, 5, 6)
+	assertEntry(t, cache, 6, 7)
+	assertEntry(t, cache, 7, 8)
+}
+
+func TestCacheReplace(t *testing.T) {
+	cache := New(2).(*clock)
+
+	cache.Put(1, 2)
+	cache.Put(1, 3)
+	assertEntry(t, cache, 1, 3)
+	if e, a := 1, len(cache.slots); e != a {
+		t.Errorf("expect %d slots, got %d", e, a)
+	}
+}
+
+func TestCacheZeroCapacity(t *testing.T) {
+	cache := New(0)
+
+	cache.Put(1, 2)
+	if _, ok := cache.Get(1); ok {
+		t.Errorf("expect no entries in a cache without capacity")
+	}
+}
+
+func TestCacheConcurrent(t *testing.T) {
+	cache := New(8)
+
+	var wg sync.WaitGroup
+	for i := 0; i < 8; i++ {
+		wg.Add(1)
+		go func(i int) {
+			defer wg.Done()
+			for j := 0; j < 1000; j++ {
+				k := strconv.Itoa((i + j) % 16)
+				if v, ok := cache.Get(k); ok && v != k {
+					t.Errorf("expect %v value, got %v", k, v)
+				}
+				cache.Put(k, k)
+			}
+		}(i)
+	}
+	wg.Wait()
+}
+
+func BenchmarkCacheGet(b *testing.B) {
+	cache := New(64)
+	for i := 0; i < 64; i++ {
+		cache.Put(i, i)
+	}
+
+	b.ReportAllocs()
+	b.RunParallel(func(pb *testing.PB) {
+		i := 0
+		for pb.Next() {
+			cache.Get(i % 64)
+			i++
+		}
+	})
+}
+
+// assertEntry checks the entry without reading it through the cache, which
+// would mark it as referenced.
+func assertEntry(t *testing.T, c *clock, k interface{}, v interface{}) {
+	t.Helper()
+
+	i, ok := c.entries[k]
+	if !ok {
+		t.Errorf("expected entry %v=%v, but no entry found", k, v)
+		return
+	}
+	if actual := c.slots[i].value; actual != v {
+		t.Errorf("expected entry %v=%v, but got entry value %v", k, v, actual)
+	}
+}
+
+func assertNoEntry(t *testing.T, c *clock, k interface{}) {
+	t.Helper()
+
+	if _, ok := c.Get(k); ok {
+		t.Errorf("expected no entry for %v, but one was found", k)
+	}
+}
@@ -9,6 +9,7 @@ type Array struct {
 	w          *bytes.Buffer
 	writeComma bool
 	scratch    *[]byte
+	sink       *streamSink
 }
 
 func newArray(w *bytes.Buffer, scratch *[]byte) *Array {
@@ -20,13 +21,16 @@ func newArray(w *bytes.Buffer, scratch *[]byte) *Array {
 // Returns a Value type that is used to encode
 // the array element.
 func (a *Array) Value() Value {
+	if a.sink != nil {
+		a.sink.drainFull()
+	}
 	if a.writeComma {
 		a.w.WriteRune(comma)
 	} else {
 		a.writeComma = true
 	}
 
-	return newValue(a.w, a.scratch)
+	return Value{w: a.w, scratch: a.scratch, sink: a.sink}
 }
 
 // Close encodes the end of the JSON Array
@@ -2,8 +2,20 @@ package json
 
 import (
 	"bytes"
+	"sync"
 )
 
+// maxPooledEncoderSize is the capacity above which encoder buffers are
+// released to the garbage collector instead of being pooled, so that an
+// occasional large document doesn't stay allocated for the process lifetime.
+const maxPooledEncoderSize = 1 << 20
+
+var encoderPool = sync.Pool{
+	New: func() interface{} {
+		return NewEncoder()
+	},
+}
+
 // Encoder is JSON encoder that supports construction of JSON values
 // using methods.
 type Encoder struct {
@@ -28,3 +40,27 @@ func (e Encoder) String() string {
 func (e Encoder) Bytes() []byte {
 	return e.w.Bytes()
 }
+
+// GetEncoder returns an empty encoder from a pool of encoders, with room for
+// at least sizeHint bytes so that encoding a document of about that size
+// doesn't grow the buffer.
+//
+// The encoder should be returned to the pool with Release once its bytes are
+// no longer used.
+func GetEncoder(sizeHint int) *Encoder {
+	e := encoderPool.Get().(*Encoder)
+	if sizeHint > 0 {
+		e.w.Grow(sizeHint)
+	}
+	return e
+}
+
+// Release resets the encoder and returns it to the pool of GetEncoder. Neither
+// the encoder nor the bytes it returned may be used afterwards.
+func (e *Encoder) Release() {
+	if e.w.Cap() > maxPooledEncoderSize {
+		return
+	}
+	e.w.Reset()
+	encoderPool.Put(e)
+}
@@ -0,0 +1,42 @@
+package json
+
+import (
+	"testing"
+)
+
+func TestGetEncoder(t *testing.T) {
+	encoder := GetEncoder(1024)
+	if e, a := 1024, encoder.w.Cap(); a < e {
+		t.Errorf("expect capacity of at least %v, got %v", e, a)
+	}
+
+	object := encoder.Object()
+	object.Key("foo").String("bar")
+	object.Close()
+	if e, a := `{"foo":"bar"}`, encoder.String(); e != a {
+		t.Errorf("expect %v, got %v", e, a)
+	}
+	encoder.Release()
+
+	encoder = GetEncoder(0)
+	defer encoder.Release()
+	if a := encoder.Bytes(); len(a) != 0 {
+		t.Errorf("expect empty encoder, got %q", a)
+	}
+	encoder.Value.String("baz")
+	if e, a := `"baz"`, encoder.String(); e != a {
+		t.Errorf("expect %v, got %v", e, a)
+	}
+}
+
+func TestEncoderReleaseLarge(t *testing.T) {
+	encoder := GetEncoder(maxPooledEncoderSize + 1)
+	encoder.Release()
+
+	// Large buffers aren't pooled, pooled buffers must still be empty.
+	encoder = GetEncoder(0)
+	defer encoder.Release()
+	if a := encoder.Bytes(); len(a) != 0 {
+		t.Errorf("expect empty encoder, got %q", a)
+	}
+}
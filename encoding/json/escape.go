@@ -125,6 +125,13 @@ var hex = "0123456789abcdef"
 // Copied and modifed from Go 1.8 stdlib's encodeing/json/#encodeState.stringBytes
 func escapeStringBytes(e *bytes.Buffer, s []byte) {
 	e.WriteByte('"')
+	escapeStringContent(e, s)
+	e.WriteByte('"')
+}
+
+// escapeStringContent escapes and writes the passed in string bytes to the
+// dst buffer, without the quotes of the JSON string
+func escapeStringContent(e *bytes.Buffer, s []byte) {
 	start := 0
 	for i := 0; i < len(s); {
 		if b := s[i]; b < utf8.RuneSelf {
@@ -194,5 +201,4 @@ func escapeStringBytes(e *bytes.Buffer, s []byte) {
 	if start < len(s) {
 		e.Write(s[start:])
 	}
-	e.WriteByte('"')
 }
@@ -9,6 +9,7 @@ type Object struct {
 	w          *bytes.Buffer
 	writeComma bool
 	scratch    *[]byte
+	sink       *streamSink
 }
 
 func newObject(w *bytes.Buffer, scratch *[]byte) *Object {
@@ -25,13 +26,16 @@ func (o *Object) writeKey(key string) {
 // Returns a Value encoder that should be used to encode
 // a JSON value type.
 func (o *Object) Key(name string) Value {
+	if o.sink != nil {
+		o.sink.drainFull()
+	}
 	if o.writeComma {
 		o.w.WriteRune(comma)
 	} else {
 		o.writeComma = true
 	}
 	o.writeKey(name)
-	return newValue(o.w, o.scratch)
+	return Value{w: o.w, scratch: o.scratch, sink: o.sink}
 }
 
 // Close encodes the end of the JSON Object
@@ -0,0 +1,503 @@
+package json
+
+import (
+	"encoding/base64"
+	"fmt"
+	"io"
+	"math"
+	"strconv"
+	"unicode"
+	"unicode/utf16"
+	"unicode/utf8"
+)
+
+// Scanner reads JSON values directly from a byte slice, as an alternative to
+// reading a body through json.Decoder.Token. Tokens are not boxed into
+// interface values, so reading object keys, integers, booleans and nulls, and
+// skipping values, doesn't allocate.
+//
+// Object keys are returned as slices of the scanner's buffers, and are only
+// valid until the next call to ReadKey. Keys of nested objects are read by
+// that call, so callers reading a nested value must copy the key first.
+type Scanner struct {
+	buf        []byte
+	off        int
+	prev       byte
+	scratch    []byte
+	keyScratch []byte
+}
+
+// NewScanner returns a Scanner reading the JSON value in buf.
+func NewScanner(buf []byte) *Scanner {
+	return &Scanner{buf: buf}
+}
+
+// Peek returns the first byte of the next token without consuming it.
+func (s *Scanner) Peek() (byte, error) {
+	s.skipWhitespace()
+	if s.off >= len(s.buf) {
+		return 0, io.ErrUnexpectedEOF
+	}
+	return s.buf[s.off], nil
+}
+
+// More returns whether there is another element in the current array or
+// object, consuming the comma separating it from the previous element.
+func (s *Scanner) More() bool {
+	c, err := s.Peek()
+	if err != nil || c == '}' || c == ']' {
+		return false
+	}
+	if c == ',' && s.prev == scanValue {
+		s.off++
+		s.prev = ','
+	}
+	return true
+}
+
+// ReadDelim consumes the delimiter d, one of '{', '}', '[' or ']'.
+func (s *Scanner) ReadDelim(d byte) error {
+	c, err := s.Peek()
+	if err != nil {
+		return err
+	}
+	if c != d {
+		return s.syntaxError(c, "expect `%c`", d)
+	}
+
+	switch d {
+	case '{', '[':
+		if err := s.beginValue(c); err != nil {
+			return err
+		}
+		s.prev = d
+	case '}':
+		if s.prev != scanValue && s.prev != '{' {
+			return s.syntaxError(c, "expect value")
+		}
+		s.prev = scanValue
+	case ']':
+		if s.prev != scanValue && s.prev != '[' {
+			return s.syntaxError(c, "expect value")
+		}
+		s.prev = scanValue
+	default:
+		return fmt.Errorf("invalid JSON delimiter %q", d)
+	}
+	s.off++
+	return nil
+}
+
+// ReadKey reads an object key and the colon following it. The returned key is
+// only valid until the next call to ReadKey.
+func (s *Scanner) ReadKey() ([]byte, error) {
+	c, err := s.Peek()
+	if err != nil {
+		return nil, err
+	}
+	if s.prev != '{' && s.prev != ',' {
+		return nil, s.syntaxError(c, "expect `,` or `}`")
+	}
+	if c != '"' {
+		return nil, s.syntaxError(c, "expect object key")
+	}
+
+	key, escaped, err := s.scanString()
+	if err != nil {
+		return nil, err
+	}
+	if escaped {
+		if s.keyScratch, err = appendUnescaped(s.keyScratch[:0], key); err != nil {
+			return nil, err
+		}
+		key = s.keyScratch
+	}
+
+	if c, err = s.Peek(); err != nil {
+		return nil, err
+	}
+	if c != ':' {
+		return nil, s.syntaxError(c, "expect `:` after object key")
+	}
+	s.off++
+	s.prev = ':'
+	return key, nil
+}
+
+// ReadNull consumes a null value, returning whether the next value was null.
+// Nothing is consumed if the next value isn't null.
+func (s *Scanner) ReadNull() (bool, error) {
+	c, err := s.Peek()
+	if err != nil {
+		return false, err
+	}
+	if c != 'n' {
+		return false, nil
+	}
+	if err := s.readLiteral("null"); err != nil {
+		return false, err
+	}
+	return true, nil
+}
+
+// ReadBool reads a boolean value.
+func (s *Scanner) ReadBool() (bool, error) {
+	c, err := s.Peek()
+	if err != nil {
+		return false, err
+	}
+	switch c {
+	case 't':
+		return true, s.readLiteral("true")
+	case 'f':
+		return false, s.readLiteral("false")
+	default:
+		return false, s.syntaxError(c, "expect boolean")
+	}
+}
+
+// ReadString reads a string value.
+func (s *Scanner) ReadString() (string, error) {
+	v, err := s.readStringBytes()
+	if err != nil {
+		return "", err
+	}
+	return string(v), nil
+}
+
+// ReadBase64 reads a string value holding standard base64 encoded bytes.
+func (s *Scanner) ReadBase64() ([]byte, error) {
+	v, err := s.readStringBytes()
+	if err != nil {
+		return nil, err
+	}
+	b := make([]byte, base64.StdEncoding.DecodedLen(len(v)))
+	n, err := base64.StdEncoding.Decode(b, v)
+	if err != nil {
+		return nil, err
+	}
+	return b[:n], nil
+}
+
+// ReadNumber reads a number value, returning its literal bytes. The returned
+// bytes are only valid as long as the scanner's buffer is.
+func (s *Scanner) ReadNumber() ([]byte, error) {
+	c, err := s.Peek()
+	if err != nil {
+		return nil, err
+	}
+	if err := s.beginValue(c); err != nil {
+		return nil, err
+	}
+	return s.scanNumber()
+}
+
+// ReadInt64 reads a number value that must be an integer.
+func (s *Scanner) ReadInt64() (int64, error) {
+	start := s.off
+	b, err := s.ReadNumber()
+	if err != nil {
+		return 0, err
+	}
+
+	neg := b[0] == '-'
+	digits := b
+	if neg {
+		digits = b[1:]
+	}
+	limit := uint64(math.MaxInt64)
+	if neg {
+		limit++
+	}
+
+	var v uint64
+	for _, c := range digits {
+		if c < '0' || c > '9' {
+			return 0, fmt.Errorf("expect integer at offset %d, got %s", start, b)
+		}
+		d := uint64(c - '0')
+		if v > (limit-d)/10 {
+			return 0, fmt.Errorf("integer %s at offset %d overflows int64", b, start)
+		}
+		v = v*10 + d
+	}
+
+	if neg {
+		return -int64(v-1) - 1, nil
+	}
+	return int64(v), nil
+}
+
+// ReadFloat64 reads a number value as a float64.
+func (s *Scanner) ReadFloat64() (float64, error) {
+	b, err := s.ReadNumber()
+	if err != nil {
+		return 0, err
+	}
+	return strconv.ParseFloat(string(b), 64)
+}
+
+// Skip consumes the next value, including any nested values, without
+// allocating.
+func (s *Scanner) Skip() error {
+	c, err := s.Peek()
+	if err != nil {
+		return err
+	}
+
+	switch c {
+	case '{':
+		if err := s.ReadDelim('{'); err != nil {
+			return err
+		}
+		for s.More() {
+			if _, err := s.ReadKey(); err != nil {
+				return err
+			}
+			if err := s.Skip(); err != nil {
+				return err
+			}
+		}
+		return s.ReadDelim('}')
+	case '[':
+		if err := s.ReadDelim('['); err != nil {
+			return err
+		}
+		for s.More() {
+			if err := s.Skip(); err != nil {
+				return err
+			}
+		}
+		return s.ReadDelim(']')
+	case '"':
+		if err := s.beginValue(c); err != nil {
+			return err
+		}
+		if _, _, err := s.scanString(); err != nil {
+			return err
+		}
+		s.prev = scanValue
+		return nil
+	case 't', 'f':
+		_, err := s.ReadBool()
+		return err
+	case 'n':
+		_, err := s.ReadNull()
+		return err
+	default:
+		_, err := s.ReadNumber()
+		return err
+	}
+}
+
+// scanValue is the previous token after a complete value has been consumed.
+const scanValue = 'v'
+
+func (s *Scanner) skipWhitespace() {
+	for s.off < len(s.buf) {
+		switch s.buf[s.off] {
+		case ' ', '\t', '\n', '\r':
+			s.off++
+		default:
+			return
+		}
+	}
+}
+
+// beginValue returns an error if a value can't start at the scanner's offset.
+func (s *Scanner) beginValue(c byte) error {
+	switch s.prev {
+	case 0, '[', ',', ':':
+		return nil
+	case '{':
+		return s.syntaxError(c, "expect object key")
+	default:
+		return s.syntaxError(c, "expect `,`")
+	}
+}
+
+// readStringBytes reads a string value, returning its unescaped contents. The
+// returned bytes are only valid until the next call to the scanner.
+func (s *Scanner) readStringBytes() ([]byte, error) {
+	c, err := s.Peek()
+	if err != nil {
+		return nil, err
+	}
+	if err := s.beginValue(c); err != nil {
+		return nil, err
+	}
+	if c != '"' {
+		return nil, s.syntaxError(c, "expect string")
+	}
+
+	v, escaped, err := s.scanString()
+	if err != nil {
+		return nil, err
+	}
+	s.prev = scanValue
+	if escaped {
+		if s.scratch, err = appendUnescaped(s.scratch[:0], v); err != nil {
+			return nil, err
+		}
+		v = s.scratch
+	}
+	return v, nil
+}
+
+func (s *Scanner) readLiteral(lit string) error {
+	c := s.buf[s.off]
+	if err := s.beginValue(c); err != nil {
+		return err
+	}
+	end := s.off + len(lit)
+	if end > len(s.buf) || string(s.buf[s.off:end]) != lit {
+		return s.syntaxError(c, "expect %s", lit)
+	}
+	s.off = end
+	s.prev = scanValue
+	return nil
+}
+
+// scanString consumes a string starting at the scanner's offset, returning
+// its contents without the quotes, and whether they contain escape sequences.
+func (s *Scanner) scanString() ([]byte, bool, error) {
+	start := s.off + 1
+	escaped := false
+	for i := start; i < len(s.buf); i++ {
+		switch c := s.buf[i]; {
+		case c == '"':
+			s.off = i + 1
+			return s.buf[start:i], escaped, nil
+		case c == '\\':
+			escaped = true
+			i++
+		case c < 0x20:
+			return nil, false, fmt.Errorf("invalid control character %q in string at offset %d", c, i)
+		}
+	}
+	return nil, false, io.ErrUnexpectedEOF
+}
+
+// scanNumber consumes a number starting at the scanner's offset.
+func (s *Scanner) scanNumber() ([]byte, error) {
+	start, i := s.off, s.off
+	if i < len(s.buf) && s.buf[i] == '-' {
+		i++
+	}
+
+	switch {
+	case i < len(s.buf) && s.buf[i] == '0':
+		i++
+	case i < len(s.buf) && s.buf[i] >= '1' && s.buf[i] <= '9':
+		i = s.scanDigits(i)
+	default:
+		return nil, s.syntaxError(s.buf[start], "expect value")
+	}
+
+	if i < len(s.buf) && s.buf[i] == '.' {
+		if i = s.scanDigits(i + 1); s.buf[i-1] == '.' {
+			return nil, fmt.Errorf("invalid number at offset %d, expect digit after decimal point", start)
+		}
+	}
+	if i < len(s.buf) && (s.buf[i] == 'e' || s.buf[i] == 'E') {
+		i++
+		if i < len(s.buf) && (s.buf[i] == '+' || s.buf[i] == '-') {
+			i++
+		}
+		digits := i
+		if i = s.scanDigits(i); i == digits {
+			return nil, fmt.Errorf("invalid number at offset %d, expect digit in exponent", start)
+		}
+	}
+
+	s.off = i
+	s.prev = scanValue
+	return s.buf[start:i], nil
+}
+
+func (s *Scanner) scanDigits(i int) int {
+	for i < len(s.buf) && s.buf[i] >= '0' && s.buf[i] <= '9' {
+		i++
+	}
+	return i
+}
+
+func (s *Scanner) syntaxError(c byte, format string, args ...interface{}) error {
+	return fmt.Errorf("invalid character %q at offset %d, %s", c, s.off, fmt.Sprintf(format, args...))
+}
+
+// appendUnescaped appends the JSON string contents v to dst, replacing escape
+// sequences with the characters they represent.
+func appendUnescaped(dst, v []byte) ([]byte, error) {
+	for i := 0; i < len(v); i++ {
+		c := v[i]
+		if c != '\\' {
+			dst = append(dst, c)
+			continue
+		}
+
+		i++
+		if i >= len(v) {
+			return dst, fmt.Errorf("invalid escape sequence at end of string")
+		}
+		switch v[i] {
+		case '"', '\\', '/':
+			dst = append(dst, v[i])
+		case 'b':
+			dst = append(dst, '\b')
+		case 'f':
+			dst = append(dst, '\f')
+		case 'n':
+			dst = append(dst, '\n')
+		case 'r':
+			dst = append(dst, '\r')
+		case 't':
+			dst = append(dst, '\t')
+		case 'u':
+			r, ok := decodeHex4(v[i+1:])
+			if !ok {
+				return dst, fmt.Errorf("invalid unicode escape sequence %q", v[i-1:])
+			}
+			i += 4
+			if utf16.IsSurrogate(r) {
+				// Unpaired surrogates are replaced, same as encoding/json.
+				r2, ok := rune(0), false
+				if i+6 < len(v) && v[i+1] == '\\' && v[i+2] == 'u' {
+					r2, ok = decodeHex4(v[i+3:])
+				}
+				if r = utf16.DecodeRune(r, r2); ok && r != unicode.ReplacementChar {
+					i += 6
+				} else {
+					r = unicode.ReplacementChar
+				}
+			}
+			var b [utf8.UTFMax]byte
+			n := utf8.EncodeRune(b[:], r)
+			dst = append(dst, b[:n]...)
+		default:
+			return dst, fmt.Errorf("invalid escape sequence %q", v[i-1:i+1])
+		}
+	}
+	return dst, nil
+}
+
+func decodeHex4(b []byte) (rune, bool) {
+	if len(b) < 4 {
+		return 0, false
+	}
+	var r rune
+	for _, c := range b[:4] {
+		switch {
+		case c >= '0' && c <= '9':
+			c -= '0'
+		case c >= 'a' && c <= 'f':
+			c = c - 'a' + 10
+		case c >= 'A' && c <= 'F':
+			c = c - 'A' + 10
+		default:
+			return 0, false
+		}
+		r = r<<4 | rune(c)
+	}
+	return r, true
+}
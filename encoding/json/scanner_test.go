@@ -0,0 +1,244 @@
+package json
+
+import (
+	"math"
+	"reflect"
+	"strings"
+	"testing"
+)
+
+type scannedField struct {
+	Name  string
+	Count int64
+	Ratio float64
+	On    bool
+	Tags  []string
+}
+
+func scanField(s *Scanner) (scannedField, error) {
+	var v scannedField
+	if err := s.ReadDelim('{'); err != nil {
+		return v, err
+	}
+	for s.More() {
+		key, err := s.ReadKey()
+		if err != nil {
+			return v, err
+		}
+		switch string(key) {
+		case "name":
+			if v.Name, err = s.ReadString(); err != nil {
+				return v, err
+			}
+		case "count":
+			if v.Count, err = s.ReadInt64(); err != nil {
+				return v, err
+			}
+		case "ratio":
+			if v.Ratio, err = s.ReadFloat64(); err != nil {
+				return v, err
+			}
+		case "on":
+			if v.On, err = s.ReadBool(); err != nil {
+				return v, err
+			}
+		case "tags":
+			if null, err := s.ReadNull(); err != nil {
+				return v, err
+			} else if null {
+				continue
+			}
+			if err := s.ReadDelim('['); err != nil {
+				return v, err
+			}
+			for s.More() {
+				tag, err := s.ReadString()
+				if err != nil {
+					return v, err
+				}
+				v.Tags = append(v.Tags, tag)
+			}
+			if err := s.ReadDelim(']'); err != nil {
+				return v, err
+			}
+		default:
+			if err := s.Skip(); err != nil {
+				return v, err
+			}
+		}
+	}
+	return v, s.ReadDelim('}')
+}
+
+func TestScanner(t *testing.T) {
+	cases := map[string]struct {
+		input       string
+		expect      scannedField
+		expectError string
+	}{
+		"empty object": {
+			input: `{}`,
+		},
+		"all fields": {
+			input: `{"name": "foo", "count": -42, "ratio": 1.5e2, "on": true, "tags": ["a", "b"]}`,
+			expect: scannedField{
+				Name:  "foo",
+				Count: -42,
+				Ratio: 150,
+				On:    true,
+				Tags:  []string{"a", "b"},
+			},
+		},
+		"whitespace": {
+			input:  " \n{\t\"name\" :\r\n\"foo\" , \"tags\" : [ ] }\n",
+			expect: scannedField{Name: "foo"},
+		},
+		"null list": {
+			input:  `{"tags": null, "count": 1}`,
+			expect: scannedField{Count: 1},
+		},
+		"escaped strings": {
+			input:  `{"name": "a\"b\\c\/d\né😀\ud800x"}`,
+			expect: scannedField{Name: "a\"b\\c/d\né\U0001F600�x"},
+		},
+		"unknown fields": {
+			input: `{"unknown": {"a": [1, {"b": null}, "c\"]", true, false], "d": -0.5e-3}, "count": 7, "x": []}`,
+			expect: scannedField{
+				Count: 7,
+			},
+		},
+		"min int64": {
+			input:  `{"count": -9223372036854775808}`,
+			expect: scannedField{Count: math.MinInt64},
+		},
+		"int64 overflow": {
+			input:       `{"count": 9223372036854775808}`,
+			expectError: "overflows int64",
+		},
+		"fractional integer": {
+			input:       `{"count": 1.5}`,
+			expectError: "expect integer",
+		},
+		"missing comma": {
+			input:       `{"name": "foo" "count": 1}`,
+			expectError: "expect `,`",
+		},
+		"missing comma in list": {
+			input:       `{"tags": ["a" "b"]}`,
+			expectError: "expect `,`",
+		},
+		"trailing comma": {
+			input:       `{"name": "foo",}`,
+			expectError: "expect object key",
+		},
+		"trailing comma in list": {
+			input:       `{"tags": ["a",]}`,
+			expectError: "expect string",
+		},
+		"leading comma": {
+			input:       `{, "name": "foo"}`,
+			expectError: "expect object key",
+		},
+		"missing colon": {
+			input:       `{"name" "foo"}`,
+			expectError: "expect `:`",
+		},
+		"mismatched delimiter": {
+			input:       `{"name": "foo"]`,
+			expectError: "expect `}`",
+		},
+		"invalid literal": {
+			input:       `{"on": tru}`,
+			expectError: "expect true",
+		},
+		"invalid number": {
+			input:       `{"ratio": 1.}`,
+			expectError: "expect digit",
+		},
+		"unterminated string": {
+			input:       `{"name": "foo`,
+			expectError: "unexpected EOF",
+		},
+		"truncated": {
+			input:       `{"name": "foo"`,
+			expectError: "unexpected EOF",
+		},
+	}
+
+	for name, c := range cases {
+		t.Run(name, func(t *testing.T) {
+			actual, err := scanField(NewScanner([]byte(c.input)))
+			if len(c.expectError) != 0 {
+				if err == nil {
+					t.Fatalf("expect error containing %q, got none", c.expectError)
+				}
+				if !strings.Contains(err.Error(), c.expectError) {
+					t.Fatalf("expect error containing %q, got %v", c.expectError, err)
+				}
+				return
+			}
+			if err != nil {
+				t.Fatalf("expect no error, got %v", err)
+			}
+			if !reflect.DeepEqual(c.expect, actual) {
+				t.Errorf("expect %v, got %v", c.expect, actual)
+			}
+		})
+	}
+}
+
+func TestScannerReadBase64(t *testing.T) {
+	s := NewScanner([]byte(`"Zm9vYmFy"`))
+	actual, err := s.ReadBase64()
+	if err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	if e, a := "foobar", string(actual); e != a {
+		t.Errorf("expect %v, got %v", e, a)
+	}
+}
+
+func TestScannerEscapedMapKeys(t *testing.T) {
+	s := NewScanner([]byte(`{"a\"b": "c\nd", "e\u00e9": "f\\g", "plain": "h\ti"}`))
+	if err := s.ReadDelim('{'); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	actual := map[string]string{}
+	for s.More() {
+		key, err := s.ReadKey()
+		if err != nil {
+			t.Fatalf("expect no error, got %v", err)
+		}
+		// Reading an escaped value must not overwrite the escaped key.
+		value, err := s.ReadString()
+		if err != nil {
+			t.Fatalf("expect no error, got %v", err)
+		}
+		actual[string(key)] = value
+	}
+	if err := s.ReadDelim('}'); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+
+	expect := map[string]string{
+		"a\"b":    "c\nd",
+		"e\u00e9": "f\\g",
+		"plain":   "h\ti",
+	}
+	if !reflect.DeepEqual(expect, actual) {
+		t.Errorf("expect %v, got %v", expect, actual)
+	}
+}
+
+func TestScannerAllocations(t *testing.T) {
+	input := []byte(`{"count": 12, "on": true, "unknown": {"a": [1, 2.5, "b", null]}, "key": 3}`)
+	allocs := testing.AllocsPerRun(100, func() {
+		s := Scanner{buf: input}
+		if _, err := scanField(&s); err != nil {
+			t.Fatalf("expect no error, got %v", err)
+		}
+	})
+	if allocs != 0 {
+		t.Errorf("expect no allocations, got %v", allocs)
+	}
+}
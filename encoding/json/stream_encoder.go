@@ -0,0 +1,134 @@
+package json
+
+import (
+	"bytes"
+	"encoding/base64"
+	"io"
+	"unicode/utf8"
+)
+
+const (
+	// streamEncoderBufferSize is the number of encoded bytes a StreamEncoder
+	// buffers before writing them to the underlying writer.
+	streamEncoderBufferSize = 32 * 1024
+
+	// streamEncoderChunkSize is the number of bytes of a large string or blob
+	// value a StreamEncoder encodes into its buffer at a time.
+	streamEncoderChunkSize = 4 * 1024
+
+	// maxStreamEncoderBufferCap is the capacity above which the buffer of a
+	// StreamEncoder is reallocated once drained, so that a single oversized
+	// value doesn't stay allocated for the rest of the document.
+	maxStreamEncoderBufferCap = 4 * streamEncoderBufferSize
+)
+
+// streamSink writes the buffer of a StreamEncoder to its underlying writer.
+// It is shared by the values, objects, and arrays of the encoded document.
+type streamSink struct {
+	buf *bytes.Buffer
+	w   io.Writer
+	err error
+}
+
+func newStreamSink(w io.Writer) *streamSink {
+	return &streamSink{
+		buf: bytes.NewBuffer(make([]byte, 0, 2*streamEncoderBufferSize)),
+		w:   w,
+	}
+}
+
+// drainFull writes the buffer to the underlying writer once it holds at
+// least streamEncoderBufferSize bytes.
+func (s *streamSink) drainFull() {
+	if s.buf.Len() >= streamEncoderBufferSize {
+		s.drain()
+	}
+}
+
+// drain writes the buffer to the underlying writer and resets it. After a
+// write error the remainder of the document is discarded.
+func (s *streamSink) drain() {
+	if s.err == nil {
+		_, s.err = s.w.Write(s.buf.Bytes())
+	}
+	if s.buf.Cap() > maxStreamEncoderBufferCap {
+		*s.buf = bytes.Buffer{}
+		s.buf.Grow(2 * streamEncoderBufferSize)
+	} else {
+		s.buf.Reset()
+	}
+}
+
+// Write writes p to the buffer, draining it once full. Errors writing to the
+// underlying writer are returned by StreamEncoder.Flush.
+func (s *streamSink) Write(p []byte) (int, error) {
+	s.buf.Write(p)
+	s.drainFull()
+	return len(p), nil
+}
+
+// writeString encodes v as a JSON string escaped one chunk at a time, so
+// that the buffer never holds more than a chunk of the escaped value.
+func (s *streamSink) writeString(v string, scratch *[]byte) {
+	s.buf.WriteByte('"')
+	for len(v) > 0 {
+		n := len(v)
+		if n > streamEncoderChunkSize {
+			n = streamEncoderChunkSize
+			// Don't split a rune across chunks, invalid bytes are escaped
+			// one at a time either way.
+			for n > streamEncoderChunkSize-utf8.UTFMax && !utf8.RuneStart(v[n]) {
+				n--
+			}
+		}
+		*scratch = append((*scratch)[:0], v[:n]...)
+		escapeStringContent(s.buf, *scratch)
+		s.drainFull()
+		v = v[n:]
+	}
+	s.buf.WriteByte('"')
+}
+
+// writeBase64 encodes v as a base64 value in a JSON string, through the
+// buffer one chunk of the encoder at a time.
+func (s *streamSink) writeBase64(v []byte) {
+	s.buf.WriteByte('"')
+	enc := base64.NewEncoder(base64.StdEncoding, s)
+	enc.Write(v)
+	enc.Close()
+	s.buf.WriteByte('"')
+}
+
+// StreamEncoder is a JSON encoder that writes the encoded document to an
+// io.Writer while it is encoded.
+//
+// The document is encoded into a buffer like with Encoder, which is written
+// to the underlying writer between object members and array elements once it
+// holds streamEncoderBufferSize bytes. Large string and blob values are
+// encoded and written in chunks, so the memory held stays bounded whatever
+// the size of the document and its values.
+type StreamEncoder struct {
+	sink *streamSink
+	Value
+}
+
+// NewStreamEncoder returns a new JSON encoder writing to w.
+//
+// Errors writing to w are returned by Flush, which must be called once the
+// document has been encoded.
+func NewStreamEncoder(w io.Writer) *StreamEncoder {
+	sink := newStreamSink(w)
+	scratch := make([]byte, 64)
+
+	return &StreamEncoder{
+		sink:  sink,
+		Value: Value{w: sink.buf, scratch: &scratch, sink: sink},
+	}
+}
+
+// Flush writes the buffered bytes of the document to the underlying writer,
+// and returns the first error writing to it, if any.
+func (e *StreamEncoder) Flush() error {
+	e.sink.drain()
+	return e.sink.err
+}
@@ -0,0 +1,168 @@
+package json
+
+import (
+	"bytes"
+	"fmt"
+	"strings"
+	"testing"
+)
+
+type countingWriter struct {
+	bytes.Buffer
+	writes  int
+	maxSize int
+}
+
+func (w *countingWriter) Write(p []byte) (int, error) {
+	w.writes++
+	if len(p) > w.maxSize {
+		w.maxSize = len(p)
+	}
+	return w.Buffer.Write(p)
+}
+
+func TestStreamEncoder(t *testing.T) {
+	var w countingWriter
+	encoder := NewStreamEncoder(&w)
+
+	object := encoder.Object()
+	object.Key("stringKey").String("stringValue")
+	object.Key("blob").Base64EncodeBytes(bytes.Repeat([]byte("foo bar"), 1<<14))
+	array := object.Key("list").Array()
+	for i := 0; i < 1<<14; i++ {
+		array.Value().Long(int64(i))
+	}
+	array.Close()
+	object.Close()
+
+	if err := encoder.Flush(); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+
+	expect := NewEncoder()
+	object = expect.Object()
+	object.Key("stringKey").String("stringValue")
+	object.Key("blob").Base64EncodeBytes(bytes.Repeat([]byte("foo bar"), 1<<14))
+	array = object.Key("list").Array()
+	for i := 0; i < 1<<14; i++ {
+		array.Value().Long(int64(i))
+	}
+	array.Close()
+	object.Close()
+
+	if e, a := expect.Bytes(), w.Bytes(); !bytes.Equal(e, a) {
+		t.Errorf("expect streamed document to match encoded document")
+	}
+	if w.writes < 2 {
+		t.Errorf("expect document to be written in several writes, got %v", w.writes)
+	}
+}
+
+func TestStreamEncoderBoundsBuffer(t *testing.T) {
+	var w countingWriter
+	encoder := NewStreamEncoder(&w)
+
+	array := encoder.Array()
+	for i := 0; i < 1<<16; i++ {
+		array.Value().Long(int64(i))
+	}
+	array.Close()
+
+	if err := encoder.Flush(); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+
+	if w.writes < 2 {
+		t.Errorf("expect document to be written in several writes, got %v", w.writes)
+	}
+	// Elements are drained once the buffer is full, so the buffer holds at
+	// most one element past the threshold.
+	if e, a := streamEncoderBufferSize+32, w.maxSize; a > e {
+		t.Errorf("expect writes of at most %v bytes, got %v", e, a)
+	}
+}
+
+func TestStreamEncoderLargeValues(t *testing.T) {
+	blob := bytes.Repeat([]byte("foo bar"), 1<<20)
+	str := strings.Repeat("a\"\u00e9\u2028\n", 1<<19)
+
+	cases := map[string]struct {
+		Encode func(Value)
+	}{
+		"blob": {
+			Encode: func(v Value) { v.Base64EncodeBytes(blob) },
+		},
+		"string": {
+			Encode: func(v Value) { v.String(str) },
+		},
+	}
+
+	for name, c := range cases {
+		t.Run(name, func(t *testing.T) {
+			var w countingWriter
+			encoder := NewStreamEncoder(&w)
+			object := encoder.Object()
+			c.Encode(object.Key("value"))
+			object.Close()
+
+			if err := encoder.Flush(); err != nil {
+				t.Fatalf("expect no error, got %v", err)
+			}
+
+			expect := NewEncoder()
+			object = expect.Object()
+			c.Encode(object.Key("value"))
+			object.Close()
+
+			if e, a := expect.Bytes(), w.Bytes(); !bytes.Equal(e, a) {
+				t.Errorf("expect streamed document to match encoded document")
+			}
+			// A chunk of the value escapes to at most 6 bytes per byte.
+			if e, a := streamEncoderBufferSize+6*streamEncoderChunkSize, w.maxSize; a > e {
+				t.Errorf("expect writes of at most %v bytes, got %v", e, a)
+			}
+			if e, a := 2*streamEncoderBufferSize, encoder.sink.buf.Cap(); a > e {
+				t.Errorf("expect buffer capacity of at most %v bytes, got %v", e, a)
+			}
+		})
+	}
+}
+
+func TestStreamEncoderShrinksBuffer(t *testing.T) {
+	var w countingWriter
+	encoder := NewStreamEncoder(&w)
+
+	array := encoder.Array()
+	array.Value().Write(bytes.Repeat([]byte("1"), 1<<20))
+	array.Value().Long(1)
+	if e, a := 2*streamEncoderBufferSize, encoder.sink.buf.Cap(); a > e {
+		t.Errorf("expect buffer capacity of at most %v bytes once drained, got %v", e, a)
+	}
+	array.Close()
+
+	if err := encoder.Flush(); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	if e, a := 1<<20+4, w.Len(); e != a {
+		t.Errorf("expect %v bytes written, got %v", e, a)
+	}
+}
+
+type failingWriter struct{}
+
+func (failingWriter) Write(p []byte) (int, error) {
+	return 0, fmt.Errorf("write failed")
+}
+
+func TestStreamEncoderWriteError(t *testing.T) {
+	encoder := NewStreamEncoder(failingWriter{})
+	encoder.String(strings.Repeat("a", 2*streamEncoderBufferSize))
+
+	err := encoder.Flush()
+	if err == nil {
+		t.Fatalf("expect error, got none")
+	}
+	if e, a := "write failed", err.Error(); !strings.Contains(a, e) {
+		t.Errorf("expect error to contain %q, got %q", e, a)
+	}
+}
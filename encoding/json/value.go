@@ -14,6 +14,7 @@ import (
 type Value struct {
 	w       *bytes.Buffer
 	scratch *[]byte
+	sink    *streamSink
 }
 
 // newValue returns a new Value encoder
@@ -23,6 +24,10 @@ func newValue(w *bytes.Buffer, scratch *[]byte) Value {
 
 // String encodes v as a JSON string
 func (jv Value) String(v string) {
+	if jv.sink != nil && len(v) > streamEncoderChunkSize {
+		jv.sink.writeString(v, jv.scratch)
+		return
+	}
 	escapeStringBytes(jv.w, []byte(v))
 }
 
@@ -76,6 +81,10 @@ func (jv Value) Boolean(v bool) {
 
 // Base64EncodeBytes writes v as a base64 value in JSON string
 func (jv Value) Base64EncodeBytes(v []byte) {
+	if jv.sink != nil && len(v) > streamEncoderChunkSize {
+		jv.sink.writeBase64(v)
+		return
+	}
 	encodeByteSlice(jv.w, (*jv.scratch)[:0], v)
 }
 
@@ -86,12 +95,16 @@ func (jv Value) Write(v []byte) {
 
 // Array returns a new Array encoder
 func (jv Value) Array() *Array {
-	return newArray(jv.w, jv.scratch)
+	a := newArray(jv.w, jv.scratch)
+	a.sink = jv.sink
+	return a
 }
 
 // Object returns a new Object encoder
 func (jv Value) Object() *Object {
-	return newObject(jv.w, jv.scratch)
+	o := newObject(jv.w, jv.scratch)
+	o.sink = jv.sink
+	return o
 }
 
 // Null encodes a null JSON value
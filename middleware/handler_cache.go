@@ -0,0 +1,41 @@
+package middleware
+
+import (
+	"sync"
+)
+
+// HandlerCache caches the handlers built from operation stacks, so that the
+// stack of an operation invoked with the same options is only built once and
+// then reused by every invocation.
+//
+// A cached handler is shared by concurrent invocations, so it must only be
+// used for stacks whose middleware keep no per-invocation state in the
+// middleware values themselves.
+type HandlerCache struct {
+	handlers sync.Map
+}
+
+// NewHandlerCache returns an empty HandlerCache.
+func NewHandlerCache() *HandlerCache {
+	return &HandlerCache{}
+}
+
+// GetOrBuild returns the handler cached for the id, building and caching it
+// with build if the id has no handler yet. Errors returned by build are not
+// cached, so the next call for the id builds the handler again.
+//
+// Concurrent calls for an id that isn't cached yet may each build a handler,
+// but only the first handler to be cached is returned by all of them.
+func (c *HandlerCache) GetOrBuild(id string, build func() (Handler, error)) (Handler, error) {
+	if h, ok := c.handlers.Load(id); ok {
+		return h.(Handler), nil
+	}
+
+	h, err := build()
+	if err != nil {
+		return nil, err
+	}
+
+	actual, _ := c.handlers.LoadOrStore(id, h)
+	return actual.(Handler), nil
+}
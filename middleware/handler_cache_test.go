@@ -0,0 +1,130 @@
+package middleware
+
+import (
+	"context"
+	"fmt"
+	"sync"
+	"testing"
+)
+
+func TestHandlerCache(t *testing.T) {
+	cache := NewHandlerCache()
+
+	var builds int
+	build := func() (Handler, error) {
+		builds++
+		return HandlerFunc(func(ctx context.Context, input interface{}) (
+			output interface{}, metadata Metadata, err error,
+		) {
+			return input, metadata, nil
+		}), nil
+	}
+
+	for i := 0; i < 3; i++ {
+		h, err := cache.GetOrBuild("op", build)
+		if err != nil {
+			t.Fatalf("expect no error, got %v", err)
+		}
+		output, _, _ := h.Handle(context.Background(), i)
+		if e, a := i, output; e != a {
+			t.Errorf("expect %v output, got %v", e, a)
+		}
+	}
+	if e, a := 1, builds; e != a {
+		t.Errorf("expect %v builds, got %v", e, a)
+	}
+
+	if _, err := cache.GetOrBuild("other", build); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	if e, a := 2, builds; e != a {
+		t.Errorf("expect %v builds, got %v", e, a)
+	}
+}
+
+func TestHandlerCacheBuildError(t *testing.T) {
+	cache := NewHandlerCache()
+
+	var builds int
+	build := func() (Handler, error) {
+		builds++
+		return nil, fmt.Errorf("build error")
+	}
+
+	for i := 0; i < 2; i++ {
+		if _, err := cache.GetOrBuild("op", build); err == nil {
+			t.Fatalf("expect error, got none")
+		}
+	}
+	if e, a := 2, builds; e != a {
+		t.Errorf("expect errors to not be cached, got %v builds", a)
+	}
+}
+
+func TestHandlerCacheConcurrent(t *testing.T) {
+	cache := NewHandlerCache()
+
+	handlers := make([]Handler, 10)
+	var wg sync.WaitGroup
+	for i := range handlers {
+		wg.Add(1)
+		go func(i int) {
+			defer wg.Done()
+			h, err := cache.GetOrBuild("op", func() (Handler, error) {
+				return &idHandler{id: i}, nil
+			})
+			if err != nil {
+				t.Errorf("expect no error, got %v", err)
+			}
+			handlers[i] = h
+		}(i)
+	}
+	wg.Wait()
+
+	for i, h := range handlers {
+		if h != handlers[0] {
+			t.Errorf("expect handler %d to be the cached handler", i)
+		}
+	}
+}
+
+func BenchmarkHandlerCache(b *testing.B) {
+	build := func() (Handler, error) {
+		stack := NewStack("op", func() interface{} { return struct{}{} })
+		for i := 0; i < 10; i++ {
+			if err := stack.Initialize.Add(mockInitializeMiddleware(fmt.Sprintf("initialize%d", i)), After); err != nil {
+				return nil, err
+			}
+		}
+		return DecorateHandler(&mockHandler{}, stack), nil
+	}
+
+	b.Run("build", func(b *testing.B) {
+		b.ReportAllocs()
+		for i := 0; i < b.N; i++ {
+			if _, err := build(); err != nil {
+				b.Fatal(err)
+			}
+		}
+	})
+
+	b.Run("cached", func(b *testing.B) {
+		cache := NewHandlerCache()
+		b.ReportAllocs()
+		for i := 0; i < b.N; i++ {
+			if _, err := cache.GetOrBuild("op", build); err != nil {
+				b.Fatal(err)
+			}
+		}
+	})
+}
+
+type idHandler struct {
+	id int
+}
+
+func (h *idHandler) Handle(ctx context.Context, input interface{}) (
+	output interface{}, metadata Metadata, err error,
+) {
+	return h.id, metadata, nil
+}
@@ -0,0 +1,162 @@
+package middleware
+
+import (
+	"context"
+)
+
+// ComposeStack returns a handler that invokes the middleware of the stack, in
+// the stack's current order, before calling the handler.
+//
+// Unlike decorating the handler with the stack, which orders and chains the
+// middleware of each step again on every invocation, the chain of each step
+// is composed once when ComposeStack is called. Middleware added to or
+// removed from the stack afterwards are not reflected in the returned
+// handler.
+func ComposeStack(s *Stack, h Handler) Handler {
+	h = s.Deserialize.compose(h)
+	h = s.Finalize.compose(h)
+	h = s.Build.compose(h)
+	h = s.Serialize.compose(h)
+	return s.Initialize.compose(h)
+}
+
+// The compose method of each step chains the step's middleware in front of
+// the next handler. The steps' HandleMiddleware invoke the same chain, so
+// composed and decorated stacks always run the middleware the same way.
+
+func (s *InitializeStep) compose(next Handler) composedInitializeHandler {
+	order := s.ids.GetOrder()
+
+	var h InitializeHandler = initializeWrapHandler{Next: next}
+	for i := len(order) - 1; i >= 0; i-- {
+		h = decoratedInitializeHandler{
+			Next: h,
+			With: order[i].(InitializeMiddleware),
+		}
+	}
+
+	return composedInitializeHandler{Next: h}
+}
+
+type composedInitializeHandler struct {
+	Next InitializeHandler
+}
+
+func (h composedInitializeHandler) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	res, metadata, err := h.Next.HandleInitialize(ctx, InitializeInput{
+		Parameters: in,
+	})
+	return res.Result, metadata, err
+}
+
+func (s *SerializeStep) compose(next Handler) composedSerializeHandler {
+	order := s.ids.GetOrder()
+
+	var h SerializeHandler = serializeWrapHandler{Next: next}
+	for i := len(order) - 1; i >= 0; i-- {
+		h = decoratedSerializeHandler{
+			Next: h,
+			With: order[i].(SerializeMiddleware),
+		}
+	}
+
+	return composedSerializeHandler{Next: h, newRequest: s.newRequest}
+}
+
+type composedSerializeHandler struct {
+	Next       SerializeHandler
+	newRequest func() interface{}
+}
+
+func (h composedSerializeHandler) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	res, metadata, err := h.Next.HandleSerialize(ctx, SerializeInput{
+		Parameters: in,
+		Request:    h.newRequest(),
+	})
+	return res.Result, metadata, err
+}
+
+func (s *BuildStep) compose(next Handler) composedBuildHandler {
+	order := s.ids.GetOrder()
+
+	var h BuildHandler = buildWrapHandler{Next: next}
+	for i := len(order) - 1; i >= 0; i-- {
+		h = decoratedBuildHandler{
+			Next: h,
+			With: order[i].(BuildMiddleware),
+		}
+	}
+
+	return composedBuildHandler{Next: h}
+}
+
+type composedBuildHandler struct {
+	Next BuildHandler
+}
+
+func (h composedBuildHandler) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	res, metadata, err := h.Next.HandleBuild(ctx, BuildInput{
+		Request: in,
+	})
+	return res.Result, metadata, err
+}
+
+func (s *FinalizeStep) compose(next Handler) composedFinalizeHandler {
+	order := s.ids.GetOrder()
+
+	var h FinalizeHandler = finalizeWrapHandler{Next: next}
+	for i := len(order) - 1; i >= 0; i-- {
+		h = decoratedFinalizeHandler{
+			Next: h,
+			With: order[i].(FinalizeMiddleware),
+		}
+	}
+
+	return composedFinalizeHandler{Next: h}
+}
+
+type composedFinalizeHandler struct {
+	Next FinalizeHandler
+}
+
+func (h composedFinalizeHandler) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	res, metadata, err := h.Next.HandleFinalize(ctx, FinalizeInput{
+		Request: in,
+	})
+	return res.Result, metadata, err
+}
+
+func (s *DeserializeStep) compose(next Handler) composedDeserializeHandler {
+	order := s.ids.GetOrder()
+
+	var h DeserializeHandler = deserializeWrapHandler{Next: next}
+	for i := len(order) - 1; i >= 0; i-- {
+		h = decoratedDeserializeHandler{
+			Next: h,
+			With: order[i].(DeserializeMiddleware),
+		}
+	}
+
+	return composedDeserializeHandler{Next: h}
+}
+
+type composedDeserializeHandler struct {
+	Next DeserializeHandler
+}
+
+func (h composedDeserializeHandler) Handle(ctx context.Context, in interface{}) (
+	out interface{}, metadata Metadata, err error,
+) {
+	res, metadata, err := h.Next.HandleDeserialize(ctx, DeserializeInput{
+		Request: in,
+	})
+	return res.Result, metadata, err
+}
@@ -0,0 +1,151 @@
+package middleware
+
+import (
+	"context"
+	"fmt"
+	"testing"
+
+	"github.com/google/go-cmp/cmp"
+)
+
+type composeRecorder struct {
+	calls    []string
+	requests []*composeRequest
+}
+
+type composeRequest struct{}
+
+func newComposeTestStack(r *composeRecorder) *Stack {
+	s := NewStack("composeStack", func() interface{} { return &composeRequest{} })
+
+	s.Initialize.Add(InitializeMiddlewareFunc("initialize",
+		func(ctx context.Context, in InitializeInput, next InitializeHandler) (
+			out InitializeOutput, metadata Metadata, err error,
+		) {
+			r.calls = append(r.calls, fmt.Sprintf("initialize %v", in.Parameters))
+			return next.HandleInitialize(ctx, in)
+		}), After)
+	s.Serialize.Add(SerializeMiddlewareFunc("serialize",
+		func(ctx context.Context, in SerializeInput, next SerializeHandler) (
+			out SerializeOutput, metadata Metadata, err error,
+		) {
+			r.calls = append(r.calls, "serialize")
+			r.requests = append(r.requests, in.Request.(*composeRequest))
+			return next.HandleSerialize(ctx, in)
+		}), After)
+	s.Build.Add(BuildMiddlewareFunc("build",
+		func(ctx context.Context, in BuildInput, next BuildHandler) (
+			out BuildOutput, metadata Metadata, err error,
+		) {
+			r.calls = append(r.calls, "build")
+			return next.HandleBuild(ctx, in)
+		}), After)
+	s.Finalize.Add(FinalizeMiddlewareFunc("finalize",
+		func(ctx context.Context, in FinalizeInput, next FinalizeHandler) (
+			out FinalizeOutput, metadata Metadata, err error,
+		) {
+			r.calls = append(r.calls, "finalize")
+			return next.HandleFinalize(ctx, in)
+		}), After)
+	s.Finalize.Add(FinalizeMiddlewareFunc("finalizeFirst",
+		func(ctx context.Context, in FinalizeInput, next FinalizeHandler) (
+			out FinalizeOutput, metadata Metadata, err error,
+		) {
+			r.calls = append(r.calls, "finalizeFirst")
+			return next.HandleFinalize(ctx, in)
+		}), Before)
+	s.Deserialize.Add(DeserializeMiddlewareFunc("deserialize",
+		func(ctx context.Context, in DeserializeInput, next DeserializeHandler) (
+			out DeserializeOutput, metadata Metadata, err error,
+		) {
+			out, metadata, err = next.HandleDeserialize(ctx, in)
+			r.calls = append(r.calls, fmt.Sprintf("deserialize %v", out.RawResponse))
+			out.Result = "result"
+			return out, metadata, err
+		}), After)
+
+	return s
+}
+
+func composeTestHandler(r *composeRecorder) Handler {
+	return HandlerFunc(func(ctx context.Context, input interface{}) (
+		output interface{}, metadata Metadata, err error,
+	) {
+		r.calls = append(r.calls, "handler")
+		return "response", metadata, nil
+	})
+}
+
+func TestComposeStack(t *testing.T) {
+	var decorated, composed composeRecorder
+
+	decoratedHandler := DecorateHandler(composeTestHandler(&decorated), newComposeTestStack(&decorated))
+	composedHandler := ComposeStack(newComposeTestStack(&composed), composeTestHandler(&composed))
+
+	for i := 0; i < 2; i++ {
+		expectResult, _, expectErr := decoratedHandler.Handle(context.Background(), i)
+		actualResult, _, actualErr := composedHandler.Handle(context.Background(), i)
+		if e, a := expectResult, actualResult; e != a {
+			t.Errorf("expect %v result, got %v", e, a)
+		}
+		if e, a := expectErr, actualErr; e != a {
+			t.Errorf("expect %v error, got %v", e, a)
+		}
+	}
+
+	if diff := cmp.Diff(decorated.calls, composed.calls); len(diff) != 0 {
+		t.Errorf("expect composed stack to invoke middleware in stack order\n%s", diff)
+	}
+	if e, a := 2, len(composed.requests); e != a {
+		t.Fatalf("expect %v requests, got %v", e, a)
+	}
+	if composed.requests[0] == composed.requests[1] {
+		t.Errorf("expect a new request for each invocation")
+	}
+}
+
+func TestComposeStackIgnoresLaterChanges(t *testing.T) {
+	var r composeRecorder
+	s := newComposeTestStack(&r)
+	h := ComposeStack(s, composeTestHandler(&r))
+
+	s.Initialize.Remove("initialize")
+
+	if _, _, err := h.Handle(context.Background(), 0); err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	if e, a := "initialize 0", r.calls[0]; e != a {
+		t.Errorf("expect %q first call, got %q", e, a)
+	}
+}
+
+func BenchmarkComposeStack(b *testing.B) {
+	newStack := func() *Stack {
+		s := NewStack("benchmarkStack", func() interface{} { return struct{}{} })
+		for i := 0; i < 5; i++ {
+			s.Initialize.Add(mockInitializeMiddleware(fmt.Sprintf("initialize%d", i)), After)
+			s.Serialize.Add(mockSerializeMiddleware(fmt.Sprintf("serialize%d", i)), After)
+			s.Build.Add(mockBuildMiddleware(fmt.Sprintf("build%d", i)), After)
+			s.Finalize.Add(mockFinalizeMiddleware(fmt.Sprintf("finalize%d", i)), After)
+			s.Deserialize.Add(mockDeserializeMiddleware(fmt.Sprintf("deserialize%d", i)), After)
+		}
+		return s
+	}
+	ctx := context.Background()
+
+	b.Run("DecorateHandler", func(b *testing.B) {
+		h := DecorateHandler(&mockHandler{}, newStack())
+		b.ReportAllocs()
+		for i := 0; i < b.N; i++ {
+			h.Handle(ctx, nil)
+		}
+	})
+
+	b.Run("ComposeStack", func(b *testing.B) {
+		h := ComposeStack(newStack(), &mockHandler{})
+		b.ReportAllocs()
+		for i := 0; i < b.N; i++ {
+			h.Handle(ctx, nil)
+		}
+	})
+}
@@ -97,22 +97,7 @@ func (s *BuildStep) ID() string {
 func (s *BuildStep) HandleMiddleware(ctx context.Context, in interface{}, next Handler) (
 	out interface{}, metadata Metadata, err error,
 ) {
-	order := s.ids.GetOrder()
-
-	var h BuildHandler = buildWrapHandler{Next: next}
-	for i := len(order) - 1; i >= 0; i-- {
-		h = decoratedBuildHandler{
-			Next: h,
-			With: order[i].(BuildMiddleware),
-		}
-	}
-
-	sIn := BuildInput{
-		Request: in,
-	}
-
-	res, metadata, err := h.HandleBuild(ctx, sIn)
-	return res.Result, metadata, err
+	return s.compose(next).Handle(ctx, in)
 }
 
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
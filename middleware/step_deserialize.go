@@ -103,22 +103,7 @@ func (s *DeserializeStep) ID() string {
 func (s *DeserializeStep) HandleMiddleware(ctx context.Context, in interface{}, next Handler) (
 	out interface{}, metadata Metadata, err error,
 ) {
-	order := s.ids.GetOrder()
-
-	var h DeserializeHandler = deserializeWrapHandler{Next: next}
-	for i := len(order) - 1; i >= 0; i-- {
-		h = decoratedDeserializeHandler{
-			Next: h,
-			With: order[i].(DeserializeMiddleware),
-		}
-	}
-
-	sIn := DeserializeInput{
-		Request: in,
-	}
-
-	res, metadata, err := h.HandleDeserialize(ctx, sIn)
-	return res.Result, metadata, err
+	return s.compose(next).Handle(ctx, in)
 }
 
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
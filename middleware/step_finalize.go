@@ -97,22 +97,7 @@ func (s *FinalizeStep) ID() string {
 func (s *FinalizeStep) HandleMiddleware(ctx context.Context, in interface{}, next Handler) (
 	out interface{}, metadata Metadata, err error,
 ) {
-	order := s.ids.GetOrder()
-
-	var h FinalizeHandler = finalizeWrapHandler{Next: next}
-	for i := len(order) - 1; i >= 0; i-- {
-		h = decoratedFinalizeHandler{
-			Next: h,
-			With: order[i].(FinalizeMiddleware),
-		}
-	}
-
-	sIn := FinalizeInput{
-		Request: in,
-	}
-
-	res, metadata, err := h.HandleFinalize(ctx, sIn)
-	return res.Result, metadata, err
+	return s.compose(next).Handle(ctx, in)
 }
 
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
@@ -97,22 +97,7 @@ func (s *InitializeStep) ID() string {
 func (s *InitializeStep) HandleMiddleware(ctx context.Context, in interface{}, next Handler) (
 	out interface{}, metadata Metadata, err error,
 ) {
-	order := s.ids.GetOrder()
-
-	var h InitializeHandler = initializeWrapHandler{Next: next}
-	for i := len(order) - 1; i >= 0; i-- {
-		h = decoratedInitializeHandler{
-			Next: h,
-			With: order[i].(InitializeMiddleware),
-		}
-	}
-
-	sIn := InitializeInput{
-		Parameters: in,
-	}
-
-	res, metadata, err := h.HandleInitialize(ctx, sIn)
-	return res.Result, metadata, err
+	return s.compose(next).Handle(ctx, in)
 }
 
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
@@ -104,23 +104,7 @@ func (s *SerializeStep) ID() string {
 func (s *SerializeStep) HandleMiddleware(ctx context.Context, in interface{}, next Handler) (
 	out interface{}, metadata Metadata, err error,
 ) {
-	order := s.ids.GetOrder()
-
-	var h SerializeHandler = serializeWrapHandler{Next: next}
-	for i := len(order) - 1; i >= 0; i-- {
-		h = decoratedSerializeHandler{
-			Next: h,
-			With: order[i].(SerializeMiddleware),
-		}
-	}
-
-	sIn := SerializeInput{
-		Parameters: in,
-		Request:    s.newRequest(),
-	}
-
-	res, metadata, err := h.HandleSerialize(ctx, sIn)
-	return res.Result, metadata, err
+	return s.compose(next).Handle(ctx, in)
 }
 
 // Get retrieves the middleware identified by id. If the middleware is not present, returns false.
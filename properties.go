@@ -50,3 +50,18 @@ func (m *Properties) Has(key interface{}) bool {
 	_, ok := m.values[key]
 	return ok
 }
+
+// SetAll accepts all of the given Properties into the receiver, overwriting
+// any existing keys in the case of conflicts.
+func (m *Properties) SetAll(other *Properties) {
+	if other.values == nil {
+		return
+	}
+
+	if m.values == nil {
+		m.values = map[interface{}]interface{}{}
+	}
+	for k, v := range other.values {
+		m.values[k] = v
+	}
+}
@@ -18,3 +18,25 @@ func TestProperties(t *testing.T) {
 		}
 	}
 }
+
+func TestPropertiesSetAll(t *testing.T) {
+	var original Properties
+	original.Set("abc", 123)
+	original.Set("efg", "hij")
+
+	var m Properties
+	m.Set("abc", 456)
+	m.SetAll(&original)
+
+	if e, a := 123, m.Get("abc"); e != a {
+		t.Errorf("expect %v, got %v", e, a)
+	}
+	if e, a := "hij", m.Get("efg"); e != a {
+		t.Errorf("expect %v, got %v", e, a)
+	}
+
+	m.Set("klm", true)
+	if original.Has("klm") {
+		t.Errorf("expect original properties to be unmodified")
+	}
+}
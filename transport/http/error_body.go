@@ -0,0 +1,90 @@
+package http
+
+import (
+	"bytes"
+	"context"
+	"io"
+	"sync"
+
+	"github.com/aws/smithy-go/middleware"
+)
+
+// DefaultErrorBodyLimit is the maximum number of bytes of an error response
+// body that are buffered for deserialization, unless a different limit is set
+// with SetErrorBodyLimit.
+const DefaultErrorBodyLimit int64 = 1 << 20
+
+// maxPooledErrorBodySize is the capacity above which error body buffers are
+// released to the garbage collector instead of being pooled, so that an
+// occasional large error body doesn't stay allocated for the process lifetime.
+const maxPooledErrorBodySize = 64 * 1024
+
+type errorBodyLimitKey struct{}
+
+// GetErrorBodyLimit retrieves the maximum number of bytes of an error response
+// body that are buffered for deserialization.
+//
+// Scoped to stack values. Use middleware#ClearStackValues to clear all stack
+// values.
+func GetErrorBodyLimit(ctx context.Context) int64 {
+	if v, ok := middleware.GetStackValue(ctx, errorBodyLimitKey{}).(int64); ok && v > 0 {
+		return v
+	}
+	return DefaultErrorBodyLimit
+}
+
+// SetErrorBodyLimit sets or modifies the maximum number of bytes of an error
+// response body that are buffered for deserialization. A limit of zero or less
+// uses DefaultErrorBodyLimit.
+//
+// Scoped to stack values. Use middleware#ClearStackValues to clear all stack
+// values.
+func SetErrorBodyLimit(ctx context.Context, limit int64) context.Context {
+	return middleware.WithStackValue(ctx, errorBodyLimitKey{}, limit)
+}
+
+var errorBodyPool = sync.Pool{
+	New: func() interface{} {
+		return &ErrorBody{}
+	},
+}
+
+// ErrorBody is the buffered, seekable prefix of an error response body.
+type ErrorBody struct {
+	buf    bytes.Buffer
+	reader bytes.Reader
+}
+
+// ReadErrorBody reads an error response body into a pooled buffer, up to the
+// error body limit of the context. Bytes past the limit are left unread in
+// the response body, and are discarded when the response body is closed.
+//
+// The ErrorBody must be released with Release once the error has been
+// deserialized, and its contents must not be used afterwards.
+func ReadErrorBody(ctx context.Context, body io.Reader) (*ErrorBody, error) {
+	limit := GetErrorBodyLimit(ctx)
+
+	e := errorBodyPool.Get().(*ErrorBody)
+	if _, err := e.buf.ReadFrom(io.LimitReader(body, limit)); err != nil {
+		e.Release()
+		return nil, err
+	}
+	e.reader.Reset(e.buf.Bytes())
+
+	return e, nil
+}
+
+// Reader returns a reader over the buffered error response body.
+func (e *ErrorBody) Reader() *bytes.Reader {
+	return &e.reader
+}
+
+// Release returns the ErrorBody to the pool it was read into.
+func (e *ErrorBody) Release() {
+	if e.buf.Cap() > maxPooledErrorBodySize {
+		return
+	}
+	e.buf.Reset()
+	e.reader.Reset(nil)
+	errorBodyPool.Put(e)
+}
@@ -0,0 +1,156 @@
+package http
+
+import (
+	"bytes"
+	"context"
+	"fmt"
+	"io/ioutil"
+	"strings"
+	"testing"
+
+	"github.com/aws/smithy-go/middleware"
+)
+
+func TestReadErrorBody(t *testing.T) {
+	cases := map[string]struct {
+		Limit           int64
+		Body            string
+		ExpectBody      string
+		ExpectRemaining string
+	}{
+		"default limit": {
+			Body:       `{"code":"ThrottlingException"}`,
+			ExpectBody: `{"code":"ThrottlingException"}`,
+		},
+		"within limit": {
+			Limit:      8,
+			Body:       "abc",
+			ExpectBody: "abc",
+		},
+		"exactly limit": {
+			Limit:      3,
+			Body:       "abc",
+			ExpectBody: "abc",
+		},
+		"over limit": {
+			Limit:           3,
+			Body:            "abcdef",
+			ExpectBody:      "abc",
+			ExpectRemaining: "def",
+		},
+		"empty body": {
+			Limit: 3,
+		},
+	}
+
+	for name, c := range cases {
+		t.Run(name, func(t *testing.T) {
+			ctx := context.Background()
+			if c.Limit != 0 {
+				ctx = SetErrorBodyLimit(ctx, c.Limit)
+			}
+			body := strings.NewReader(c.Body)
+
+			errorBody, err := ReadErrorBody(ctx, body)
+			if err != nil {
+				t.Fatalf("expect no error, got %v", err)
+			}
+			defer errorBody.Release()
+
+			actual, err := ioutil.ReadAll(errorBody.Reader())
+			if err != nil {
+				t.Fatalf("expect no error, got %v", err)
+			}
+			if e, a := c.ExpectBody, string(actual); e != a {
+				t.Errorf("expect %q body, got %q", e, a)
+			}
+
+			remaining, _ := ioutil.ReadAll(body)
+			if e, a := c.ExpectRemaining, string(remaining); e != a {
+				t.Errorf("expect %q left unread, got %q", e, a)
+			}
+		})
+	}
+}
+
+func TestReadErrorBodyError(t *testing.T) {
+	_, err := ReadErrorBody(context.Background(), &errorReader{})
+	if err == nil {
+		t.Fatalf("expect error, got none")
+	}
+}
+
+func TestGetErrorBodyLimit(t *testing.T) {
+	ctx := context.Background()
+	if e, a := DefaultErrorBodyLimit, GetErrorBodyLimit(ctx); e != a {
+		t.Errorf("expect %v limit, got %v", e, a)
+	}
+
+	ctx = SetErrorBodyLimit(ctx, 1024)
+	if e, a := int64(1024), GetErrorBodyLimit(ctx); e != a {
+		t.Errorf("expect %v limit, got %v", e, a)
+	}
+
+	ctx = SetErrorBodyLimit(ctx, 0)
+	if e, a := DefaultErrorBodyLimit, GetErrorBodyLimit(ctx); e != a {
+		t.Errorf("expect %v limit, got %v", e, a)
+	}
+
+	ctx = middleware.ClearStackValues(ctx)
+	if e, a := DefaultErrorBodyLimit, GetErrorBodyLimit(ctx); e != a {
+		t.Errorf("expect %v limit, got %v", e, a)
+	}
+}
+
+func TestReadErrorBodyReleasedAllocations(t *testing.T) {
+	ctx := context.Background()
+	body := []byte(`{"__type":"ThrottlingException","message":"Rate exceeded"}`)
+
+	allocs := testing.AllocsPerRun(100, func() {
+		errorBody, err := ReadErrorBody(ctx, bytes.NewReader(body))
+		if err != nil {
+			t.Fatalf("expect no error, got %v", err)
+		}
+		errorBody.Release()
+	})
+	// The body reader and the limited reader wrapping it are the only
+	// expected allocations.
+	if allocs > 2 {
+		t.Errorf("expect pooled error bodies to not allocate, got %v allocations", allocs)
+	}
+}
+
+func BenchmarkReadErrorBody(b *testing.B) {
+	for _, size := range []int{64, 1024, 16 * 1024} {
+		body := bytes.Repeat([]byte("a"), size)
+
+		b.Run(fmt.Sprintf("bytes.Buffer/%d", size), func(b *testing.B) {
+			b.ReportAllocs()
+			for i := 0; i < b.N; i++ {
+				var errorBuffer bytes.Buffer
+				if _, err := errorBuffer.ReadFrom(bytes.NewReader(body)); err != nil {
+					b.Fatal(err)
+				}
+				_ = bytes.NewReader(errorBuffer.Bytes())
+			}
+		})
+
+		b.Run(fmt.Sprintf("ReadErrorBody/%d", size), func(b *testing.B) {
+			ctx := context.Background()
+			b.ReportAllocs()
+			for i := 0; i < b.N; i++ {
+				errorBody, err := ReadErrorBody(ctx, bytes.NewReader(body))
+				if err != nil {
+					b.Fatal(err)
+				}
+				errorBody.Release()
+			}
+		})
+	}
+}
+
+type errorReader struct{}
+
+func (*errorReader) Read([]byte) (int, error) {
+	return 0, fmt.Errorf("read error")
+}
@@ -0,0 +1,62 @@
+package http
+
+import (
+	"unicode/utf8"
+)
+
+// FoldErrorCode returns the case-folded form of an error code, so that the
+// code can be dispatched against the case-folded codes of modeled errors with
+// a switch statement or map lookup instead of a chain of strings.EqualFold
+// comparisons.
+//
+// An error code is equal to an ASCII error code under strings.EqualFold if,
+// and only if, its folded form is equal to the lower-cased ASCII error code.
+// Error codes that are already folded are returned without allocating, use
+// AppendFoldedErrorCode with a stack buffer to dispatch other error codes
+// without allocating.
+func FoldErrorCode(code string) string {
+	var buf [64]byte
+	folded := AppendFoldedErrorCode(buf[:0], code)
+	if string(folded) == code {
+		return code
+	}
+	return string(folded)
+}
+
+// AppendFoldedErrorCode appends the case-folded form of an error code to dst
+// and returns the extended buffer, see FoldErrorCode.
+//
+// Switching on the string conversion of the folded code doesn't allocate, so
+// an error code that fits in a stack-allocated dst is dispatched without
+// allocating:
+//
+//	var buf [64]byte
+//	switch string(AppendFoldedErrorCode(buf[:0], code)) {
+//	case "throttlingexception":
+//	}
+func AppendFoldedErrorCode(dst []byte, code string) []byte {
+	for i := 0; i < len(code); {
+		if c := code[i]; c < utf8.RuneSelf {
+			if 'A' <= c && c <= 'Z' {
+				c += 'a' - 'A'
+			}
+			dst = append(dst, c)
+			i++
+			continue
+		}
+
+		r, size := utf8.DecodeRuneInString(code[i:])
+		switch r {
+		case '\u017f':
+			// LATIN SMALL LETTER LONG S is equal to 's' under simple case folding.
+			dst = append(dst, 's')
+		case '\u212a':
+			// KELVIN SIGN is equal to 'k' under simple case folding.
+			dst = append(dst, 'k')
+		default:
+			dst = append(dst, code[i:i+size]...)
+		}
+		i += size
+	}
+	return dst
+}
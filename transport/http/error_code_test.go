@@ -0,0 +1,194 @@
+package http
+
+import (
+	"strings"
+	"testing"
+)
+
+var modeledErrorCodes = []string{
+	"AccessDeniedException",
+	"ConflictException",
+	"InternalServerException",
+	"InvalidParameterException",
+	"LimitExceededException",
+	"ResourceInUseException",
+	"ResourceNotFoundException",
+	"ServiceQuotaExceededException",
+	"ServiceUnavailableException",
+	"ThrottlingException",
+	"TooManyRequestsException",
+	"ValidationException",
+}
+
+func TestFoldErrorCode(t *testing.T) {
+	cases := map[string]string{
+		"":                    "",
+		"throttling":          "throttling",
+		"ThrottlingException": "throttlingexception",
+		"THROTTLING":          "throttling",
+		"Throttling.Sub-Code": "throttling.sub-code",
+		"Ta\u017fk":           "task",
+		"\u212aey":            "key",
+		"État":                "État",
+		"İd":                  "İd",
+	}
+
+	for code, expect := range cases {
+		if e, a := expect, FoldErrorCode(code); e != a {
+			t.Errorf("expect %q to fold to %q, got %q", code, e, a)
+		}
+	}
+}
+
+func TestFoldErrorCodeMatchesEqualFold(t *testing.T) {
+	codes := []string{
+		"throttlingexception",
+		"THROTTLINGEXCEPTION",
+		"ThrottlingExceptio",
+		"Throttling\u212aception",
+		"İnternalServerException",
+		"InternalServerExce\u017fption",
+		"Validationžxception",
+		"\xffValidationException",
+	}
+	codes = append(codes, modeledErrorCodes...)
+
+	for _, modeled := range modeledErrorCodes {
+		for _, code := range codes {
+			expect := strings.EqualFold(modeled, code)
+			actual := FoldErrorCode(code) == strings.ToLower(modeled)
+			if expect != actual {
+				t.Errorf("expect %q matching %q to be %t, got %t", code, modeled, expect, actual)
+			}
+		}
+	}
+}
+
+func TestFoldErrorCodeFoldedAllocations(t *testing.T) {
+	allocs := testing.AllocsPerRun(100, func() {
+		FoldErrorCode("throttlingexception")
+	})
+	if allocs != 0 {
+		t.Errorf("expect no allocations for folded codes, got %v", allocs)
+	}
+}
+
+func TestAppendFoldedErrorCodeAllocations(t *testing.T) {
+	var code string
+	allocs := testing.AllocsPerRun(100, func() {
+		var buf [64]byte
+		switch string(AppendFoldedErrorCode(buf[:0], "ThrottlingException")) {
+		case "throttlingexception":
+			code = "throttling"
+		}
+	})
+	if allocs != 0 {
+		t.Errorf("expect no allocations for mixed-case codes, got %v", allocs)
+	}
+	if e, a := "throttling", code; e != a {
+		t.Errorf("expect %q, got %q", e, a)
+	}
+}
+
+func TestAppendFoldedErrorCodeLongCode(t *testing.T) {
+	code := strings.Repeat("Throttling", 10)
+
+	var buf [64]byte
+	if e, a := strings.ToLower(code), string(AppendFoldedErrorCode(buf[:0], code)); e != a {
+		t.Errorf("expect %q, got %q", e, a)
+	}
+}
+
+func dispatchEqualFold(code string) int {
+	switch {
+	case strings.EqualFold("AccessDeniedException", code):
+		return 0
+	case strings.EqualFold("ConflictException", code):
+		return 1
+	case strings.EqualFold("InternalServerException", code):
+		return 2
+	case strings.EqualFold("InvalidParameterException", code):
+		return 3
+	case strings.EqualFold("LimitExceededException", code):
+		return 4
+	case strings.EqualFold("ResourceInUseException", code):
+		return 5
+	case strings.EqualFold("ResourceNotFoundException", code):
+		return 6
+	case strings.EqualFold("ServiceQuotaExceededException", code):
+		return 7
+	case strings.EqualFold("ServiceUnavailableException", code):
+		return 8
+	case strings.EqualFold("ThrottlingException", code):
+		return 9
+	case strings.EqualFold("TooManyRequestsException", code):
+		return 10
+	case strings.EqualFold("ValidationException", code):
+		return 11
+	default:
+		return -1
+	}
+}
+
+func dispatchFolded(code string) int {
+	var buf [64]byte
+	switch string(AppendFoldedErrorCode(buf[:0], code)) {
+	case "accessdeniedexception":
+		return 0
+	case "conflictexception":
+		return 1
+	case "internalserverexception":
+		return 2
+	case "invalidparameterexception":
+		return 3
+	case "limitexceededexception":
+		return 4
+	case "resourceinuseexception":
+		return 5
+	case "resourcenotfoundexception":
+		return 6
+	case "servicequotaexceededexception":
+		return 7
+	case "serviceunavailableexception":
+		return 8
+	case "throttlingexception":
+		return 9
+	case "toomanyrequestsexception":
+		return 10
+	case "validationexception":
+		return 11
+	default:
+		return -1
+	}
+}
+
+func TestErrorCodeDispatch(t *testing.T) {
+	for _, code := range append(modeledErrorCodes, "UnknownError", "validationexception") {
+		if e, a := dispatchEqualFold(code), dispatchFolded(code); e != a {
+			t.Errorf("expect %q to dispatch to %d, got %d", code, e, a)
+		}
+	}
+}
+
+func BenchmarkErrorCodeDispatch(b *testing.B) {
+	benchmarks := map[string]func(string) int{
+		"EqualFold": dispatchEqualFold,
+		"Folded":    dispatchFolded,
+	}
+	codes := map[string]string{
+		"first":   "AccessDeniedException",
+		"last":    "ValidationException",
+		"unknown": "UnknownError",
+	}
+
+	for name, dispatch := range benchmarks {
+		for codeName, code := range codes {
+			b.Run(name+"/"+codeName, func(b *testing.B) {
+				b.ReportAllocs()
+				for i := 0; i < b.N; i++ {
+					dispatch(code)
+				}
+			})
+		}
+	}
+}
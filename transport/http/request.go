@@ -155,6 +155,39 @@ func (r *Request) SetStream(reader io.Reader) (rc *Request, err error) {
 	return rc, err
 }
 
+// SetStreamWriter returns a clone of the request with the stream set to the
+// bytes written by write, which is called in a new goroutine and writes to
+// the stream while it is read. The length of the stream is unknown, so it is
+// sent with chunked transfer encoding, and it can't be rewound to retry the
+// request.
+//
+// The stream is read through a pipe, so at most the bytes write buffers
+// are held in memory. If write returns an error, reading the stream fails
+// with that error.
+//
+// The returned release function must be called once the request has been
+// sent. It stops write if the stream wasn't read to the end, and waits for
+// it to return.
+func (r *Request) SetStreamWriter(write func(io.Writer) error) (rc *Request, release func(), err error) {
+	pr, pw := io.Pipe()
+	done := make(chan struct{})
+	go func() {
+		defer close(done)
+		pw.CloseWithError(write(pw))
+	}()
+	release = func() {
+		pr.Close()
+		<-done
+	}
+
+	rc, err = r.SetStream(pr)
+	if err != nil {
+		release()
+		return r, func() {}, err
+	}
+	return rc, release, nil
+}
+
 // Build returns a build standard HTTP request value from the Smithy request.
 // The request's stream is wrapped in a safe container that allows it to be
 // reused for subsequent attempts.
@@ -3,6 +3,7 @@ package http
 import (
 	"bytes"
 	"context"
+	"fmt"
 	"io"
 	"io/ioutil"
 	"net/http"
@@ -219,3 +220,79 @@ func TestRequestSetStream(t *testing.T) {
 		})
 	}
 }
+
+func TestRequestSetStreamWriter(t *testing.T) {
+	req := NewStackRequest().(*Request)
+	req, release, err := req.SetStreamWriter(func(w io.Writer) error {
+		for i := 0; i < 3; i++ {
+			if _, err := io.WriteString(w, "abc123"); err != nil {
+				return err
+			}
+		}
+		return nil
+	})
+	if err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	defer release()
+
+	if req.IsStreamSeekable() {
+		t.Errorf("expect stream not to be seekable")
+	}
+	if _, ok, err := req.StreamLength(); err != nil {
+		t.Fatalf("expect no stream length error, got %v", err)
+	} else if ok {
+		t.Errorf("expect unknown stream length")
+	}
+
+	build := req.Build(context.Background())
+	if e, a := int64(-1), build.ContentLength; e != a {
+		t.Errorf("expect %v request content length, got %v", e, a)
+	}
+	actual, err := ioutil.ReadAll(build.Body)
+	if err != nil {
+		t.Fatalf("expect no read error, got %v", err)
+	}
+	if e, a := strings.Repeat("abc123", 3), string(actual); e != a {
+		t.Errorf("expect %v body, got %v", e, a)
+	}
+}
+
+func TestRequestSetStreamWriter_writeError(t *testing.T) {
+	req := NewStackRequest().(*Request)
+	req, release, err := req.SetStreamWriter(func(w io.Writer) error {
+		io.WriteString(w, "abc")
+		return fmt.Errorf("serialization failed")
+	})
+	if err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+	defer release()
+
+	_, err = ioutil.ReadAll(req.GetStream())
+	if err == nil {
+		t.Fatalf("expect read error, got none")
+	}
+	if e, a := "serialization failed", err.Error(); e != a {
+		t.Errorf("expect %v error, got %v", e, a)
+	}
+}
+
+func TestRequestSetStreamWriter_release(t *testing.T) {
+	req := NewStackRequest().(*Request)
+	writeErr := make(chan error, 1)
+	_, release, err := req.SetStreamWriter(func(w io.Writer) error {
+		_, err := io.WriteString(w, "never read")
+		writeErr <- err
+		return err
+	})
+	if err != nil {
+		t.Fatalf("expect no error, got %v", err)
+	}
+
+	// The stream is never read, release must stop the blocked write.
+	release()
+	if err := <-writeErr; err != io.ErrClosedPipe {
+		t.Errorf("expect %v write error, got %v", io.ErrClosedPipe, err)
+	}
+}